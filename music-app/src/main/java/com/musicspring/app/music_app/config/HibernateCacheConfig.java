@@ -0,0 +1,93 @@
+package com.musicspring.app.music_app.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Second-level cache for the catalog imported from Spotify. Every region is created up front with
+ * its own size bound and time to live, so nothing falls back to an unbounded default cache.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String SONG_REGION = "catalog.songs";
+    public static final String ALBUM_REGION = "catalog.albums";
+    public static final String ARTIST_REGION = "catalog.artists";
+    public static final String SPOTIFY_LOOKUP_REGION = "catalog.spotify-lookups";
+
+    private static final String DEFAULT_QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    private static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Value("${app.cache.catalog.songs.max-size:20000}")
+    private long songsMaxSize;
+
+    @Value("${app.cache.catalog.songs.ttl:PT12H}")
+    private Duration songsTtl;
+
+    @Value("${app.cache.catalog.albums.max-size:10000}")
+    private long albumsMaxSize;
+
+    @Value("${app.cache.catalog.albums.ttl:PT12H}")
+    private Duration albumsTtl;
+
+    @Value("${app.cache.catalog.artists.max-size:5000}")
+    private long artistsMaxSize;
+
+    @Value("${app.cache.catalog.artists.ttl:PT12H}")
+    private Duration artistsTtl;
+
+    @Value("${app.cache.catalog.spotify-lookups.max-size:20000}")
+    private long spotifyLookupsMaxSize;
+
+    @Value("${app.cache.catalog.spotify-lookups.ttl:PT1H}")
+    private Duration spotifyLookupsTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        createRegion(cacheManager, SONG_REGION, songsMaxSize, songsTtl);
+        createRegion(cacheManager, ALBUM_REGION, albumsMaxSize, albumsTtl);
+        createRegion(cacheManager, ARTIST_REGION, artistsMaxSize, artistsTtl);
+        createRegion(cacheManager, SPOTIFY_LOOKUP_REGION, spotifyLookupsMaxSize, spotifyLookupsTtl);
+        createRegion(cacheManager, DEFAULT_QUERY_REGION, 1000, Duration.ofMinutes(10));
+        // Update timestamps must outlive every cached query result, so this region never expires.
+        createRegion(cacheManager, TIMESTAMPS_REGION, 10000, null);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.musicspring.app.music_app.controller;
 
 import com.musicspring.app.music_app.exception.ErrorDetails;
+import com.musicspring.app.music_app.model.dto.response.CacheRegionStatsResponse;
+import com.musicspring.app.music_app.model.dto.response.SpotifyRateLimitStatsResponse;
+import com.musicspring.app.music_app.service.CacheStatisticsService;
+import com.musicspring.app.music_app.service.EngagementCounterService;
+import com.musicspring.app.music_app.service.LeaderboardService;
 import com.musicspring.app.music_app.service.ReviewService;
+import com.musicspring.app.music_app.spotify.service.SpotifyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,15 +22,29 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/admin")
 @Tag(name = "Admin", description = "Administrative operations")
 public class AdminController {
     private final ReviewService reviewService;
+    private final EngagementCounterService engagementCounterService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final LeaderboardService leaderboardService;
+    private final SpotifyService spotifyService;
 
     @Autowired
-    public AdminController(ReviewService reviewService) {
+    public AdminController(ReviewService reviewService,
+                           EngagementCounterService engagementCounterService,
+                           CacheStatisticsService cacheStatisticsService,
+                           LeaderboardService leaderboardService,
+                           SpotifyService spotifyService) {
         this.reviewService = reviewService;
+        this.engagementCounterService = engagementCounterService;
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.leaderboardService = leaderboardService;
+        this.spotifyService = spotifyService;
     }
 
     @Operation(
@@ -142,5 +162,73 @@ public class AdminController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(
+            summary = "Rebuild reaction and comment counters (Admin)",
+            description = "Recomputes the reaction and comment totals stored on every review and comment from the reactions and comments tables. The same job runs nightly."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Counters rebuilt successfully."),
+            @ApiResponse(responseCode = "403", description = "Forbidden: Requires ADMIN role to access this resource.")
+    })
+    @PostMapping("/counters/rebuild")
+    public ResponseEntity<Void> rebuildCounters() {
+        engagementCounterService.rebuildAllCounters();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Rebuild stats leaderboards (Admin)",
+            description = "Recomputes the review and reaction scores behind the most reviewed and most reacted rankings. The same reconciliation runs every ten minutes by default."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Leaderboards rebuilt successfully."),
+            @ApiResponse(responseCode = "403", description = "Forbidden: Requires ADMIN role to access this resource.")
+    })
+    @PostMapping("/leaderboards/rebuild")
+    public ResponseEntity<Void> rebuildLeaderboards() {
+        leaderboardService.reconcile();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Get catalog cache statistics (Admin)",
+            description = "Returns hit, miss and put counts for the second-level cache regions holding songs, albums, artists and Spotify ID lookups, and for the caches in front of the Spotify song, album and artist lookups and searches, which also report evictions and the number of callers that shared an in-flight Spotify call."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cache statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CacheRegionStatsResponse.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "403", description = "Forbidden: Requires ADMIN role to access this resource.")
+    })
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheRegionStatsResponse>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCatalogCacheStatistics());
+    }
+
+    @Operation(
+            summary = "Get Spotify rate limit statistics (Admin)",
+            description = "Returns the request permits currently available, the interactive and background calls waiting for one, how long calls stay blocked after Spotify answered 429, and the number of calls executed, throttled by Spotify and rejected because no permit came in time."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Rate limit statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SpotifyRateLimitStatsResponse.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "403", description = "Forbidden: Requires ADMIN role to access this resource.")
+    })
+    @GetMapping("/spotify/rate-limit")
+    public ResponseEntity<SpotifyRateLimitStatsResponse> getSpotifyRateLimitStatistics() {
+        return ResponseEntity.ok(spotifyService.getRateLimitStatistics());
+    }
+
 
 }
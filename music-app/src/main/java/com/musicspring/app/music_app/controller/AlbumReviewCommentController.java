@@ -4,7 +4,9 @@ import com.musicspring.app.music_app.exception.ErrorDetails;
 import com.musicspring.app.music_app.model.dto.request.CommentPatchRequest;
 import com.musicspring.app.music_app.model.dto.request.CommentRequest;
 import com.musicspring.app.music_app.model.dto.response.CommentResponse;
+import com.musicspring.app.music_app.model.dto.response.CursorPageResponse;
 import com.musicspring.app.music_app.model.enums.CommentType;
+import com.musicspring.app.music_app.model.pagination.TotalMode;
 import com.musicspring.app.music_app.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -81,7 +84,7 @@ public class AlbumReviewCommentController {
             )
     })
     @GetMapping()
-    public ResponseEntity<Page<CommentResponse>> getCommentsByReviewId(
+    public ResponseEntity<Slice<CommentResponse>> getCommentsByReviewId(
             @Parameter(description = "ID of the album review", example = "1")
             @PathVariable Long reviewId,
             @Parameter(description = "Number of items per page", example = "10")
@@ -90,14 +93,74 @@ public class AlbumReviewCommentController {
             @RequestParam(defaultValue = "0") int pageNumber,
             @Parameter(description = "Field to sort by", example = "createdAt")
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "DESC") String direction) {
+            @RequestParam(defaultValue = "DESC") String direction,
+            @Parameter(description = "Whether to compute the total element count; false returns a slice with only hasNext", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = "Return an estimated total instead of running an exact count", example = "false")
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
 
         Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(pageNumber, size, Sort.by(sortDirection, sort));
-        Page<CommentResponse> comments = commentService.getCommentsByReviewId(reviewId, pageable);
+        Slice<CommentResponse> comments = commentService.getCommentsByReviewId(reviewId, pageable, TotalMode.of(withTotal, approximateTotal));
         return ResponseEntity.ok(comments);
     }
 
+    @Operation(
+            summary = "Retrieve the comment feed for a specific album review",
+            description = "Fetches comments for the given album review newest first using keyset pagination. Pass the nextCursor of a page as 'after' to fetch the following one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Comments retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPageResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Review not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getCommentFeedByReviewId(
+            @Parameter(description = "ID of the album review", example = "1")
+            @PathVariable Long reviewId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; omit for the first page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(commentService.getCommentFeedByReviewId(reviewId, after, size));
+    }
+
     @Operation(
             summary = "Create a new comment for an album review",
             description = "Adds a new comment associated with the specified album review."
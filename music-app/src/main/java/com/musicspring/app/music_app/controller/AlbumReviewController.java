@@ -3,7 +3,9 @@
 import com.musicspring.app.music_app.exception.ErrorDetails;
 import com.musicspring.app.music_app.model.dto.request.AlbumReviewRequest;
 import com.musicspring.app.music_app.model.dto.request.ReviewUpdateRequest;
+import com.musicspring.app.music_app.model.dto.response.AlbumReviewCardResponse;
 import com.musicspring.app.music_app.model.dto.response.AlbumReviewResponse;
+import com.musicspring.app.music_app.model.pagination.TotalMode;
 import com.musicspring.app.music_app.service.AlbumReviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -71,15 +74,19 @@ public class AlbumReviewController {
             )
     })
     @GetMapping
-    public ResponseEntity<Page<AlbumReviewResponse>> getAllAlbumReviews(
+    public ResponseEntity<Slice<AlbumReviewResponse>> getAllAlbumReviews(
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam int size,
             @Parameter(description = "Page number to retrieve (0-based)", example = "0")
             @RequestParam int pageNumber,
             @Parameter(description = "Field to sort by", example = "date")
-            @RequestParam String sort) {
+            @RequestParam String sort,
+            @Parameter(description = "Whether to compute the total element count; false returns a slice with only hasNext", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = "Return an estimated total instead of running an exact count", example = "false")
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
         Pageable pageable = PageRequest.of(pageNumber, size, Sort.by(sort));
-        return ResponseEntity.ok(albumReviewService.findAll(pageable));
+        return ResponseEntity.ok(albumReviewService.findAll(pageable, TotalMode.of(withTotal, approximateTotal)));
     }
 
     @Operation(
@@ -315,6 +322,116 @@ public class AlbumReviewController {
         return ResponseEntity.ok(albumReviewResponsePage);
     }
 
+    @Operation(
+            summary = "Get all album reviews as compact cards",
+            description = "Retrieves a paginated list of album reviews with only the fields a review card shows, selected in a single query without loading full entities."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved album review cards",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AlbumReviewCardResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid pagination or sorting parameters",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/cards")
+    public ResponseEntity<Page<AlbumReviewCardResponse>> getAlbumReviewCards(
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam int size,
+            @Parameter(description = "Page number to retrieve (0-based)", example = "0")
+            @RequestParam int pageNumber,
+            @Parameter(description = "Field to sort by", example = "date")
+            @RequestParam String sort) {
+        Pageable pageable = PageRequest.of(pageNumber, size, Sort.by(sort));
+        return ResponseEntity.ok(albumReviewService.findCards(pageable));
+    }
+
+    @Operation(
+            summary = "Get the reviews of a specific album as compact cards",
+            description = "Retrieves a paginated list of review cards for a given album. You can provide either a albumId or a spotifyId."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved album review cards",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AlbumReviewCardResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid pagination or sorting parameters",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Album not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/albums/cards")
+    public ResponseEntity<Page<AlbumReviewCardResponse>> getAlbumReviewCardsByAlbum(
+            @Parameter(description = "ID of the album whose reviews are requested (for existing albums)", example = "123")
+            @RequestParam(required = false) Long albumId,
+            @Parameter(description = "Spotify ID of the album whose reviews are requested (for Spotify albums)", example = "4eLPsYPBmXABThSJ821sqY")
+            @RequestParam(required = false) String spotifyId,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam int size,
+            @Parameter(description = "Page number to retrieve (0-based)", example = "0")
+            @RequestParam int pageNumber,
+            @Parameter(description = "Field to sort by", example = "date")
+            @RequestParam String sort) {
+        Pageable pageable = PageRequest.of(pageNumber, size, Sort.by(sort));
+        return ResponseEntity.ok(albumReviewService.findCardsByAlbum(albumId, spotifyId, pageable));
+    }
+
     @Operation(
             summary = "Delete an album review",
             description = "Performs a logical delete by setting the review's 'active' field to false. Only the owner of the review can perform this action."
@@ -1,9 +1,11 @@
 package com.musicspring.app.music_app.controller;
 
 import com.musicspring.app.music_app.exception.ErrorDetails;
+import com.musicspring.app.music_app.model.dto.response.CursorPageResponse;
 import com.musicspring.app.music_app.model.dto.response.ReactionResponse;
 import com.musicspring.app.music_app.model.enums.ReactedType;
 import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.model.pagination.TotalMode;
 import com.musicspring.app.music_app.service.ReactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,6 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -62,7 +65,7 @@ public class ReactionController {
             )
     })
     @GetMapping("/reactions")
-    public ResponseEntity<Page<ReactionResponse>> getAllReactions(
+    public ResponseEntity<Slice<ReactionResponse>> getAllReactions(
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam int size,
 
@@ -70,10 +73,15 @@ public class ReactionController {
             @RequestParam int pageNumber,
 
             @Parameter(description = "Field to sort by", example = "createdAt")
-            @RequestParam String sort
+            @RequestParam String sort,
+
+            @Parameter(description = "Whether to compute the total element count; false returns a slice with only hasNext", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = "Return an estimated total instead of running an exact count", example = "false")
+            @RequestParam(defaultValue = "false") boolean approximateTotal
     ) {
         Pageable pageable = PageRequest.of(pageNumber, size, Sort.by(sort));
-        Page<ReactionResponse> reactions = reactionService.findAll(pageable);
+        Slice<ReactionResponse> reactions = reactionService.findAll(pageable, TotalMode.of(withTotal, approximateTotal));
         return ResponseEntity.ok(reactions);
     }
 
@@ -158,6 +166,62 @@ public class ReactionController {
         return ResponseEntity.ok(reactions);
     }
 
+    @Operation(
+            summary = "Get the reaction feed of a review",
+            description = "Returns the reactions on a specific review newest first using keyset pagination. Pass the nextCursor of a page as 'after' to fetch the following one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reactions retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPageResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Review not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/reviews/{reviewId}/reactions/feed")
+    public ResponseEntity<CursorPageResponse<ReactionResponse>> getReactionFeedByReview(
+            @Parameter(description = "Review ID", example = "10")
+            @PathVariable Long reviewId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; omit for the first page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(reactionService.findFeedByReviewId(reviewId, after, size));
+    }
+
     @Operation(
             summary = "Get reactions by comment ID",
             description = "Returns a paginated list of all reactions on a specific comment."
@@ -4,7 +4,10 @@ import com.musicspring.app.music_app.exception.ErrorDetails;
 import com.musicspring.app.music_app.model.dto.request.ReviewUpdateRequest;
 import com.musicspring.app.music_app.model.dto.request.SongReviewRequest;
 import com.musicspring.app.music_app.model.dto.response.CommentResponse;
+import com.musicspring.app.music_app.model.dto.response.CursorPageResponse;
+import com.musicspring.app.music_app.model.dto.response.SongReviewCardResponse;
 import com.musicspring.app.music_app.model.dto.response.SongReviewResponse;
+import com.musicspring.app.music_app.model.pagination.TotalMode;
 import com.musicspring.app.music_app.service.SongReviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -74,15 +78,19 @@ public class SongReviewController {
             )
     })
     @GetMapping()
-    public ResponseEntity<Page<SongReviewResponse>> getAllSongReviews(
+    public ResponseEntity<Slice<SongReviewResponse>> getAllSongReviews(
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam int size,
             @Parameter(description = "Page number to retrieve (0-based)", example = "0")
             @RequestParam int pageNumber,
             @Parameter(description = "Field to sort by", example = "date")
-            @RequestParam String sort) {
+            @RequestParam String sort,
+            @Parameter(description = "Whether to compute the total element count; false returns a slice with only hasNext", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = "Return an estimated total instead of running an exact count", example = "false")
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
         Pageable pageable = PageRequest.of(pageNumber, size, Sort.by(sort));
-        return ResponseEntity.ok(songReviewService.findAll(pageable));
+        return ResponseEntity.ok(songReviewService.findAll(pageable, TotalMode.of(withTotal, approximateTotal)));
     }
 
 
@@ -321,6 +329,220 @@ public class SongReviewController {
         return ResponseEntity.ok(songReviewResponsePage);
     }
 
+    @Operation(
+            summary = "Get all song reviews as compact cards",
+            description = "Retrieves a paginated list of song reviews with only the fields a review card shows, selected in a single query without loading full entities."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved song review cards",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SongReviewCardResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid pagination or sorting parameters",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/cards")
+    public ResponseEntity<Page<SongReviewCardResponse>> getSongReviewCards(
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam int size,
+            @Parameter(description = "Page number to retrieve (0-based)", example = "0")
+            @RequestParam int pageNumber,
+            @Parameter(description = "Field to sort by", example = "date")
+            @RequestParam String sort) {
+        Pageable pageable = PageRequest.of(pageNumber, size, Sort.by(sort));
+        return ResponseEntity.ok(songReviewService.findCards(pageable));
+    }
+
+    @Operation(
+            summary = "Get the reviews of a specific song as compact cards",
+            description = "Retrieves a paginated list of review cards for a given song. You can provide either a songId or a spotifyId."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved song review cards",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SongReviewCardResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid pagination or sorting parameters",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Song not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/songs/cards")
+    public ResponseEntity<Page<SongReviewCardResponse>> getSongReviewCardsBySong(
+            @Parameter(description = "ID of the song whose reviews are requested (for existing songs)", example = "123")
+            @RequestParam(required = false) Long songId,
+            @Parameter(description = "Spotify ID of the song whose reviews are requested (for Spotify songs)", example = "4iV5W9uYEdYUVa79Axb7Rh")
+            @RequestParam(required = false) String spotifyId,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam int size,
+            @Parameter(description = "Page number to retrieve (0-based)", example = "0")
+            @RequestParam int pageNumber,
+            @Parameter(description = "Field to sort by", example = "date")
+            @RequestParam String sort) {
+        Pageable pageable = PageRequest.of(pageNumber, size, Sort.by(sort));
+        return ResponseEntity.ok(songReviewService.findCardsBySong(songId, spotifyId, pageable));
+    }
+
+    @Operation(
+            summary = "Get the song review feed",
+            description = "Retrieves active song reviews newest first using keyset pagination. Pass the nextCursor of a page as 'after' to fetch the following one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved song reviews",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPageResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageResponse<SongReviewResponse>> getSongReviewFeed(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; omit for the first page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(songReviewService.findFeed(after, size));
+    }
+
+    @Operation(
+            summary = "Get the review feed for a specific song",
+            description = "Retrieves the reviews of a song newest first using keyset pagination. Provide either a songId or a spotifyId, and pass the nextCursor of a page as 'after' to fetch the following one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved song reviews",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPageResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Song not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/songs/feed")
+    public ResponseEntity<CursorPageResponse<SongReviewResponse>> getSongReviewFeedBySong(
+            @Parameter(description = "ID of the song whose reviews are requested (for existing songs)", example = "123")
+            @RequestParam(required = false) Long songId,
+            @Parameter(description = "Spotify ID of the song whose reviews are requested (for Spotify songs)", example = "4iV5W9uYEdYUVa79Axb7Rh")
+            @RequestParam(required = false) String spotifyId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; omit for the first page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(songReviewService.findFeedBySong(songId, spotifyId, after, size));
+    }
+
     @Operation(
             summary = "Delete a song review",
             description = "Performs a logical delete by setting the review's 'active' field to false. Only the owner of the review can perform this action."
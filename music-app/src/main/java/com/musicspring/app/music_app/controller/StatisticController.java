@@ -1,14 +1,21 @@
 package com.musicspring.app.music_app.controller;
 
 import com.musicspring.app.music_app.exception.ErrorDetails;
+import com.musicspring.app.music_app.model.dto.response.ActiveUsersResponse;
+import com.musicspring.app.music_app.model.dto.response.ActivityHeatmapResponse;
 import com.musicspring.app.music_app.model.dto.response.AlbumResponse;
 import com.musicspring.app.music_app.model.dto.response.ArtistResponse;
+import com.musicspring.app.music_app.model.dto.response.RatingSeriesResponse;
 import com.musicspring.app.music_app.model.dto.response.SongResponse;
+import com.musicspring.app.music_app.model.dto.response.TrendingEntryResponse;
+import com.musicspring.app.music_app.model.dto.response.UniqueReviewersResponse;
 import com.musicspring.app.music_app.model.dto.response.UserProfileResponse;
 import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.model.enums.TrendingWindow;
 import com.musicspring.app.music_app.service.StatisticService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,6 +24,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,6 +32,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
 
 @RestController
 @RequestMapping("/api/v1/stats")
@@ -260,6 +272,274 @@ public class StatisticController {
         return ResponseEntity.ok(statisticService.getMostReviewedArtists(pageable));
     }
 
+    @Operation(
+            summary = "Get top rated songs",
+            description = "Retrieve a paginated list of songs ranked by the Bayesian average of their active review ratings, which pulls songs with few reviews towards the overall mean."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of songs",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/songs/topRated")
+    public ResponseEntity<Page<SongResponse>> getTopRatedSongs(
+            @Parameter(description = "Number of items per page", example = "3")
+            @RequestParam(defaultValue = "3") int size,
+            @Parameter(description = "Page number to retrieve (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int pageNumber) {
+        Pageable pageable = PageRequest.of(pageNumber, size);
+        return ResponseEntity.ok(statisticService.getTopRatedSongs(pageable));
+    }
+
+    @Operation(
+            summary = "Get top rated albums",
+            description = "Retrieve a paginated list of albums ranked by the Bayesian average of their active review ratings, which pulls albums with few reviews towards the overall mean."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of albums",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/albums/topRated")
+    public ResponseEntity<Page<AlbumResponse>> getTopRatedAlbums(
+            @Parameter(description = "Number of items per page", example = "3")
+            @RequestParam(defaultValue = "3") int size,
+            @Parameter(description = "Page number to retrieve (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int pageNumber) {
+        Pageable pageable = PageRequest.of(pageNumber, size);
+        return ResponseEntity.ok(statisticService.getTopRatedAlbums(pageable));
+    }
+
+    @Operation(
+            summary = "Get top rated artists",
+            description = "Retrieve a paginated list of artists ranked by the Bayesian average of their active review ratings, which pulls artists with few reviews towards the overall mean."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of artists",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/artists/topRated")
+    public ResponseEntity<Page<ArtistResponse>> getTopRatedArtists(
+            @Parameter(description = "Number of items per page", example = "3")
+            @RequestParam(defaultValue = "3") int size,
+            @Parameter(description = "Page number to retrieve (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int pageNumber) {
+        Pageable pageable = PageRequest.of(pageNumber, size);
+        return ResponseEntity.ok(statisticService.getTopRatedArtists(pageable));
+    }
+
+    @Operation(
+            summary = "Get the monthly rating series of a song",
+            description = "Review count and average rating of the song's active reviews per month, oldest first. Months without reviews are omitted."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the rating series",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RatingSeriesResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid month range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/songs/{songId}/ratings/monthly")
+    public ResponseEntity<RatingSeriesResponse> getSongRatingSeries(
+            @Parameter(description = "ID of the song", example = "1")
+            @PathVariable Long songId,
+            @Parameter(description = "First month to include (yyyy-MM); defaults to the first review", example = "2024-01")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Last month to include (yyyy-MM); defaults to the current month", example = "2024-12")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(statisticService.getSongRatingSeries(songId, from, to));
+    }
+
+    @Operation(
+            summary = "Get the monthly rating series of an album",
+            description = "Review count and average rating of the album's active reviews per month, oldest first. Months without reviews are omitted."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the rating series",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RatingSeriesResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid month range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/albums/{albumId}/ratings/monthly")
+    public ResponseEntity<RatingSeriesResponse> getAlbumRatingSeries(
+            @Parameter(description = "ID of the album", example = "1")
+            @PathVariable Long albumId,
+            @Parameter(description = "First month to include (yyyy-MM); defaults to the first review", example = "2024-01")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Last month to include (yyyy-MM); defaults to the current month", example = "2024-12")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(statisticService.getAlbumRatingSeries(albumId, from, to));
+    }
+
+    @Operation(
+            summary = "Get trending songs",
+            description = "Retrieve the songs with the most reviews and review reactions over the last hour, day or week. Rankings are recomputed in memory every 30 seconds."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the trending songs",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TrendingEntryResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid window or limit",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/songs/trending")
+    public ResponseEntity<List<TrendingEntryResponse<SongResponse>>> getTrendingSongs(
+            @Parameter(description = "Time window to rank by (HOUR, DAY or WEEK)", example = "DAY")
+            @RequestParam(defaultValue = "DAY") TrendingWindow window,
+            @Parameter(description = "Maximum number of entries to return (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(statisticService.getTrendingSongs(window, limit));
+    }
+
+    @Operation(
+            summary = "Get trending albums",
+            description = "Retrieve the albums with the most reviews and review reactions over the last hour, day or week. Rankings are recomputed in memory every 30 seconds."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the trending albums",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TrendingEntryResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid window or limit",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/albums/trending")
+    public ResponseEntity<List<TrendingEntryResponse<AlbumResponse>>> getTrendingAlbums(
+            @Parameter(description = "Time window to rank by (HOUR, DAY or WEEK)", example = "DAY")
+            @RequestParam(defaultValue = "DAY") TrendingWindow window,
+            @Parameter(description = "Maximum number of entries to return (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(statisticService.getTrendingAlbums(window, limit));
+    }
+
+    @Operation(
+            summary = "Get trending artists",
+            description = "Retrieve the artists with the most reviews and review reactions over the last hour, day or week. Rankings are recomputed in memory every 30 seconds."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the trending artists",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TrendingEntryResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid window or limit",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/artists/trending")
+    public ResponseEntity<List<TrendingEntryResponse<ArtistResponse>>> getTrendingArtists(
+            @Parameter(description = "Time window to rank by (HOUR, DAY or WEEK)", example = "DAY")
+            @RequestParam(defaultValue = "DAY") TrendingWindow window,
+            @Parameter(description = "Maximum number of entries to return (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(statisticService.getTrendingArtists(window, limit));
+    }
+
+    @Operation(
+            summary = "Get a user's activity heatmap",
+            description = "Reviews, comments and reactions the user wrote per day, over a calendar year or over the last 365 days when no year is given. Days without activity are omitted."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the activity heatmap",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ActivityHeatmapResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid year",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    @GetMapping("/users/{userId}/activity")
+    public ResponseEntity<ActivityHeatmapResponse> getUserActivityHeatmap(
+            @Parameter(description = "ID of the user", example = "1")
+            @PathVariable Long userId,
+            @Parameter(description = "Calendar year; defaults to the last 365 days", example = "2025")
+            @RequestParam(required = false) Integer year) {
+        return ResponseEntity.ok(statisticService.getUserActivityHeatmap(userId, year));
+    }
+
     @Operation(
             summary = "[ADMIN] Get dashboard statistics",
             description = "Retrieves comprehensive dashboard statistics including user counts, content statistics, and reaction breakdowns. This endpoint is restricted to users with the ADMIN role."
@@ -302,4 +582,94 @@ public class StatisticController {
     public ResponseEntity<com.musicspring.app.music_app.model.dto.response.AdminDashboardResponse> getAdminDashboard() {
         return ResponseEntity.ok(statisticService.getAdminDashboard());
     }
+
+    @Operation(
+            summary = "[ADMIN] Get active users",
+            description = "Approximate number of distinct users who wrote a review, comment or reaction on a day and in the 7 and 30 days ending on it. Counts come from HyperLogLog sketches and are typically within 1% of the exact figure. This endpoint is restricted to users with the ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Active user counts retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ActiveUsersResponse.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "403",
+                    description = "Forbidden: Requires ADMIN role to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/admin/active-users")
+    public ResponseEntity<ActiveUsersResponse> getActiveUsers(
+            @Parameter(description = "Last day of the windows (ISO date); defaults to today", example = "2025-06-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(statisticService.getActiveUsers(date));
+    }
+
+    @Operation(
+            summary = "[ADMIN] Get unique reviewers of an album",
+            description = "Approximate number of distinct users who reviewed the album or one of its songs, from a HyperLogLog sketch (about 3% standard error). This endpoint is restricted to users with the ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Unique reviewer count retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UniqueReviewersResponse.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "403",
+                    description = "Forbidden: Requires ADMIN role to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/admin/albums/{albumId}/unique-reviewers")
+    public ResponseEntity<UniqueReviewersResponse> getUniqueAlbumReviewers(
+            @Parameter(description = "ID of the album", example = "1")
+            @PathVariable Long albumId) {
+        return ResponseEntity.ok(statisticService.getUniqueAlbumReviewers(albumId));
+    }
+
+    @Operation(
+            summary = "[ADMIN] Get unique reviewers of an artist",
+            description = "Approximate number of distinct users who reviewed one of the artist's albums or songs, from a HyperLogLog sketch (about 3% standard error). This endpoint is restricted to users with the ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Unique reviewer count retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UniqueReviewersResponse.class))),
+            @ApiResponse(responseCode = "401",
+                    description = "Authentication is required to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "403",
+                    description = "Forbidden: Requires ADMIN role to access this resource.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("/admin/artists/{artistId}/unique-reviewers")
+    public ResponseEntity<UniqueReviewersResponse> getUniqueArtistReviewers(
+            @Parameter(description = "ID of the artist", example = "1")
+            @PathVariable Long artistId) {
+        return ResponseEntity.ok(statisticService.getUniqueArtistReviewers(artistId));
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.musicspring.app.music_app.exception;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -14,6 +15,8 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.context.request.WebRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.util.UriComponentsBuilder;
+import se.michaelthelin.spotify.exceptions.detailed.BadRequestException;
+import se.michaelthelin.spotify.exceptions.detailed.NotFoundException;
 import java.io.IOException;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 
@@ -46,11 +49,33 @@ public class GlobalExceptionHandler {
                 .body(ErrorDetails.from(errorMessage, request.getDescription(false)));
     }
 
+    // Only a missing or malformed id is the caller's "not found"; any other failure is Spotify's.
     @ExceptionHandler(SpotifyServiceException.class)
     public ResponseEntity<ErrorDetails> handleSpotifyServiceException(SpotifyServiceException ex, WebRequest request) {
+        Throwable cause = ex.getCause();
+        if (cause == null || cause instanceof NotFoundException || cause instanceof BadRequestException) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ErrorDetails.from("Spotify resource not found", request.getDescription(false)));
+        }
         return ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .body(ErrorDetails.from("Spotify resource not found", request.getDescription(false)));
+                .status(HttpStatus.BAD_GATEWAY)
+                .body(ErrorDetails.from("Spotify request failed", request.getDescription(false)));
+    }
+
+    @ExceptionHandler(SpotifyTimeoutException.class)
+    public ResponseEntity<ErrorDetails> handleSpotifyTimeoutException(SpotifyTimeoutException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ErrorDetails.from("Spotify did not respond in time", request.getDescription(false)));
+    }
+
+    @ExceptionHandler(SpotifyRateLimitedException.class)
+    public ResponseEntity<ErrorDetails> handleSpotifyRateLimitedException(SpotifyRateLimitedException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorDetails.from("Spotify is busy, please try again shortly", request.getDescription(false)));
     }
 
     @ExceptionHandler(Exception.class)
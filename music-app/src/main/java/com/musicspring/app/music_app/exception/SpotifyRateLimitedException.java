@@ -0,0 +1,19 @@
+package com.musicspring.app.music_app.exception;
+
+import lombok.Getter;
+
+/**
+ * A Spotify call could not be made in time because our request budget is used up or Spotify
+ * asked us to back off. Unlike {@link SpotifyServiceException} it says nothing about the
+ * resource, so callers should try again after {@code retryAfterSeconds}.
+ */
+@Getter
+public class SpotifyRateLimitedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SpotifyRateLimitedException(long retryAfterSeconds) {
+        super("Spotify request rate limit reached, retry after " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
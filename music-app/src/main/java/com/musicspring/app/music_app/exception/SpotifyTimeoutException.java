@@ -0,0 +1,13 @@
+package com.musicspring.app.music_app.exception;
+
+/**
+ * Spotify did not answer within the time we are willing to wait. Unlike
+ * {@link SpotifyServiceException} it says nothing about the resource, so it maps to a gateway
+ * timeout rather than not found.
+ */
+public class SpotifyTimeoutException extends RuntimeException {
+
+    public SpotifyTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * Approximate distinct users who wrote a review, comment or reaction on the day ending at
+ * {@code date}, in the 7 days and in the 30 days ending at it.
+ */
+@Builder
+public record ActiveUsersResponse(LocalDate date, Long dailyActiveUsers, Long weeklyActiveUsers,
+                                  Long monthlyActiveUsers) {
+}
@@ -0,0 +1,9 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+@Builder
+public record ActivityDayResponse(LocalDate date, Integer reviews, Integer comments, Integer reactions) {
+}
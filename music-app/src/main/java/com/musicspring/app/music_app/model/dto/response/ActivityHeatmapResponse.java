@@ -0,0 +1,10 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record ActivityHeatmapResponse(Long userId, LocalDate from, LocalDate to, List<ActivityDayResponse> days) {
+}
@@ -27,4 +27,6 @@ public class AlbumResponse {
 
     private LocalDate releaseDate;
 
+    private RatingSummaryResponse rating;
+
 }
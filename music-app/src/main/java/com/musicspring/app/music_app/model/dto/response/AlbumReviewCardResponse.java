@@ -0,0 +1,77 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact album review for list views, selected directly from a single flat join query.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class AlbumReviewCardResponse {
+
+    private Long albumReviewId;
+
+    private Double rating;
+
+    private String description;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime date;
+
+    private Long userId;
+
+    private String username;
+
+    private String profilePictureUrl;
+
+    private Long albumId;
+
+    private String albumSpotifyId;
+
+    private String albumTitle;
+
+    private String imageUrl;
+
+    private String artistName;
+
+    private Long totalLikes;
+
+    private Long totalDislikes;
+
+    private Long totalLoves;
+
+    private Long totalWows;
+
+    private Long totalComments;
+
+    private ReactionResponse userReaction;
+
+    public AlbumReviewCardResponse(Long albumReviewId, Double rating, String description, LocalDateTime date,
+                                   Long userId, String username, String profilePictureUrl,
+                                   Long albumId, String albumSpotifyId, String albumTitle, String imageUrl,
+                                   String artistName,
+                                   Long totalLikes, Long totalDislikes, Long totalLoves, Long totalWows,
+                                   Long totalComments) {
+        this.albumReviewId = albumReviewId;
+        this.rating = rating;
+        this.description = description;
+        this.date = date;
+        this.userId = userId;
+        this.username = username;
+        this.profilePictureUrl = profilePictureUrl;
+        this.albumId = albumId;
+        this.albumSpotifyId = albumSpotifyId;
+        this.albumTitle = albumTitle;
+        this.imageUrl = imageUrl;
+        this.artistName = artistName;
+        this.totalLikes = totalLikes;
+        this.totalDislikes = totalDislikes;
+        this.totalLoves = totalLoves;
+        this.totalWows = totalWows;
+        this.totalComments = totalComments;
+    }
+}
@@ -14,4 +14,5 @@ public class ArtistResponse {
     private Integer followers;
     private String spotifyLink;
     private String imageUrl;
+    private RatingSummaryResponse rating;
 }
@@ -0,0 +1,18 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+/**
+ * Usage of one cache. {@code evictionCount} and {@code coalescedCount} are only reported for the
+ * Spotify caches; the latter counts callers that shared another caller's in-flight Spotify call.
+ */
+@Builder
+public record CacheRegionStatsResponse(
+    String region,
+    Long hitCount,
+    Long missCount,
+    Long putCount,
+    Double hitRatio,
+    Long evictionCount,
+    Long coalescedCount
+) {}
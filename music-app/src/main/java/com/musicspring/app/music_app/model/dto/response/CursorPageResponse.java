@@ -0,0 +1,43 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import com.musicspring.app.music_app.model.pagination.KeysetCursor;
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    /**
+     * Builds a page from the rows of a seek query that fetched {@code size + 1} rows; the extra row
+     * only signals that another page exists and is not returned.
+     */
+    public static <E, T> CursorPageResponse<T> of(List<E> rows,
+                                                  int size,
+                                                  Function<E, KeysetCursor> cursorOf,
+                                                  Function<List<E>, List<T>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+
+        return CursorPageResponse.<T>builder()
+                .content(mapper.apply(page))
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
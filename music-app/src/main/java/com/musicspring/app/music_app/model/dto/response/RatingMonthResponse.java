@@ -0,0 +1,9 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+import java.time.YearMonth;
+
+@Builder
+public record RatingMonthResponse(YearMonth month, Long reviewCount, Double averageRating) {
+}
@@ -0,0 +1,13 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Monthly ratings of the active reviews of a song or album, oldest month first. Months without
+ * reviews are omitted.
+ */
+@Builder
+public record RatingSeriesResponse(Long id, List<RatingMonthResponse> months) {
+}
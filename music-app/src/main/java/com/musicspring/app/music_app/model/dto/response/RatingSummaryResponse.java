@@ -0,0 +1,13 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Ratings of the active reviews of a song, album or artist. {@code histogram} has ten entries;
+ * entry {@code i} counts ratings in {@code (i * 0.5, (i + 1) * 0.5]}.
+ */
+@Builder
+public record RatingSummaryResponse(Long reviewCount, Double averageRating, List<Integer> histogram) {
+}
@@ -37,4 +37,6 @@ public class SongResponse {
 
     private LocalDate releaseDate;
 
+    private RatingSummaryResponse rating;
+
 }
@@ -0,0 +1,80 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact song review for list views, selected directly from a single flat join query.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class SongReviewCardResponse {
+
+    private Long songReviewId;
+
+    private Double rating;
+
+    private String description;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime date;
+
+    private Long userId;
+
+    private String username;
+
+    private String profilePictureUrl;
+
+    private Long songId;
+
+    private String songSpotifyId;
+
+    private String songName;
+
+    private String imageUrl;
+
+    private String albumName;
+
+    private String artistName;
+
+    private Long totalLikes;
+
+    private Long totalDislikes;
+
+    private Long totalLoves;
+
+    private Long totalWows;
+
+    private Long totalComments;
+
+    private ReactionResponse userReaction;
+
+    public SongReviewCardResponse(Long songReviewId, Double rating, String description, LocalDateTime date,
+                                  Long userId, String username, String profilePictureUrl,
+                                  Long songId, String songSpotifyId, String songName, String imageUrl,
+                                  String albumName, String artistName,
+                                  Long totalLikes, Long totalDislikes, Long totalLoves, Long totalWows,
+                                  Long totalComments) {
+        this.songReviewId = songReviewId;
+        this.rating = rating;
+        this.description = description;
+        this.date = date;
+        this.userId = userId;
+        this.username = username;
+        this.profilePictureUrl = profilePictureUrl;
+        this.songId = songId;
+        this.songSpotifyId = songSpotifyId;
+        this.songName = songName;
+        this.imageUrl = imageUrl;
+        this.albumName = albumName;
+        this.artistName = artistName;
+        this.totalLikes = totalLikes;
+        this.totalDislikes = totalDislikes;
+        this.totalLoves = totalLoves;
+        this.totalWows = totalWows;
+        this.totalComments = totalComments;
+    }
+}
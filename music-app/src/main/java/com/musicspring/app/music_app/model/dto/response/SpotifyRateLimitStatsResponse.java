@@ -0,0 +1,17 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+/**
+ * State of the outbound Spotify request scheduler. {@code throttledResponses} counts 429 replies
+ * from Spotify; {@code rejectedRequests} counts calls given up because no permit was free in time.
+ */
+@Builder
+public record SpotifyRateLimitStatsResponse(Double availablePermits,
+                                            Integer interactiveQueueDepth,
+                                            Integer backgroundQueueDepth,
+                                            Long blockedForMillis,
+                                            Long executedRequests,
+                                            Long throttledResponses,
+                                            Long rejectedRequests) {
+}
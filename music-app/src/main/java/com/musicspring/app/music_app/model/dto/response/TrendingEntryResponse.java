@@ -0,0 +1,6 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+public record TrendingEntryResponse<T>(
+    T item,
+    Long activity
+) {}
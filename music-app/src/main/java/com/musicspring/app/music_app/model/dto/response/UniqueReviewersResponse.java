@@ -0,0 +1,11 @@
+package com.musicspring.app.music_app.model.dto.response;
+
+import lombok.Builder;
+
+/**
+ * Approximate number of distinct users who have reviewed an album or artist, counting reviews of
+ * its songs as well.
+ */
+@Builder
+public record UniqueReviewersResponse(Long id, Long uniqueReviewers) {
+}
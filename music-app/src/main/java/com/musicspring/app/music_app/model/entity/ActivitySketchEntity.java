@@ -0,0 +1,27 @@
+package com.musicspring.app.music_app.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * HyperLogLog registers of one distinct-count sketch, one byte per register. Sketches of the same
+ * type merge by taking the larger value of each register, so rows written by different instances
+ * or covering different days combine without losing anything.
+ */
+@Entity
+@Table(name = "activity_sketches")
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class ActivitySketchEntity {
+
+    @EmbeddedId
+    private ActivitySketchId id;
+
+    @Column(name = "registers", nullable = false, columnDefinition = "bytea")
+    private byte[] registers;
+}
@@ -0,0 +1,31 @@
+package com.musicspring.app.music_app.model.entity;
+
+import com.musicspring.app.music_app.model.enums.SketchType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Embeddable
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+
+public class ActivitySketchId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "sketch_type", nullable = false, length = 24)
+    private SketchType sketchType;
+
+    /**
+     * The epoch day for day sketches, the album or artist id otherwise.
+     */
+    @Column(name = "sketch_key", nullable = false)
+    private Long sketchKey;
+}
@@ -1,13 +1,21 @@
 package com.musicspring.app.music_app.model.entity;
 
+import com.musicspring.app.music_app.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = "AlbumEntity.withArtist", attributeNodes = @NamedAttributeNode("artist"))
 @Table(name = "albums")
+@BatchSize(size = 50)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ALBUM_REGION)
 
 @Getter
 @Setter
@@ -36,7 +44,7 @@ public class AlbumEntity {
     @Column(name = "release_date")
     private LocalDate releaseDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "artist_id", nullable = false)
     private ArtistEntity artist;
 
@@ -5,6 +5,17 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
+@NamedEntityGraph(
+        name = "AlbumReviewEntity.detail",
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "author"),
+                @NamedAttributeNode(value = "album", subgraph = "album")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("credential")),
+                @NamedSubgraph(name = "album", attributeNodes = @NamedAttributeNode("artist"))
+        }
+)
 @Table(name = "album_reviews", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "album_id"})
 })
@@ -16,7 +27,7 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 
 public class AlbumReviewEntity extends ReviewEntity {
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "album_id", nullable = false)
     private AlbumEntity album;
 
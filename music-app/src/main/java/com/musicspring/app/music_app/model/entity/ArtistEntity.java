@@ -1,11 +1,18 @@
 package com.musicspring.app.music_app.model.entity;
 
+import com.musicspring.app.music_app.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
 @Table(name = "artists")
+@BatchSize(size = 50)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ARTIST_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -10,7 +10,15 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@NamedEntityGraph(
+        name = "CommentEntity.withAuthor",
+        attributeNodes = @NamedAttributeNode(value = "user", subgraph = "author"),
+        subgraphs = @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("credential"))
+)
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_review_created_id", columnList = "review_id, created_at, comment_id"),
+        @Index(name = "idx_comments_user_id", columnList = "user_id")
+})
 
 @Getter
 @Setter
@@ -47,4 +55,20 @@ public class CommentEntity {
 
     @Column(name = "active", nullable = false)
     private Boolean active;
+
+    @Column(name = "total_likes", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalLikes = 0L;
+
+    @Column(name = "total_dislikes", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalDislikes = 0L;
+
+    @Column(name = "total_loves", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalLoves = 0L;
+
+    @Column(name = "total_wows", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalWows = 0L;
 }
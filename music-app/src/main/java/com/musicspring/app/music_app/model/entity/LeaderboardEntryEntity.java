@@ -0,0 +1,27 @@
+package com.musicspring.app.music_app.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per (song, album or artist, metric) holding the count the stats pages rank by, so a
+ * leaderboard page is a range scan of {@code idx_leaderboard_rank} instead of a grouped join.
+ */
+@Entity
+@Table(name = "leaderboard_entries",
+        indexes = @Index(name = "idx_leaderboard_rank", columnList = "subject_type, metric, score, subject_id"))
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class LeaderboardEntryEntity {
+
+    @EmbeddedId
+    private LeaderboardEntryId id;
+
+    @Column(name = "score", nullable = false)
+    private Long score;
+}
@@ -0,0 +1,38 @@
+package com.musicspring.app.music_app.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Rating count, sum and distribution of the active reviews of one song, album or artist. Bucket
+ * {@code i} of the histogram (zero based) counts ratings in {@code (i * 0.5, (i + 1) * 0.5]}, so
+ * the ten buckets cover 0.5 to 5.0.
+ */
+@Entity
+@Table(name = "rating_aggregates")
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class RatingAggregateEntity {
+
+    @EmbeddedId
+    private RatingAggregateId id;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "DECIMAL(14,2)")
+    private Double ratingSum;
+
+    @Column(name = "rating_histogram", nullable = false, columnDefinition = "integer[]")
+    private int[] ratingHistogram;
+
+    // Bumped by every write to the row, so readers can tell which adjustments a read includes.
+    @Column(name = "revision", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long revision = 0L;
+}
@@ -0,0 +1,28 @@
+package com.musicspring.app.music_app.model.entity;
+
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Embeddable
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+
+public class RatingAggregateId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = 16)
+    private LeaderboardSubject subjectType;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+}
@@ -0,0 +1,29 @@
+package com.musicspring.app.music_app.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Rating count and sum of the active reviews of one song or album written in one month. The key
+ * orders a subject's months together, so its whole series is a single index range.
+ */
+@Entity
+@Table(name = "rating_months")
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class RatingMonthEntity {
+
+    @EmbeddedId
+    private RatingMonthId id;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "DECIMAL(14,2)")
+    private Double ratingSum;
+}
@@ -0,0 +1,35 @@
+package com.musicspring.app.music_app.model.entity;
+
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+
+public class RatingMonthId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = 16)
+    private LeaderboardSubject subjectType;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    /**
+     * First day of the month the reviews were written in.
+     */
+    @Column(name = "month", nullable = false)
+    private LocalDate month;
+}
@@ -10,7 +10,16 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reactions")
+@NamedEntityGraph(
+        name = "ReactionEntity.withUser",
+        attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user"),
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("credential"))
+)
+@Table(name = "reactions", indexes = {
+        @Index(name = "idx_reactions_review_created_id", columnList = "review_id, created_at, id"),
+        @Index(name = "idx_reactions_user_id", columnList = "user_id"),
+        @Index(name = "idx_reactions_comment_id", columnList = "comment_id")
+})
 
 @Getter
 @Setter
@@ -37,7 +46,7 @@ public class ReactionEntity {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_date_id", columnList = "date, review_id"),
+        @Index(name = "idx_reviews_user_id", columnList = "user_id")
+})
 @Check(constraints = "rating >= 0.5 AND rating <= 5.0")
 
 @Getter
@@ -40,7 +43,27 @@ public abstract class ReviewEntity {
     @Column(name = "active", nullable = false)
     private Boolean active;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
+
+    @Column(name = "total_likes", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalLikes = 0L;
+
+    @Column(name = "total_dislikes", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalDislikes = 0L;
+
+    @Column(name = "total_loves", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalLoves = 0L;
+
+    @Column(name = "total_wows", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalWows = 0L;
+
+    @Column(name = "total_comments", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long totalComments = 0L;
 }
@@ -1,12 +1,24 @@
 package com.musicspring.app.music_app.model.entity;
 
+import com.musicspring.app.music_app.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
+@NamedEntityGraph(
+        name = "SongEntity.withAlbumAndArtist",
+        attributeNodes = @NamedAttributeNode(value = "album", subgraph = "album"),
+        subgraphs = @NamedSubgraph(name = "album", attributeNodes = @NamedAttributeNode("artist"))
+)
 @Table(name = "songs")
+@BatchSize(size = 50)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.SONG_REGION)
 
 @Getter
 @Setter
@@ -42,7 +54,7 @@ public class SongEntity {
     @Column(name = "release_date")
     private LocalDate releaseDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "album_id")
     private AlbumEntity album;
 
@@ -5,6 +5,18 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
+@NamedEntityGraph(
+        name = "SongReviewEntity.detail",
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "author"),
+                @NamedAttributeNode(value = "song", subgraph = "song")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("credential")),
+                @NamedSubgraph(name = "song", attributeNodes = @NamedAttributeNode(value = "album", subgraph = "album")),
+                @NamedSubgraph(name = "album", attributeNodes = @NamedAttributeNode("artist"))
+        }
+)
 @Table(name = "song_reviews", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "song_id"})
 })
@@ -17,7 +29,7 @@ import lombok.experimental.SuperBuilder;
 
 public class SongReviewEntity extends ReviewEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "song_id", nullable = false)
     private SongEntity song;
 
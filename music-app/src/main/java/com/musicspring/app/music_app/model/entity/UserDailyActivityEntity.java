@@ -0,0 +1,32 @@
+package com.musicspring.app.music_app.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * What one user wrote on one day: active reviews and comments and the reactions they still have,
+ * each counted on the day it was created. Deleting content takes it off its creation day.
+ */
+@Entity
+@Table(name = "user_daily_activity")
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class UserDailyActivityEntity {
+
+    @EmbeddedId
+    private UserDailyActivityId id;
+
+    @Column(name = "reviews", nullable = false)
+    private Integer reviews;
+
+    @Column(name = "comments", nullable = false)
+    private Integer comments;
+
+    @Column(name = "reactions", nullable = false)
+    private Integer reactions;
+}
@@ -0,0 +1,63 @@
+package com.musicspring.app.music_app.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Snapshot of the all-time figures shown on a user's profile. The "this month" figures come from
+ * {@link UserDailyActivityEntity}.
+ */
+@Entity
+@Table(name = "user_stats")
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class UserStatsEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "album_reviews", nullable = false)
+    private Long albumReviews;
+
+    @Column(name = "song_reviews", nullable = false)
+    private Long songReviews;
+
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "DECIMAL(12,2)")
+    private Double ratingSum;
+
+    @Column(name = "album_comments", nullable = false)
+    private Long albumComments;
+
+    @Column(name = "song_comments", nullable = false)
+    private Long songComments;
+
+    @Column(name = "likes_given", nullable = false)
+    private Long likesGiven;
+
+    @Column(name = "loves_given", nullable = false)
+    private Long lovesGiven;
+
+    @Column(name = "wows_given", nullable = false)
+    private Long wowsGiven;
+
+    @Column(name = "dislikes_given", nullable = false)
+    private Long dislikesGiven;
+
+    @Column(name = "likes_received", nullable = false)
+    private Long likesReceived;
+
+    @Column(name = "loves_received", nullable = false)
+    private Long lovesReceived;
+
+    @Column(name = "wows_received", nullable = false)
+    private Long wowsReceived;
+
+    @Column(name = "dislikes_received", nullable = false)
+    private Long dislikesReceived;
+}
@@ -0,0 +1,13 @@
+package com.musicspring.app.music_app.model.enums;
+
+public enum LeaderboardMetric {
+    REVIEWS,
+    LIKE,
+    LOVE,
+    WOW,
+    DISLIKE;
+
+    public static LeaderboardMetric of(ReactionType reactionType) {
+        return valueOf(reactionType.name());
+    }
+}
@@ -0,0 +1,7 @@
+package com.musicspring.app.music_app.model.enums;
+
+public enum LeaderboardSubject {
+    SONG,
+    ALBUM,
+    ARTIST
+}
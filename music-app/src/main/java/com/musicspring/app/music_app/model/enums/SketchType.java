@@ -0,0 +1,22 @@
+package com.musicspring.app.music_app.model.enums;
+
+/**
+ * Kinds of distinct-count sketches and the HyperLogLog precision each uses. A sketch has
+ * {@code 2^precision} one byte registers and a standard error of about {@code 1.04 / sqrt(2^precision)}.
+ * Day sketches are few and merged into weeks and months, so they get the finer precision.
+ */
+public enum SketchType {
+    ACTIVE_USERS_DAY(14),
+    ALBUM_REVIEWERS(10),
+    ARTIST_REVIEWERS(10);
+
+    private final int precision;
+
+    SketchType(int precision) {
+        this.precision = precision;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+}
@@ -0,0 +1,29 @@
+package com.musicspring.app.music_app.model.enums;
+
+import java.time.Duration;
+
+/**
+ * Trending windows and the buckets that cover them. A window slides one bucket at a time, so it
+ * spans between {@code bucketCount - 1} and {@code bucketCount} whole buckets.
+ */
+public enum TrendingWindow {
+    HOUR(Duration.ofMinutes(5), 12),
+    DAY(Duration.ofHours(1), 24),
+    WEEK(Duration.ofHours(6), 28);
+
+    private final long bucketMillis;
+    private final int bucketCount;
+
+    TrendingWindow(Duration bucket, int bucketCount) {
+        this.bucketMillis = bucket.toMillis();
+        this.bucketCount = bucketCount;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.musicspring.app.music_app.model.pagination;
+
+/**
+ * How a listing reports its total: an exact {@code COUNT(*)}, an estimate that avoids the count
+ * query, or no total at all (a slice that only knows whether a next page exists).
+ */
+public enum TotalMode {
+    EXACT,
+    APPROXIMATE,
+    NONE;
+
+    public static TotalMode of(boolean withTotal, boolean approximateTotal) {
+        if (!withTotal) {
+            return NONE;
+        }
+        return approximateTotal ? APPROXIMATE : EXACT;
+    }
+}
@@ -0,0 +1,46 @@
+package com.musicspring.app.music_app.repository;
+
+import com.musicspring.app.music_app.model.entity.ActivitySketchEntity;
+import com.musicspring.app.music_app.model.entity.ActivitySketchId;
+import com.musicspring.app.music_app.model.enums.SketchType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ActivitySketchRepository extends JpaRepository<ActivitySketchEntity, ActivitySketchId> {
+
+    /**
+     * Stores the registers as a new row; returns 0 without writing when the row already exists.
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO activity_sketches (sketch_type, sketch_key, registers)
+    VALUES (:sketchType, :sketchKey, :registers)
+    ON CONFLICT (sketch_type, sketch_key) DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("sketchType") String sketchType,
+                       @Param("sketchKey") Long sketchKey,
+                       @Param("registers") byte[] registers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ActivitySketchEntity s WHERE s.id = :id")
+    Optional<ActivitySketchEntity> findForUpdate(@Param("id") ActivitySketchId id);
+
+    @Query("SELECT s FROM ActivitySketchEntity s " +
+            "WHERE s.id.sketchType = :sketchType AND s.id.sketchKey BETWEEN :fromKey AND :toKey")
+    List<ActivitySketchEntity> findRange(@Param("sketchType") SketchType sketchType,
+                                         @Param("fromKey") Long fromKey,
+                                         @Param("toKey") Long toKey);
+
+    @Modifying
+    @Query("DELETE FROM ActivitySketchEntity s WHERE s.id.sketchType = :sketchType AND s.id.sketchKey < :beforeKey")
+    int deleteOlderThan(@Param("sketchType") SketchType sketchType, @Param("beforeKey") Long beforeKey);
+}
@@ -1,39 +1,53 @@
 package com.musicspring.app.music_app.repository;
 
+import com.musicspring.app.music_app.config.HibernateCacheConfig;
 import com.musicspring.app.music_app.model.entity.AlbumEntity;
-import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.model.enums.LeaderboardMetric;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 public interface AlbumRepository extends JpaRepository<AlbumEntity, Long> {
+    @EntityGraph("AlbumEntity.withArtist")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.SPOTIFY_LOOKUP_REGION)
+    })
     Optional<AlbumEntity> findBySpotifyId(String spotifyId);
 
+    boolean existsBySpotifyId(String spotifyId);
+
+    @EntityGraph("AlbumEntity.withArtist")
     List<AlbumEntity> findByTitleContainingIgnoreCase(String title, Pageable pageable);
 
-    @Query("SELECT a " +
+    @EntityGraph("AlbumEntity.withArtist")
+    @Query(value = "SELECT a " +
             "FROM AlbumEntity a " +
-            "LEFT JOIN AlbumReviewEntity ar ON ar.album = a " +
-            "WHERE ar.active = true " +
-            "GROUP BY a " +
-            "HAVING COUNT(ar) > 0 " +
-            "ORDER BY COUNT(ar) DESC")
-    Page<AlbumEntity> findTopReviewedAlbums(Pageable pageable);
-
-    @Query("SELECT al " +
-            "FROM AlbumEntity al " +
-            "LEFT JOIN AlbumReviewEntity ar ON ar.album.albumId = al.albumId AND ar.active = true " +
-            "LEFT JOIN ReactionEntity r ON ar.reviewId = r.review.reviewId " +
-            "WHERE r.reactionType = :reactionType " +
-            "GROUP BY al " +
-            "HAVING COUNT(r.id) > 0 " +
-            "ORDER BY COUNT(r.id) DESC")
-    Page<AlbumEntity> findMostReactedAlbums(@Param("reactionType") ReactionType reactionType, Pageable pageable);
+            "JOIN LeaderboardEntryEntity l ON l.id.subjectId = a.albumId " +
+            "WHERE l.id.subjectType = :subjectType AND l.id.metric = :metric AND l.score > 0 " +
+            "ORDER BY l.score DESC, l.id.subjectId DESC",
+            countQuery = "SELECT COUNT(l) FROM LeaderboardEntryEntity l " +
+                    "WHERE l.id.subjectType = :subjectType AND l.id.metric = :metric AND l.score > 0")
+    Page<AlbumEntity> findLeaderboard(@Param("subjectType") LeaderboardSubject subjectType,
+                                      @Param("metric") LeaderboardMetric metric,
+                                      Pageable pageable);
+
+    @EntityGraph("AlbumEntity.withArtist")
+    List<AlbumEntity> findByAlbumIdIn(Collection<Long> albumIds);
+
+    @Query("SELECT a.artist.artistId FROM AlbumEntity a WHERE a.albumId = :albumId")
+    Optional<Long> findArtistIdByAlbumId(@Param("albumId") Long albumId);
     
 }
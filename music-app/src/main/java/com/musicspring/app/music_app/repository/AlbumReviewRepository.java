@@ -1,9 +1,12 @@
 package com.musicspring.app.music_app.repository;
 
+import com.musicspring.app.music_app.model.dto.response.AlbumReviewCardResponse;
 import com.musicspring.app.music_app.model.entity.AlbumReviewEntity;
 import com.musicspring.app.music_app.model.entity.CommentEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,23 +18,58 @@ import java.util.Optional;
 @Repository
 public interface AlbumReviewRepository extends JpaRepository<AlbumReviewEntity,Long> {
 
+    String SELECT_CARD = "SELECT new com.musicspring.app.music_app.model.dto.response.AlbumReviewCardResponse(" +
+            "ar.reviewId, ar.rating, ar.description, ar.date, u.userId, u.username, c.profilePictureUrl, " +
+            "a.albumId, a.spotifyId, a.title, a.imageUrl, art.name, " +
+            "ar.totalLikes, ar.totalDislikes, ar.totalLoves, ar.totalWows, ar.totalComments) " +
+            "FROM AlbumReviewEntity ar JOIN ar.user u LEFT JOIN u.credential c " +
+            "JOIN ar.album a LEFT JOIN a.artist art ";
+
+    @EntityGraph("AlbumReviewEntity.detail")
     @Query("SELECT ar FROM AlbumReviewEntity ar WHERE ar.active = true")
     Page<AlbumReviewEntity> findAll(Pageable pageable);
 
+    @EntityGraph("AlbumReviewEntity.detail")
+    @Query("SELECT ar FROM AlbumReviewEntity ar WHERE ar.active = true")
+    Slice<AlbumReviewEntity> findActiveSlice(Pageable pageable);
+
+    @Query(value = SELECT_CARD + "WHERE ar.active = true",
+            countQuery = "SELECT COUNT(ar) FROM AlbumReviewEntity ar WHERE ar.active = true")
+    Page<AlbumReviewCardResponse> findCards(Pageable pageable);
+
+    @Query(value = SELECT_CARD + "WHERE a.albumId = :albumId AND ar.active = true",
+            countQuery = "SELECT COUNT(ar) FROM AlbumReviewEntity ar WHERE ar.album.albumId = :albumId AND ar.active = true")
+    Page<AlbumReviewCardResponse> findCardsByAlbumId(@Param("albumId") Long albumId, Pageable pageable);
+
+    @Query(value = SELECT_CARD + "WHERE a.spotifyId = :spotifyId AND ar.active = true",
+            countQuery = "SELECT COUNT(ar) FROM AlbumReviewEntity ar WHERE ar.album.spotifyId = :spotifyId AND ar.active = true")
+    Page<AlbumReviewCardResponse> findCardsByAlbumSpotifyId(@Param("spotifyId") String spotifyId, Pageable pageable);
+
+    long countByActiveTrue();
+
     @Query("SELECT ar FROM AlbumReviewEntity ar WHERE ar.reviewId = :reviewId AND ar.active = true")
     Optional<AlbumReviewEntity> findById(@Param("reviewId") Long reviewId);
 
+    @EntityGraph("AlbumReviewEntity.detail")
+    @Query("SELECT ar FROM AlbumReviewEntity ar WHERE ar.reviewId = :reviewId AND ar.active = true")
+    Optional<AlbumReviewEntity> findDetailedById(@Param("reviewId") Long reviewId);
+
+    @EntityGraph("AlbumReviewEntity.detail")
     @Query("SELECT ar FROM AlbumReviewEntity ar WHERE ar.album.albumId = :albumId AND ar.active = true")
     Page<AlbumReviewEntity> findByAlbum_AlbumId(Long albumId, Pageable pageable);
 
+    @EntityGraph("AlbumReviewEntity.detail")
     @Query("SELECT ar FROM AlbumReviewEntity ar WHERE ar.user.userId = :userId AND ar.active = true")
     Page<AlbumReviewEntity> findByUser_UserId(Long userId,Pageable pageable);
 
+    @EntityGraph("AlbumReviewEntity.detail")
     @Query("SELECT ar FROM AlbumReviewEntity ar WHERE ar.user.userId = :userId AND ar.active = false")
     Page<AlbumReviewEntity> findByUser_UserIdAndActiveFalse(Long userId,Pageable pageable);
 
+    @EntityGraph("AlbumReviewEntity.detail")
     Page<AlbumReviewEntity> findByUser_UserIdAndActiveTrue(Long userId, Pageable pageable);
 
+    @EntityGraph("AlbumReviewEntity.detail")
     @Query("SELECT ar FROM AlbumReviewEntity ar WHERE ar.album.spotifyId = :spotifyId AND ar.active = true")
     Page<AlbumReviewEntity> findByAlbum_SpotifyId(@Param("spotifyId") String spotifyId, Pageable pageable);
 
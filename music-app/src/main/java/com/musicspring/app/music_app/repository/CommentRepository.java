@@ -4,6 +4,8 @@ import com.musicspring.app.music_app.model.entity.CommentEntity;
 import com.musicspring.app.music_app.model.enums.CommentType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,46 +13,71 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<CommentEntity, Long>{
 
+    @EntityGraph("CommentEntity.withAuthor")
     @Query("SELECT c FROM CommentEntity c WHERE c.active = TRUE ")
     Page<CommentEntity> findAll(Pageable pageable);
 
     @Query("SELECT c FROM CommentEntity c WHERE c.commentId = :commentId AND c.active = true")
     Optional<CommentEntity> findById(@Param("commentId") Long commentId);
 
-    @Query("SELECT c FROM CommentEntity c WHERE c.reviewEntity.reviewId = :reviewId AND c.active = true")
+    @EntityGraph("CommentEntity.withAuthor")
+    @Query(value = "SELECT c FROM CommentEntity c WHERE c.reviewEntity.reviewId = :reviewId AND c.active = true",
+            countQuery = "SELECT COUNT(c) FROM CommentEntity c WHERE c.reviewEntity.reviewId = :reviewId AND c.active = true")
     Page<CommentEntity> findByReviewEntity_ReviewId(@Param("reviewId") Long reviewId, Pageable pageable);
 
+    @EntityGraph("CommentEntity.withAuthor")
+    @Query("SELECT c FROM CommentEntity c WHERE c.reviewEntity.reviewId = :reviewId AND c.active = true")
+    Slice<CommentEntity> findSliceByReviewId(@Param("reviewId") Long reviewId, Pageable pageable);
+
+    @EntityGraph("CommentEntity.withAuthor")
+    @Query("SELECT c FROM CommentEntity c WHERE c.reviewEntity.reviewId = :reviewId AND c.active = true " +
+            "ORDER BY c.createdAt DESC, c.commentId DESC")
+    List<CommentEntity> findFeedByReviewId(@Param("reviewId") Long reviewId, Pageable limit);
+
+    @EntityGraph("CommentEntity.withAuthor")
+    @Query("SELECT c FROM CommentEntity c WHERE c.reviewEntity.reviewId = :reviewId AND c.active = true " +
+            "AND (c.createdAt, c.commentId) < (:createdAt, :commentId) " +
+            "ORDER BY c.createdAt DESC, c.commentId DESC")
+    List<CommentEntity> findFeedByReviewIdAfter(@Param("reviewId") Long reviewId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("commentId") Long commentId,
+                                                Pageable limit);
+
+    @EntityGraph("CommentEntity.withAuthor")
     @Query("SELECT c FROM CommentEntity c WHERE c.user.userId = :userId AND c.active = true")
     Page<CommentEntity> findByUser_UserId(@Param("userId") Long userId, Pageable pageable);
 
+    @EntityGraph("CommentEntity.withAuthor")
     @Query("SELECT c FROM CommentEntity c WHERE c.user.userId = :userId AND c.active = false")
     Page<CommentEntity> findByUser_UserIdAndActiveFalse(@Param("userId") Long userId, Pageable pageable);
 
+    @EntityGraph("CommentEntity.withAuthor")
     Page<CommentEntity> findByUser_UserIdAndActiveTrue(Long userId, Pageable pageable);
 
     @Modifying
     @Query("""
     UPDATE CommentEntity c SET c.active = false 
-    WHERE c.reviewEntity.reviewId IN (
+    WHERE c.active = true AND c.reviewEntity.reviewId IN (
         SELECT ar.reviewId FROM AlbumReviewEntity ar WHERE ar.user.userId = :userId
         UNION
         SELECT sr.reviewId FROM SongReviewEntity sr WHERE sr.user.userId = :userId
     )
     """)
-    void deactivateCommentsOnUserReviews(@Param("userId") Long userId);
+    int deactivateCommentsOnUserReviews(@Param("userId") Long userId);
 
     @Modifying
-    @Query("UPDATE CommentEntity c SET c.active = false WHERE c.user.userId = :userId")
-    void deactivateByUserId(@Param("userId") Long userId);
+    @Query("UPDATE CommentEntity c SET c.active = false WHERE c.user.userId = :userId AND c.active = true")
+    int deactivateByUserId(@Param("userId") Long userId);
 
     @Modifying
     @Query("UPDATE CommentEntity c SET c.active = true WHERE c.user.userId = :userId AND c.active = false")
-    void reactivateByUserId(@Param("userId") Long userId);
+    int reactivateByUserId(@Param("userId") Long userId);
 
     @Modifying
     @Query("""
@@ -61,19 +88,19 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Long>{
         SELECT sr.reviewId FROM SongReviewEntity sr WHERE sr.user.userId = :userId AND sr.active = true
     )
     """)
-    void reactivateCommentsOnUserReviews(@Param("userId") Long userId);
+    int reactivateCommentsOnUserReviews(@Param("userId") Long userId);
 
     @Modifying
-    @Query("UPDATE CommentEntity c SET c.active = false WHERE c.reviewEntity.reviewId = :reviewId")
-    void deactivateByReviewId(@Param("reviewId") Long reviewId);
+    @Query("UPDATE CommentEntity c SET c.active = false WHERE c.reviewEntity.reviewId = :reviewId AND c.active = true")
+    int deactivateByReviewId(@Param("reviewId") Long reviewId);
 
     @Modifying
     @Query("UPDATE CommentEntity c SET c.active = true WHERE c.reviewEntity.reviewId = :reviewId AND c.active = false")
-    void reactivateByReviewId(@Param("reviewId") Long reviewId);
+    int reactivateByReviewId(@Param("reviewId") Long reviewId);
 
     @Modifying
-    @Query("UPDATE CommentEntity c SET c.active = true WHERE c.reviewEntity.reviewId = :reviewId AND c.user.active = true AND c.user.isBanned = false")
-    void reactivateCommentByReviewId(@Param("reviewId") Long reviewId);
+    @Query("UPDATE CommentEntity c SET c.active = true WHERE c.reviewEntity.reviewId = :reviewId AND c.active = false AND c.user.active = true AND c.user.isBanned = false")
+    int reactivateCommentByReviewId(@Param("reviewId") Long reviewId);
 
     @Query("SELECT COUNT(c) FROM CommentEntity c WHERE c.user.userId = :userId AND c.commentType = :type AND c.active = true")
     Long countCommentsByUserAndType(@Param("userId") Long userId, @Param("type") CommentType type);
@@ -81,11 +108,54 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Long>{
     @Query("SELECT COUNT(c) FROM CommentEntity c WHERE c.user.userId = :userId AND c.active = true")
     Long countByUserUserId(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(c) FROM CommentEntity c WHERE c.user.userId = :userId AND c.createdAt >= :startOfMonth AND c.active = true")
-    Long countCommentsThisMonth(@Param("userId") Long userId, @Param("startOfMonth") LocalDateTime startOfMonth);
-
     @Query("SELECT COUNT(c) FROM CommentEntity c WHERE c.reviewEntity.reviewId = :reviewId AND c.active = true")
     Long countByReviewEntity_ReviewIdAndActiveTrue(@Param("reviewId") Long reviewId);
 
     Long countByActiveTrue();
+
+    @Modifying
+    @Query(value = """
+    UPDATE comments SET
+        total_likes = total_likes + CASE WHEN :reactionType = 'LIKE' THEN :delta ELSE 0 END,
+        total_dislikes = total_dislikes + CASE WHEN :reactionType = 'DISLIKE' THEN :delta ELSE 0 END,
+        total_loves = total_loves + CASE WHEN :reactionType = 'LOVE' THEN :delta ELSE 0 END,
+        total_wows = total_wows + CASE WHEN :reactionType = 'WOW' THEN :delta ELSE 0 END
+    WHERE comment_id = :commentId
+    """, nativeQuery = true)
+    void adjustReactionCount(@Param("commentId") Long commentId, @Param("reactionType") String reactionType, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE comments SET total_likes = 0, total_dislikes = 0, total_loves = 0, total_wows = 0 WHERE review_id = :reviewId", nativeQuery = true)
+    void resetReactionCountsByReviewId(@Param("reviewId") Long reviewId);
+
+    @Modifying
+    @Query(value = """
+    UPDATE comments c SET
+        total_likes = c.total_likes - agg.likes,
+        total_dislikes = c.total_dislikes - agg.dislikes,
+        total_loves = c.total_loves - agg.loves,
+        total_wows = c.total_wows - agg.wows
+    FROM (
+        SELECT x.comment_id,
+            COUNT(*) FILTER (WHERE x.reaction_type = 'LIKE') AS likes,
+            COUNT(*) FILTER (WHERE x.reaction_type = 'DISLIKE') AS dislikes,
+            COUNT(*) FILTER (WHERE x.reaction_type = 'LOVE') AS loves,
+            COUNT(*) FILTER (WHERE x.reaction_type = 'WOW') AS wows
+        FROM reactions x
+        WHERE x.user_id = :userId AND x.comment_id IS NOT NULL
+        GROUP BY x.comment_id
+    ) agg
+    WHERE c.comment_id = agg.comment_id
+    """, nativeQuery = true)
+    void subtractReactionsByUser(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+    UPDATE comments c SET
+        total_likes = (SELECT COUNT(*) FROM reactions x WHERE x.comment_id = c.comment_id AND x.reaction_type = 'LIKE'),
+        total_dislikes = (SELECT COUNT(*) FROM reactions x WHERE x.comment_id = c.comment_id AND x.reaction_type = 'DISLIKE'),
+        total_loves = (SELECT COUNT(*) FROM reactions x WHERE x.comment_id = c.comment_id AND x.reaction_type = 'LOVE'),
+        total_wows = (SELECT COUNT(*) FROM reactions x WHERE x.comment_id = c.comment_id AND x.reaction_type = 'WOW')
+    """, nativeQuery = true)
+    int recountAllReactionCounts();
 }
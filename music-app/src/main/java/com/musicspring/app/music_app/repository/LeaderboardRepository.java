@@ -0,0 +1,88 @@
+package com.musicspring.app.music_app.repository;
+
+import com.musicspring.app.music_app.model.entity.LeaderboardEntryEntity;
+import com.musicspring.app.music_app.model.entity.LeaderboardEntryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LeaderboardRepository extends JpaRepository<LeaderboardEntryEntity, LeaderboardEntryId> {
+
+    String INSERT_ENTRIES = "INSERT INTO leaderboard_entries (subject_type, subject_id, metric, score) ";
+
+    String REPLACE_SCORE = " ON CONFLICT (subject_type, subject_id, metric) DO UPDATE SET score = EXCLUDED.score";
+
+    @Modifying
+    @Query(value = INSERT_ENTRIES + """
+    VALUES (:subjectType, :subjectId, :metric, :delta)
+    ON CONFLICT (subject_type, subject_id, metric) DO UPDATE SET score = leaderboard_entries.score + EXCLUDED.score
+    """, nativeQuery = true)
+    void adjustScore(@Param("subjectType") String subjectType,
+                     @Param("subjectId") Long subjectId,
+                     @Param("metric") String metric,
+                     @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE leaderboard_entries SET score = 0 WHERE score <> 0", nativeQuery = true)
+    void resetScores();
+
+    @Modifying
+    @Query(value = INSERT_ENTRIES + """
+    SELECT 'SONG', sr.song_id, 'REVIEWS', COUNT(*)
+    FROM song_reviews sr
+    JOIN reviews r ON r.review_id = sr.review_id
+    WHERE r.active = true
+    GROUP BY sr.song_id
+    """ + REPLACE_SCORE, nativeQuery = true)
+    void recountSongReviews();
+
+    @Modifying
+    @Query(value = INSERT_ENTRIES + """
+    SELECT 'SONG', sr.song_id, x.reaction_type, COUNT(*)
+    FROM reactions x
+    JOIN reviews r ON r.review_id = x.review_id
+    JOIN song_reviews sr ON sr.review_id = r.review_id
+    WHERE r.active = true
+    GROUP BY sr.song_id, x.reaction_type
+    """ + REPLACE_SCORE, nativeQuery = true)
+    void recountSongReactions();
+
+    @Modifying
+    @Query(value = INSERT_ENTRIES + """
+    SELECT 'ALBUM', ar.album_id, 'REVIEWS', COUNT(*)
+    FROM album_reviews ar
+    JOIN reviews r ON r.review_id = ar.review_id
+    WHERE r.active = true
+    GROUP BY ar.album_id
+    """ + REPLACE_SCORE, nativeQuery = true)
+    void recountAlbumReviews();
+
+    @Modifying
+    @Query(value = INSERT_ENTRIES + """
+    SELECT 'ALBUM', ar.album_id, x.reaction_type, COUNT(*)
+    FROM reactions x
+    JOIN reviews r ON r.review_id = x.review_id
+    JOIN album_reviews ar ON ar.review_id = r.review_id
+    WHERE r.active = true
+    GROUP BY ar.album_id, x.reaction_type
+    """ + REPLACE_SCORE, nativeQuery = true)
+    void recountAlbumReactions();
+
+    /**
+     * Rolls the song and album rows up to their artists, so it must run after those have been
+     * recounted. It reads one row per song or album and metric, never the reviews behind them.
+     */
+    @Modifying
+    @Query(value = INSERT_ENTRIES + """
+    SELECT 'ARTIST', al.artist_id, e.metric, SUM(e.score)
+    FROM leaderboard_entries e
+    LEFT JOIN songs s ON e.subject_type = 'SONG' AND s.song_id = e.subject_id
+    JOIN albums al ON al.album_id = CASE WHEN e.subject_type = 'SONG' THEN s.album_id ELSE e.subject_id END
+    WHERE e.subject_type IN ('SONG', 'ALBUM') AND e.score > 0
+    GROUP BY al.artist_id, e.metric
+    """ + REPLACE_SCORE, nativeQuery = true)
+    void rollUpArtists();
+}
@@ -0,0 +1,114 @@
+package com.musicspring.app.music_app.repository;
+
+import com.musicspring.app.music_app.model.entity.RatingAggregateEntity;
+import com.musicspring.app.music_app.model.entity.RatingAggregateId;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RatingAggregateRepository extends JpaRepository<RatingAggregateEntity, RatingAggregateId> {
+
+    interface RatingTally {
+        LeaderboardSubject getSubjectType();
+
+        Long getSubjectId();
+
+        Long getRatingCount();
+
+        Double getRatingSum();
+
+        Long getRevision();
+    }
+
+    // Rows without ratings are included for their revision.
+    @Query("SELECT a.id.subjectType AS subjectType, a.id.subjectId AS subjectId, " +
+            "a.ratingCount AS ratingCount, a.ratingSum AS ratingSum, a.revision AS revision " +
+            "FROM RatingAggregateEntity a")
+    List<RatingTally> findAllTallies();
+
+    @Query("SELECT a FROM RatingAggregateEntity a WHERE a.id.subjectType = :subjectType AND a.id.subjectId IN :subjectIds")
+    List<RatingAggregateEntity> findBySubjectIds(@Param("subjectType") LeaderboardSubject subjectType,
+                                                 @Param("subjectIds") Collection<Long> subjectIds);
+
+    /**
+     * Adds {@code delta} ratings of {@code rating} to one row, creating it when missing, and
+     * returns the row's new revision. The histogram bucket is one based, as PostgreSQL arrays are.
+     */
+    @Query(value = """
+    INSERT INTO rating_aggregates (subject_type, subject_id, rating_count, rating_sum, rating_histogram, revision)
+    VALUES (:subjectType, :subjectId, :delta, :delta * :rating,
+            (SELECT array_agg(CASE WHEN b = :bucket THEN :delta ELSE 0 END ORDER BY b) FROM generate_series(1, 10) b), 1)
+    ON CONFLICT (subject_type, subject_id) DO UPDATE SET
+        rating_count = rating_aggregates.rating_count + EXCLUDED.rating_count,
+        rating_sum = rating_aggregates.rating_sum + EXCLUDED.rating_sum,
+        rating_histogram[:bucket] = rating_aggregates.rating_histogram[:bucket] + :delta,
+        revision = rating_aggregates.revision + 1
+    RETURNING revision
+    """, nativeQuery = true)
+    long adjust(@Param("subjectType") String subjectType,
+                @Param("subjectId") Long subjectId,
+                @Param("bucket") int bucket,
+                @Param("rating") double rating,
+                @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = """
+    UPDATE rating_aggregates SET rating_count = 0, rating_sum = 0, rating_histogram = array_fill(0, ARRAY[10]),
+        revision = revision + 1
+    WHERE rating_count <> 0
+    """, nativeQuery = true)
+    void resetAll();
+
+    /**
+     * Rebuilds every row from the active reviews. Artists are counted over the reviews of their
+     * albums and of the songs on those albums.
+     */
+    @Modifying
+    @Query(value = """
+    WITH rated AS (
+        SELECT 'SONG' AS subject_type, sr.song_id AS subject_id, r.rating
+        FROM song_reviews sr JOIN reviews r ON r.review_id = sr.review_id
+        WHERE r.active = true
+        UNION ALL
+        SELECT 'ALBUM', ar.album_id, r.rating
+        FROM album_reviews ar JOIN reviews r ON r.review_id = ar.review_id
+        WHERE r.active = true
+        UNION ALL
+        SELECT 'ARTIST', al.artist_id, r.rating
+        FROM song_reviews sr JOIN reviews r ON r.review_id = sr.review_id
+        JOIN songs s ON s.song_id = sr.song_id JOIN albums al ON al.album_id = s.album_id
+        WHERE r.active = true
+        UNION ALL
+        SELECT 'ARTIST', al.artist_id, r.rating
+        FROM album_reviews ar JOIN reviews r ON r.review_id = ar.review_id
+        JOIN albums al ON al.album_id = ar.album_id
+        WHERE r.active = true
+    ), bucketed AS (
+        SELECT subject_type, subject_id, rating, LEAST(GREATEST(CEIL(rating * 2)::int, 1), 10) AS bucket
+        FROM rated
+    ), per_bucket AS (
+        SELECT s.subject_type, s.subject_id, b.bucket, COUNT(x.rating) AS ratings, COALESCE(SUM(x.rating), 0) AS total
+        FROM (SELECT DISTINCT subject_type, subject_id FROM bucketed) s
+        CROSS JOIN generate_series(1, 10) AS b(bucket)
+        LEFT JOIN bucketed x ON x.subject_type = s.subject_type AND x.subject_id = s.subject_id AND x.bucket = b.bucket
+        GROUP BY s.subject_type, s.subject_id, b.bucket
+    )
+    INSERT INTO rating_aggregates (subject_type, subject_id, rating_count, rating_sum, rating_histogram)
+    SELECT subject_type, subject_id, SUM(ratings), SUM(total), array_agg(ratings::int ORDER BY bucket)
+    FROM per_bucket
+    GROUP BY subject_type, subject_id
+    ON CONFLICT (subject_type, subject_id) DO UPDATE SET
+        rating_count = EXCLUDED.rating_count,
+        rating_sum = EXCLUDED.rating_sum,
+        rating_histogram = EXCLUDED.rating_histogram,
+        revision = rating_aggregates.revision + 1
+    """, nativeQuery = true)
+    void recountAll();
+}
@@ -0,0 +1,65 @@
+package com.musicspring.app.music_app.repository;
+
+import com.musicspring.app.music_app.model.entity.RatingMonthEntity;
+import com.musicspring.app.music_app.model.entity.RatingMonthId;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RatingMonthRepository extends JpaRepository<RatingMonthEntity, RatingMonthId> {
+
+    @Query("SELECT m FROM RatingMonthEntity m " +
+            "WHERE m.id.subjectType = :subjectType AND m.id.subjectId = :subjectId " +
+            "AND m.id.month BETWEEN :from AND :to AND m.ratingCount > 0 " +
+            "ORDER BY m.id.month")
+    List<RatingMonthEntity> findSeries(@Param("subjectType") LeaderboardSubject subjectType,
+                                       @Param("subjectId") Long subjectId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = """
+    INSERT INTO rating_months (subject_type, subject_id, month, rating_count, rating_sum)
+    VALUES (:subjectType, :subjectId, :month, :delta, :delta * :rating)
+    ON CONFLICT (subject_type, subject_id, month) DO UPDATE SET
+        rating_count = rating_months.rating_count + EXCLUDED.rating_count,
+        rating_sum = rating_months.rating_sum + EXCLUDED.rating_sum
+    """, nativeQuery = true)
+    void adjust(@Param("subjectType") String subjectType,
+                @Param("subjectId") Long subjectId,
+                @Param("month") LocalDate month,
+                @Param("rating") double rating,
+                @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE rating_months SET rating_count = 0, rating_sum = 0 WHERE rating_count <> 0", nativeQuery = true)
+    void resetAll();
+
+    @Modifying
+    @Query(value = """
+    INSERT INTO rating_months (subject_type, subject_id, month, rating_count, rating_sum)
+    SELECT subject_type, subject_id, month, COUNT(*), SUM(rating)
+    FROM (
+        SELECT 'SONG' AS subject_type, sr.song_id AS subject_id,
+               CAST(date_trunc('month', r.date) AS date) AS month, r.rating
+        FROM song_reviews sr JOIN reviews r ON r.review_id = sr.review_id
+        WHERE r.active = true AND r.rating IS NOT NULL
+        UNION ALL
+        SELECT 'ALBUM', ar.album_id, CAST(date_trunc('month', r.date) AS date), r.rating
+        FROM album_reviews ar JOIN reviews r ON r.review_id = ar.review_id
+        WHERE r.active = true AND r.rating IS NOT NULL
+    ) rated
+    GROUP BY subject_type, subject_id, month
+    ON CONFLICT (subject_type, subject_id, month) DO UPDATE SET
+        rating_count = EXCLUDED.rating_count,
+        rating_sum = EXCLUDED.rating_sum
+    """, nativeQuery = true)
+    void recountAll();
+}
@@ -8,6 +8,8 @@ import com.musicspring.app.music_app.model.enums.ReactedType;
 import com.musicspring.app.music_app.model.enums.ReactionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,11 +17,23 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReactionRepository extends JpaRepository<ReactionEntity, Long> {
 
+    interface ReactionTypeCount {
+        ReactionType getReactionType();
+
+        Long getTotal();
+    }
+
+    @EntityGraph("ReactionEntity.withUser")
+    Page<ReactionEntity> findAll(Pageable pageable);
+
+    @EntityGraph("ReactionEntity.withUser")
     @Query("SELECT r FROM ReactionEntity r " +
             "WHERE (:reaction IS NULL OR r.reactionType = :reaction) " +
             "AND (:reacted IS NULL OR r.reactedType = :reacted)")
@@ -27,22 +41,54 @@ public interface ReactionRepository extends JpaRepository<ReactionEntity, Long>
                                                           @Param("reacted") ReactedType reactedType,
                                                           Pageable pageable);
 
+    @EntityGraph("ReactionEntity.withUser")
+    @Query("SELECT r FROM ReactionEntity r")
+    Slice<ReactionEntity> findAllSlice(Pageable pageable);
+
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = CAST('reactions' AS regclass)", nativeQuery = true)
+    long estimateRowCount();
+
     Long countByReview_ReviewIdAndReactionType(Long reviewId, ReactionType reactionType);
 
     Long countByComment_CommentIdAndReactionType(Long commentId, ReactionType reactionType);
 
+    @EntityGraph("ReactionEntity.withUser")
+    @Query("SELECT r FROM ReactionEntity r WHERE r.user.userId = :userId AND r.review.reviewId IN :reviewIds")
+    List<ReactionEntity> findByUserIdAndReviewIds(@Param("userId") Long userId, @Param("reviewIds") Collection<Long> reviewIds);
+
+    @EntityGraph("ReactionEntity.withUser")
+    @Query("SELECT r FROM ReactionEntity r WHERE r.user.userId = :userId AND r.comment.commentId IN :commentIds")
+    List<ReactionEntity> findByUserIdAndCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+
+    @EntityGraph("ReactionEntity.withUser")
     @Query("SELECT r FROM ReactionEntity r " +
             "WHERE r.user.userId = :userId AND " +
             "((r.review IS NOT NULL AND r.review.active = true) OR " +
             "(r.comment IS NOT NULL AND r.comment.active = true))")
     Page<ReactionEntity> findByUser_UserId(Long userId, Pageable pageable);
 
+    @EntityGraph("ReactionEntity.withUser")
     @Query("SELECT r FROM ReactionEntity r WHERE r.comment.commentId = :commentId AND r.comment.active = TRUE")
     Page<ReactionEntity> findByComment_CommentId(@Param("commentId") Long commentId, Pageable pageable);
 
+    @EntityGraph("ReactionEntity.withUser")
     @Query("SELECT r FROM ReactionEntity r WHERE r.review.reviewId = :reviewId AND r.review.active = TRUE")
     Page<ReactionEntity> findByReview_ReviewId(@Param("reviewId") Long reviewId, Pageable pageable);
 
+    @EntityGraph("ReactionEntity.withUser")
+    @Query("SELECT r FROM ReactionEntity r WHERE r.review.reviewId = :reviewId AND r.review.active = TRUE " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReactionEntity> findFeedByReviewId(@Param("reviewId") Long reviewId, Pageable limit);
+
+    @EntityGraph("ReactionEntity.withUser")
+    @Query("SELECT r FROM ReactionEntity r WHERE r.review.reviewId = :reviewId AND r.review.active = TRUE " +
+            "AND (r.createdAt, r.id) < (:createdAt, :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReactionEntity> findFeedByReviewIdAfter(@Param("reviewId") Long reviewId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable limit);
+
 
     Optional<ReactionEntity> findByUserAndReview(UserEntity user, ReviewEntity review);
     Optional<ReactionEntity> findByUserAndComment(UserEntity user, CommentEntity comment);
@@ -71,8 +117,17 @@ public interface ReactionRepository extends JpaRepository<ReactionEntity, Long>
     @Query("SELECT COUNT(r) FROM ReactionEntity r WHERE r.user.userId = :userId")
     Long countByUserUserId(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(r) FROM ReactionEntity r WHERE r.user.userId = :userId AND r.createdAt >= :startOfMonth")
-    Long countReactionsThisMonth(@Param("userId") Long userId, @Param("startOfMonth") LocalDateTime startOfMonth);
-
     Long countByReactionType(ReactionType reactionType);
+
+    @Query("SELECT r.reactionType AS reactionType, COUNT(r) AS total FROM ReactionEntity r GROUP BY r.reactionType")
+    List<ReactionTypeCount> countGroupedByType();
+
+    // Everything deleted along with a review: reactions on the review and on its comments.
+    @Query("SELECT r.reactionType AS reactionType, COUNT(r) AS total FROM ReactionEntity r LEFT JOIN r.review rv LEFT JOIN r.comment c " +
+            "WHERE rv.reviewId = :reviewId OR c.reviewEntity.reviewId = :reviewId GROUP BY r.reactionType")
+    List<ReactionTypeCount> countGroupedByTypeForReview(@Param("reviewId") Long reviewId);
+
+    @Query("SELECT r.reactionType AS reactionType, COUNT(r) AS total FROM ReactionEntity r " +
+            "WHERE r.user.userId = :userId GROUP BY r.reactionType")
+    List<ReactionTypeCount> countGroupedByTypeForUser(@Param("userId") Long userId);
 }
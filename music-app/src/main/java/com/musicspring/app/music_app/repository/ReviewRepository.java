@@ -4,22 +4,38 @@ import com.musicspring.app.music_app.model.entity.ReviewEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
 
+    String RECOUNT_COUNTERS = """
+    UPDATE reviews r SET
+        total_likes = (SELECT COUNT(*) FROM reactions x WHERE x.review_id = r.review_id AND x.reaction_type = 'LIKE'),
+        total_dislikes = (SELECT COUNT(*) FROM reactions x WHERE x.review_id = r.review_id AND x.reaction_type = 'DISLIKE'),
+        total_loves = (SELECT COUNT(*) FROM reactions x WHERE x.review_id = r.review_id AND x.reaction_type = 'LOVE'),
+        total_wows = (SELECT COUNT(*) FROM reactions x WHERE x.review_id = r.review_id AND x.reaction_type = 'WOW'),
+        total_comments = (SELECT COUNT(*) FROM comments c WHERE c.review_id = r.review_id AND c.active = true)
+    """;
+
     @Query("SELECT r FROM ReviewEntity r WHERE r.reviewId = :reviewId AND r.active = true")
     Optional<ReviewEntity> findById(@Param("reviewId") Long reviewId);
 
     @Query("SELECT r FROM ReviewEntity r WHERE r.reviewId = :reviewId AND r.active = false")
     Optional<ReviewEntity> findByIdInactive(Long reviewId);
 
+    @Query("SELECT COUNT(r) > 0 FROM ReviewEntity r WHERE r.reviewId = :reviewId AND r.active = true")
+    boolean existsActiveById(@Param("reviewId") Long reviewId);
+
+    @Query("SELECT r.totalComments FROM ReviewEntity r WHERE r.reviewId = :reviewId AND r.active = true")
+    Optional<Long> findActiveTotalComments(@Param("reviewId") Long reviewId);
+
     Page<ReviewEntity> findByUser_UserId(Long userId, Pageable pageable);
 
     Page<ReviewEntity> findByActiveTrue(Pageable pageable);
@@ -33,6 +49,72 @@ public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
     @Query("SELECT COUNT(r) FROM ReviewEntity r WHERE r.user.userId = :userId AND r.active = true")
     Long countTotalReviewsByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(r) FROM ReviewEntity r WHERE r.user.userId = :userId AND r.date >= :startOfMonth AND r.active = true")
-    Long countReviewsThisMonth(@Param("userId") Long userId, @Param("startOfMonth") LocalDateTime startOfMonth);
+    @Modifying
+    @Query(value = """
+    UPDATE reviews SET
+        total_likes = total_likes + CASE WHEN :reactionType = 'LIKE' THEN :delta ELSE 0 END,
+        total_dislikes = total_dislikes + CASE WHEN :reactionType = 'DISLIKE' THEN :delta ELSE 0 END,
+        total_loves = total_loves + CASE WHEN :reactionType = 'LOVE' THEN :delta ELSE 0 END,
+        total_wows = total_wows + CASE WHEN :reactionType = 'WOW' THEN :delta ELSE 0 END
+    WHERE review_id = :reviewId
+    """, nativeQuery = true)
+    void adjustReactionCount(@Param("reviewId") Long reviewId, @Param("reactionType") String reactionType, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE reviews SET total_comments = total_comments + :delta WHERE review_id = :reviewId", nativeQuery = true)
+    void adjustCommentCount(@Param("reviewId") Long reviewId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE reviews SET total_likes = 0, total_dislikes = 0, total_loves = 0, total_wows = 0, total_comments = 0 WHERE review_id = :reviewId", nativeQuery = true)
+    void resetCounters(@Param("reviewId") Long reviewId);
+
+    @Modifying
+    @Query(value = """
+    UPDATE reviews r SET
+        total_likes = r.total_likes - agg.likes,
+        total_dislikes = r.total_dislikes - agg.dislikes,
+        total_loves = r.total_loves - agg.loves,
+        total_wows = r.total_wows - agg.wows
+    FROM (
+        SELECT x.review_id,
+            COUNT(*) FILTER (WHERE x.reaction_type = 'LIKE') AS likes,
+            COUNT(*) FILTER (WHERE x.reaction_type = 'DISLIKE') AS dislikes,
+            COUNT(*) FILTER (WHERE x.reaction_type = 'LOVE') AS loves,
+            COUNT(*) FILTER (WHERE x.reaction_type = 'WOW') AS wows
+        FROM reactions x
+        WHERE x.user_id = :userId AND x.review_id IS NOT NULL
+        GROUP BY x.review_id
+    ) agg
+    WHERE r.review_id = agg.review_id
+    """, nativeQuery = true)
+    void subtractReactionsByUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = """
+    UPDATE reviews r SET total_comments = r.total_comments - agg.total
+    FROM (
+        SELECT c.review_id, COUNT(*) AS total
+        FROM comments c
+        WHERE c.user_id = :userId AND c.active = true
+        GROUP BY c.review_id
+    ) agg
+    WHERE r.review_id = agg.review_id
+    """, nativeQuery = true)
+    void subtractActiveCommentsByUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE reviews SET total_comments = 0 WHERE user_id = :userId", nativeQuery = true)
+    void resetCommentCountsByUser(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = RECOUNT_COUNTERS + " WHERE r.review_id IN (:reviewIds)", nativeQuery = true)
+    void recountCounters(@Param("reviewIds") Collection<Long> reviewIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = RECOUNT_COUNTERS + " WHERE r.user_id = :userId OR r.review_id IN (SELECT c.review_id FROM comments c WHERE c.user_id = :userId)", nativeQuery = true)
+    void recountCountersTouchedByUser(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = RECOUNT_COUNTERS, nativeQuery = true)
+    int recountAllCounters();
 }
@@ -1,42 +1,60 @@
 package com.musicspring.app.music_app.repository;
 
+import com.musicspring.app.music_app.config.HibernateCacheConfig;
 import com.musicspring.app.music_app.model.entity.SongEntity;
-import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.model.enums.LeaderboardMetric;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SongRepository extends JpaRepository<SongEntity, Long> {
 
+    @EntityGraph("SongEntity.withAlbumAndArtist")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.SPOTIFY_LOOKUP_REGION)
+    })
     Optional<SongEntity> findBySpotifyId(String spotifyId);
 
+    boolean existsBySpotifyId(String spotifyId);
+
+    @EntityGraph("SongEntity.withAlbumAndArtist")
     Page<SongEntity> findByNameContainingIgnoreCase(
             String name, String artistName, Pageable pageable);
 
-    @Query("SELECT s " +
-            "FROM SongEntity s " +
-            "LEFT JOIN SongReviewEntity sr ON sr.song = s " +
-            "WHERE sr.active = true " +
-            "GROUP BY s " +
-            "HAVING COUNT(sr) > 0 " +
-            "ORDER BY COUNT(sr) DESC")
-    Page<SongEntity> findTopReviewedSongs(Pageable pageable);
-
-    @Query("SELECT s " +
+    @EntityGraph("SongEntity.withAlbumAndArtist")
+    @Query(value = "SELECT s " +
             "FROM SongEntity s " +
-            "LEFT JOIN SongReviewEntity sr ON sr.song.songId = s.songId AND sr.active = true " +
-            "LEFT JOIN ReactionEntity r ON sr.reviewId = r.review.reviewId " +
-            "WHERE r.reactionType = :reactionType " +
-            "GROUP BY s " +
-            "HAVING COUNT(r.id) > 0 " +
-            "ORDER BY COUNT(r.id) DESC")
-    Page<SongEntity> findMostReactedSongs(@Param("reactionType") ReactionType reactionType, Pageable pageable);
+            "JOIN LeaderboardEntryEntity l ON l.id.subjectId = s.songId " +
+            "WHERE l.id.subjectType = :subjectType AND l.id.metric = :metric AND l.score > 0 " +
+            "ORDER BY l.score DESC, l.id.subjectId DESC",
+            countQuery = "SELECT COUNT(l) FROM LeaderboardEntryEntity l " +
+                    "WHERE l.id.subjectType = :subjectType AND l.id.metric = :metric AND l.score > 0")
+    Page<SongEntity> findLeaderboard(@Param("subjectType") LeaderboardSubject subjectType,
+                                     @Param("metric") LeaderboardMetric metric,
+                                     Pageable pageable);
+
+    @EntityGraph("SongEntity.withAlbumAndArtist")
+    List<SongEntity> findBySongIdIn(Collection<Long> songIds);
+
+    @Query("SELECT al.artist.artistId FROM SongEntity s JOIN s.album al WHERE s.songId = :songId")
+    Optional<Long> findArtistIdBySongId(@Param("songId") Long songId);
+
+    @Query("SELECT s.album.albumId FROM SongEntity s WHERE s.songId = :songId")
+    Optional<Long> findAlbumIdBySongId(@Param("songId") Long songId);
 
 
 }
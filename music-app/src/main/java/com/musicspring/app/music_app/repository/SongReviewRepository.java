@@ -1,37 +1,103 @@
 package com.musicspring.app.music_app.repository;
 
+import com.musicspring.app.music_app.model.dto.response.SongReviewCardResponse;
 import com.musicspring.app.music_app.model.entity.CommentEntity;
 import com.musicspring.app.music_app.model.entity.SongReviewEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SongReviewRepository extends JpaRepository<SongReviewEntity,Long> {
 
+    String SELECT_CARD = "SELECT new com.musicspring.app.music_app.model.dto.response.SongReviewCardResponse(" +
+            "sr.reviewId, sr.rating, sr.description, sr.date, u.userId, u.username, c.profilePictureUrl, " +
+            "s.songId, s.spotifyId, s.name, s.imageUrl, al.title, ar.name, " +
+            "sr.totalLikes, sr.totalDislikes, sr.totalLoves, sr.totalWows, sr.totalComments) " +
+            "FROM SongReviewEntity sr JOIN sr.user u LEFT JOIN u.credential c " +
+            "JOIN sr.song s LEFT JOIN s.album al LEFT JOIN al.artist ar ";
+
+    @EntityGraph("SongReviewEntity.detail")
     @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.active = true")
     Page<SongReviewEntity> findAll(Pageable pageable);
 
+    @EntityGraph("SongReviewEntity.detail")
+    @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.active = true")
+    Slice<SongReviewEntity> findActiveSlice(Pageable pageable);
+
+    @Query(value = SELECT_CARD + "WHERE sr.active = true",
+            countQuery = "SELECT COUNT(sr) FROM SongReviewEntity sr WHERE sr.active = true")
+    Page<SongReviewCardResponse> findCards(Pageable pageable);
+
+    @Query(value = SELECT_CARD + "WHERE s.songId = :songId AND sr.active = true",
+            countQuery = "SELECT COUNT(sr) FROM SongReviewEntity sr WHERE sr.song.songId = :songId AND sr.active = true")
+    Page<SongReviewCardResponse> findCardsBySongId(@Param("songId") Long songId, Pageable pageable);
+
+    @Query(value = SELECT_CARD + "WHERE s.spotifyId = :spotifyId AND sr.active = true",
+            countQuery = "SELECT COUNT(sr) FROM SongReviewEntity sr WHERE sr.song.spotifyId = :spotifyId AND sr.active = true")
+    Page<SongReviewCardResponse> findCardsBySongSpotifyId(@Param("spotifyId") String spotifyId, Pageable pageable);
+
+    long countByActiveTrue();
+
     @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.reviewId = :reviewId AND sr.active = true")
     Optional<SongReviewEntity> findById(@Param("reviewId") Long reviewId);
 
+    @EntityGraph("SongReviewEntity.detail")
+    @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.reviewId = :reviewId AND sr.active = true")
+    Optional<SongReviewEntity> findDetailedById(@Param("reviewId") Long reviewId);
+
+    @EntityGraph("SongReviewEntity.detail")
     @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.song.songId = :songId AND sr.active = true")
     Page<SongReviewEntity> findBySong_Id(@Param("songId") Long songId, Pageable pageable);
 
+    @EntityGraph("SongReviewEntity.detail")
+    @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.active = true ORDER BY sr.date DESC, sr.reviewId DESC")
+    List<SongReviewEntity> findFeed(Pageable limit);
+
+    @EntityGraph("SongReviewEntity.detail")
+    @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.active = true " +
+            "AND (sr.date, sr.reviewId) < (:date, :reviewId) " +
+            "ORDER BY sr.date DESC, sr.reviewId DESC")
+    List<SongReviewEntity> findFeedAfter(@Param("date") LocalDateTime date,
+                                         @Param("reviewId") Long reviewId,
+                                         Pageable limit);
+
+    @EntityGraph("SongReviewEntity.detail")
+    @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.song.songId = :songId AND sr.active = true " +
+            "ORDER BY sr.date DESC, sr.reviewId DESC")
+    List<SongReviewEntity> findFeedBySongId(@Param("songId") Long songId, Pageable limit);
+
+    @EntityGraph("SongReviewEntity.detail")
+    @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.song.songId = :songId AND sr.active = true " +
+            "AND (sr.date, sr.reviewId) < (:date, :reviewId) " +
+            "ORDER BY sr.date DESC, sr.reviewId DESC")
+    List<SongReviewEntity> findFeedBySongIdAfter(@Param("songId") Long songId,
+                                                 @Param("date") LocalDateTime date,
+                                                 @Param("reviewId") Long reviewId,
+                                                 Pageable limit);
+
+    @EntityGraph("SongReviewEntity.detail")
     @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.user.userId = :userId AND sr.active = true")
     Page<SongReviewEntity> findByUser_UserId(@Param("userId") Long userId, Pageable pageable);
 
+    @EntityGraph("SongReviewEntity.detail")
     @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.user.userId = :userId AND sr.active = false")
     Page<SongReviewEntity> findByUser_UserIdAndActiveFalse(@Param("userId") Long userId, Pageable pageable);
 
+    @EntityGraph("SongReviewEntity.detail")
     Page<SongReviewEntity> findByUser_UserIdAndActiveTrue(Long userId, Pageable pageable);
 
+    @EntityGraph("SongReviewEntity.detail")
     @Query("SELECT sr FROM SongReviewEntity sr WHERE sr.song.spotifyId = :spotifyId AND sr.active = true")
     Page<SongReviewEntity> findBySong_SpotifyId(@Param("spotifyId") String spotifyId, Pageable pageable);
 
@@ -0,0 +1,97 @@
+package com.musicspring.app.music_app.repository;
+
+import com.musicspring.app.music_app.model.entity.UserDailyActivityEntity;
+import com.musicspring.app.music_app.model.entity.UserDailyActivityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserDailyActivityRepository extends JpaRepository<UserDailyActivityEntity, UserDailyActivityId> {
+
+    interface ActivityTotals {
+        Long getReviews();
+
+        Long getComments();
+
+        Long getReactions();
+    }
+
+    /**
+     * Counts per user and creation day, rebuilt from the same rows the adjust updates track.
+     */
+    String INSERT_DAYS = """
+    INSERT INTO user_daily_activity (user_id, activity_date, reviews, comments, reactions)
+    SELECT a.user_id, a.activity_date, SUM(a.reviews), SUM(a.comments), SUM(a.reactions)
+    FROM (
+        SELECT r.user_id, CAST(r.date AS date) AS activity_date, 1 AS reviews, 0 AS comments, 0 AS reactions
+        FROM reviews r WHERE r.active = true
+        UNION ALL
+        SELECT c.user_id, CAST(c.created_at AS date), 0, 1, 0
+        FROM comments c WHERE c.active = true
+        UNION ALL
+        SELECT x.user_id, CAST(x.created_at AS date), 0, 0, 1
+        FROM reactions x
+    ) a
+    """;
+
+    // A concurrent adjust may have re-created a deleted row; the recount replaces it.
+    String GROUP_DAYS = """
+     GROUP BY a.user_id, a.activity_date
+    ON CONFLICT (user_id, activity_date) DO UPDATE SET
+        reviews = EXCLUDED.reviews,
+        comments = EXCLUDED.comments,
+        reactions = EXCLUDED.reactions
+    """;
+
+    @Modifying
+    @Query(value = """
+    INSERT INTO user_daily_activity (user_id, activity_date, reviews, comments, reactions)
+    VALUES (:userId, :day, :reviewsDelta, :commentsDelta, :reactionsDelta)
+    ON CONFLICT (user_id, activity_date) DO UPDATE SET
+        reviews = user_daily_activity.reviews + EXCLUDED.reviews,
+        comments = user_daily_activity.comments + EXCLUDED.comments,
+        reactions = user_daily_activity.reactions + EXCLUDED.reactions
+    """, nativeQuery = true)
+    void adjust(@Param("userId") Long userId,
+                @Param("day") LocalDate day,
+                @Param("reviewsDelta") int reviewsDelta,
+                @Param("commentsDelta") int commentsDelta,
+                @Param("reactionsDelta") int reactionsDelta);
+
+    @Query("SELECT COALESCE(SUM(d.reviews), 0) AS reviews, COALESCE(SUM(d.comments), 0) AS comments, " +
+            "COALESCE(SUM(d.reactions), 0) AS reactions FROM UserDailyActivityEntity d " +
+            "WHERE d.id.userId = :userId AND d.id.activityDate BETWEEN :from AND :to")
+    ActivityTotals sumBetween(@Param("userId") Long userId,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to);
+
+    @Query("SELECT d FROM UserDailyActivityEntity d " +
+            "WHERE d.id.userId = :userId AND d.id.activityDate BETWEEN :from AND :to " +
+            "ORDER BY d.id.activityDate")
+    List<UserDailyActivityEntity> findDays(@Param("userId") Long userId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM user_daily_activity WHERE user_id IN (:userIds)", nativeQuery = true)
+    void deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = INSERT_DAYS + " WHERE a.user_id IN (:userIds)" + GROUP_DAYS, nativeQuery = true)
+    void recountUsers(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM user_daily_activity", nativeQuery = true)
+    void deleteAllDays();
+
+    @Modifying
+    @Query(value = INSERT_DAYS + GROUP_DAYS, nativeQuery = true)
+    int recountAll();
+}
@@ -53,6 +53,9 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     @Query("SELECT u FROM UserEntity u WHERE u.userId = :userId AND u.active = true")
     Optional<UserEntity> findByIdAndActiveTrue(@Param("userId") Long userId);
 
+    @Query("SELECT COUNT(u) > 0 FROM UserEntity u WHERE u.userId = :userId AND u.active = true")
+    boolean existsActiveById(@Param("userId") Long userId);
+
     Long countByActiveTrue();
 
     Long countByIsBannedTrue();
@@ -0,0 +1,159 @@
+package com.musicspring.app.music_app.repository;
+
+import com.musicspring.app.music_app.model.entity.UserStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStatsEntity, Long> {
+
+    /**
+     * Computes every profile figure for each selected user in one statement: each table is read
+     * once per user through its user index, with conditional aggregation splitting the counts.
+     */
+    String UPSERT_SNAPSHOTS = """
+    INSERT INTO user_stats (user_id, album_reviews, song_reviews, rating_sum, album_comments, song_comments,
+        likes_given, loves_given, wows_given, dislikes_given,
+        likes_received, loves_received, wows_received, dislikes_received)
+    SELECT u.user_id, rv.album_reviews, rv.song_reviews, rv.rating_sum, cm.album_comments, cm.song_comments,
+        rg.likes, rg.loves, rg.wows, rg.dislikes,
+        rr.likes, rr.loves, rr.wows, rr.dislikes
+    FROM users u
+    CROSS JOIN LATERAL (
+        SELECT COUNT(ar.review_id) AS album_reviews,
+               COUNT(sr.review_id) AS song_reviews,
+               COALESCE(SUM(r.rating), 0) AS rating_sum
+        FROM reviews r
+        LEFT JOIN album_reviews ar ON ar.review_id = r.review_id
+        LEFT JOIN song_reviews sr ON sr.review_id = r.review_id
+        WHERE r.user_id = u.user_id AND r.active = true
+    ) rv
+    CROSS JOIN LATERAL (
+        SELECT COUNT(*) FILTER (WHERE c.comment_type = 'ALBUM_REVIEW') AS album_comments,
+               COUNT(*) FILTER (WHERE c.comment_type = 'SONG_REVIEW') AS song_comments
+        FROM comments c
+        WHERE c.user_id = u.user_id AND c.active = true
+    ) cm
+    CROSS JOIN LATERAL (
+        SELECT COUNT(*) FILTER (WHERE x.reaction_type = 'LIKE') AS likes,
+               COUNT(*) FILTER (WHERE x.reaction_type = 'LOVE') AS loves,
+               COUNT(*) FILTER (WHERE x.reaction_type = 'WOW') AS wows,
+               COUNT(*) FILTER (WHERE x.reaction_type = 'DISLIKE') AS dislikes
+        FROM reactions x
+        WHERE x.user_id = u.user_id
+    ) rg
+    CROSS JOIN LATERAL (
+        SELECT COUNT(*) FILTER (WHERE received.reaction_type = 'LIKE') AS likes,
+               COUNT(*) FILTER (WHERE received.reaction_type = 'LOVE') AS loves,
+               COUNT(*) FILTER (WHERE received.reaction_type = 'WOW') AS wows,
+               COUNT(*) FILTER (WHERE received.reaction_type = 'DISLIKE') AS dislikes
+        FROM (
+            SELECT x.reaction_type FROM reactions x
+            JOIN reviews r ON r.review_id = x.review_id
+            WHERE r.user_id = u.user_id
+            UNION ALL
+            SELECT x.reaction_type FROM reactions x
+            JOIN comments c ON c.comment_id = x.comment_id
+            WHERE c.user_id = u.user_id
+        ) received
+    ) rr
+    """;
+
+    String REPLACE_SNAPSHOT = """
+    ON CONFLICT (user_id) DO UPDATE SET
+        album_reviews = EXCLUDED.album_reviews, song_reviews = EXCLUDED.song_reviews, rating_sum = EXCLUDED.rating_sum,
+        album_comments = EXCLUDED.album_comments, song_comments = EXCLUDED.song_comments,
+        likes_given = EXCLUDED.likes_given, loves_given = EXCLUDED.loves_given,
+        wows_given = EXCLUDED.wows_given, dislikes_given = EXCLUDED.dislikes_given,
+        likes_received = EXCLUDED.likes_received, loves_received = EXCLUDED.loves_received,
+        wows_received = EXCLUDED.wows_received, dislikes_received = EXCLUDED.dislikes_received
+    """;
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_SNAPSHOTS + " WHERE u.user_id IN (:userIds) " + REPLACE_SNAPSHOT, nativeQuery = true)
+    void refreshSnapshots(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_SNAPSHOTS + REPLACE_SNAPSHOT, nativeQuery = true)
+    int refreshAllSnapshots();
+
+    @Modifying
+    @Query(value = """
+    UPDATE user_stats SET
+        album_reviews = album_reviews + :albumDelta,
+        song_reviews = song_reviews + :songDelta,
+        rating_sum = rating_sum + :ratingDelta
+    WHERE user_id = :userId
+    """, nativeQuery = true)
+    void adjustReviews(@Param("userId") Long userId,
+                       @Param("albumDelta") long albumDelta,
+                       @Param("songDelta") long songDelta,
+                       @Param("ratingDelta") double ratingDelta);
+
+    @Modifying
+    @Query(value = """
+    UPDATE user_stats SET
+        album_comments = album_comments + :albumDelta,
+        song_comments = song_comments + :songDelta
+    WHERE user_id = :userId
+    """, nativeQuery = true)
+    void adjustComments(@Param("userId") Long userId,
+                        @Param("albumDelta") long albumDelta,
+                        @Param("songDelta") long songDelta);
+
+    @Modifying
+    @Query(value = """
+    UPDATE user_stats SET
+        likes_given = likes_given + CASE WHEN :reactionType = 'LIKE' THEN :delta ELSE 0 END,
+        loves_given = loves_given + CASE WHEN :reactionType = 'LOVE' THEN :delta ELSE 0 END,
+        wows_given = wows_given + CASE WHEN :reactionType = 'WOW' THEN :delta ELSE 0 END,
+        dislikes_given = dislikes_given + CASE WHEN :reactionType = 'DISLIKE' THEN :delta ELSE 0 END
+    WHERE user_id = :userId
+    """, nativeQuery = true)
+    void adjustReactionsGiven(@Param("userId") Long userId,
+                              @Param("reactionType") String reactionType,
+                              @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = """
+    UPDATE user_stats SET
+        likes_received = likes_received + CASE WHEN :reactionType = 'LIKE' THEN :delta ELSE 0 END,
+        loves_received = loves_received + CASE WHEN :reactionType = 'LOVE' THEN :delta ELSE 0 END,
+        wows_received = wows_received + CASE WHEN :reactionType = 'WOW' THEN :delta ELSE 0 END,
+        dislikes_received = dislikes_received + CASE WHEN :reactionType = 'DISLIKE' THEN :delta ELSE 0 END
+    WHERE user_id = :userId
+    """, nativeQuery = true)
+    void adjustReactionsReceived(@Param("userId") Long userId,
+                                 @Param("reactionType") String reactionType,
+                                 @Param("delta") long delta);
+
+    // Review author, commenters and everyone who reacted to the review or to one of its comments.
+    @Query(value = """
+    SELECT r.user_id FROM reviews r WHERE r.review_id = :reviewId
+    UNION
+    SELECT c.user_id FROM comments c WHERE c.review_id = :reviewId
+    UNION
+    SELECT x.user_id FROM reactions x WHERE x.review_id = :reviewId
+    UNION
+    SELECT x.user_id FROM reactions x JOIN comments c ON c.comment_id = x.comment_id WHERE c.review_id = :reviewId
+    """, nativeQuery = true)
+    List<Long> findUserIdsTouchedByReview(@Param("reviewId") Long reviewId);
+
+    // The user, commenters on their reviews and the authors of everything they reacted to.
+    @Query(value = """
+    SELECT u.user_id FROM users u WHERE u.user_id = :userId
+    UNION
+    SELECT c.user_id FROM comments c JOIN reviews r ON r.review_id = c.review_id WHERE r.user_id = :userId
+    UNION
+    SELECT r.user_id FROM reactions x JOIN reviews r ON r.review_id = x.review_id WHERE x.user_id = :userId
+    UNION
+    SELECT c.user_id FROM reactions x JOIN comments c ON c.comment_id = x.comment_id WHERE x.user_id = :userId
+    """, nativeQuery = true)
+    List<Long> findUserIdsTouchedByAccount(@Param("userId") Long userId);
+}
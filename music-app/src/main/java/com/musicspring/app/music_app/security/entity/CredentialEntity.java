@@ -4,6 +4,7 @@ import com.musicspring.app.music_app.security.enums.AuthProvider;
 import com.musicspring.app.music_app.model.entity.UserEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,6 +20,7 @@ import java.util.Set;
 @AllArgsConstructor
 
 @Entity
+@NamedEntityGraph(name = "CredentialEntity.withRoles", attributeNodes = @NamedAttributeNode("roles"))
 public class CredentialEntity implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -43,7 +45,8 @@ public class CredentialEntity implements UserDetails {
     private UserEntity user;
 
 
-    @ManyToMany(cascade = CascadeType.MERGE, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = CascadeType.MERGE, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "credentials_roles",
             joinColumns = @JoinColumn(name = "credential_id"),
@@ -13,6 +13,7 @@ import com.musicspring.app.music_app.security.repository.RoleRepository;
 import com.musicspring.app.music_app.model.entity.UserEntity;
 import com.musicspring.app.music_app.repository.UserRepository;
 import com.musicspring.app.music_app.security.service.JwtService;
+import com.musicspring.app.music_app.service.DashboardCounterService;
 import com.musicspring.app.music_app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
@@ -50,6 +51,7 @@ public class CustomOAuth2UserService extends OidcUserService {
     private final RoleRepository roleRepository;
     private final JwtService jwtService;
     private final UserService userService;
+    private final DashboardCounterService dashboardCounterService;
 
     /**
      * Constructor for dependency injection.
@@ -63,12 +65,14 @@ public class CustomOAuth2UserService extends OidcUserService {
                                    UserRepository userRepository,
                                    RoleRepository roleRepository,
                                    JwtService jwtService,
-                                   UserService userService) {
+                                   UserService userService,
+                                   DashboardCounterService dashboardCounterService) {
         this.credentialRepository = credentialRepository;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.jwtService = jwtService;
         this.userService = userService;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
     /**
@@ -178,6 +182,7 @@ public class CustomOAuth2UserService extends OidcUserService {
                 .isBanned(false)
                 .build();
         user = userRepository.save(user);
+        dashboardCounterService.userCreated(user);
 
         RoleEntity incompleteRole = roleRepository.findByRole(Role.ROLE_INCOMPLETE_PROFILE)
                 .orElseThrow(() -> new RuntimeException("Default role ROLE_INCOMPLETE_PROFILE not found in database."));
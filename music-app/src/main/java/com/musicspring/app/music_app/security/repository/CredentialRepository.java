@@ -1,6 +1,7 @@
 package com.musicspring.app.music_app.security.repository;
 
 import com.musicspring.app.music_app.security.entity.CredentialEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,13 +12,17 @@ import java.util.Optional;
 @Repository
 public interface CredentialRepository extends JpaRepository<CredentialEntity, Long> {
 
+    @EntityGraph("CredentialEntity.withRoles")
     Optional<CredentialEntity> findByEmail(String email);
 
+    @EntityGraph("CredentialEntity.withRoles")
     Optional<CredentialEntity> findByEmailIgnoreCase(String email);
 
+    @EntityGraph("CredentialEntity.withRoles")
     @Query("SELECT c FROM CredentialEntity c JOIN c.user u WHERE u.username = :username")
     Optional<CredentialEntity> findByUsername(String username);
 
+    @EntityGraph("CredentialEntity.withRoles")
     @Query("SELECT c FROM CredentialEntity c JOIN c.user u WHERE LOWER(c.email) = LOWER(:identifier) OR LOWER(u.username) = LOWER(:identifier)")
     Optional<CredentialEntity> findByEmailOrUsername(@Param("identifier") String identifier);
 }
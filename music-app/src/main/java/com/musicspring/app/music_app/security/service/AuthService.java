@@ -19,6 +19,7 @@ import com.musicspring.app.music_app.security.mapper.AuthMapper;
 import com.musicspring.app.music_app.security.repository.CredentialRepository;
 import com.musicspring.app.music_app.security.repository.EmailVerificatorTokenRepository;
 import com.musicspring.app.music_app.security.repository.RoleRepository;
+import com.musicspring.app.music_app.service.DashboardCounterService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -49,6 +50,7 @@ public class AuthService {
     private final AuthMapper authMapper;
     private final EmailVerificatorService emailVerificatorService;
     private final EmailVerificatorTokenRepository emailVerificatorTokenRepository;
+    private final DashboardCounterService dashboardCounterService;
 
     @Autowired
     public AuthService(CredentialRepository credentialsRepository,
@@ -61,7 +63,8 @@ public class AuthService {
                        RoleRepository roleRepository,
                        AuthMapper authMapper,
                        EmailVerificatorService emailVerificatorService,
-                       EmailVerificatorTokenRepository emailVerificatorTokenRepository) {
+                       EmailVerificatorTokenRepository emailVerificatorTokenRepository,
+                       DashboardCounterService dashboardCounterService) {
         this.credentialsRepository = credentialsRepository;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
@@ -73,6 +76,7 @@ public class AuthService {
         this.authMapper = authMapper;
         this.emailVerificatorService = emailVerificatorService;
         this.emailVerificatorTokenRepository = emailVerificatorTokenRepository;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
     @Transactional
@@ -177,6 +181,7 @@ public class AuthService {
         UserEntity user = userMapper.toUserEntity(signupRequest);
         user.setActive(false);
         user = userRepository.save(user);
+        dashboardCounterService.userCreated(user);
 
         CredentialEntity credential = credentialMapper.toCredentialEntity(signupRequest, user);
         credential.setEmail(normalizedEmail);
@@ -218,6 +223,17 @@ public class AuthService {
         throw new AccessDeniedException("Unable to extract user ID from authentication");
     }
 
+    public static Optional<Long> findAuthenticatedUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken) && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof CredentialEntity credential && credential.getUser() != null) {
+            return Optional.of(credential.getUser().getUserId());
+        }
+
+        return Optional.empty();
+    }
+
     public static void validateUserOwnership(Long authenticatedUserId, Long requestedUserId) {
         if (!authenticatedUserId.equals(requestedUserId)) {
             throw new AccessDeniedException("You cannot perform this action for another user.");
@@ -0,0 +1,241 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.ActiveUsersResponse;
+import com.musicspring.app.music_app.model.dto.response.UniqueReviewersResponse;
+import com.musicspring.app.music_app.model.entity.ActivitySketchEntity;
+import com.musicspring.app.music_app.model.entity.ActivitySketchId;
+import com.musicspring.app.music_app.model.entity.AlbumReviewEntity;
+import com.musicspring.app.music_app.model.entity.CommentEntity;
+import com.musicspring.app.music_app.model.entity.ReactionEntity;
+import com.musicspring.app.music_app.model.entity.ReviewEntity;
+import com.musicspring.app.music_app.model.entity.SongReviewEntity;
+import com.musicspring.app.music_app.model.enums.SketchType;
+import com.musicspring.app.music_app.repository.ActivitySketchRepository;
+import com.musicspring.app.music_app.repository.AlbumRepository;
+import com.musicspring.app.music_app.repository.SongRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Distinct-user analytics kept as HyperLogLog sketches instead of {@code COUNT(DISTINCT user_id)}
+ * over the review, comment and reaction tables: one sketch of active users per day and one sketch
+ * of reviewers per album and per artist. Writes go into in-memory sketches once their transaction
+ * commits; every {@code app.analytics.flush-interval} those are merged into the stored rows under
+ * a row lock, so any number of instances can feed the same sketches. Reads merge the stored rows
+ * with what has not been flushed yet, including sketches a running flush has not committed; a
+ * sketch counted twice does no harm, since merging is idempotent. Day sketches older than
+ * {@code app.analytics.retention-days} are dropped.
+ */
+@Service
+public class ActivitySketchService {
+
+    private static final Comparator<ActivitySketchId> FLUSH_ORDER =
+            Comparator.comparing(ActivitySketchId::getSketchType).thenComparing(ActivitySketchId::getSketchKey);
+
+    private final ActivitySketchRepository activitySketchRepository;
+    private final SongRepository songRepository;
+    private final AlbumRepository albumRepository;
+    private final int retentionDays;
+
+    // Writers hold the read side while updating a pending sketch; flush swaps the maps under the write side.
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile ConcurrentHashMap<ActivitySketchId, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private volatile Map<ActivitySketchId, HyperLogLog> flushing = Map.of();
+
+    public ActivitySketchService(ActivitySketchRepository activitySketchRepository,
+                                 SongRepository songRepository,
+                                 AlbumRepository albumRepository,
+                                 @Value("${app.analytics.retention-days:400}") int retentionDays) {
+        this.activitySketchRepository = activitySketchRepository;
+        this.songRepository = songRepository;
+        this.albumRepository = albumRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    public void reviewCreated(ReviewEntity review) {
+        Long userId = review.getUser().getUserId();
+        Long albumId = null;
+        Long artistId = null;
+        if (review instanceof SongReviewEntity songReview) {
+            Long songId = songReview.getSong().getSongId();
+            albumId = songRepository.findAlbumIdBySongId(songId).orElse(null);
+            artistId = songRepository.findArtistIdBySongId(songId).orElse(null);
+        } else if (review instanceof AlbumReviewEntity albumReview) {
+            albumId = albumReview.getAlbum().getAlbumId();
+            artistId = albumRepository.findArtistIdByAlbumId(albumId).orElse(null);
+        }
+        Long reviewedAlbumId = albumId;
+        Long reviewedArtistId = artistId;
+        AfterCommit.run(() -> {
+            addToday(userId);
+            if (reviewedAlbumId != null) {
+                add(new ActivitySketchId(SketchType.ALBUM_REVIEWERS, reviewedAlbumId), userId);
+            }
+            if (reviewedArtistId != null) {
+                add(new ActivitySketchId(SketchType.ARTIST_REVIEWERS, reviewedArtistId), userId);
+            }
+        });
+    }
+
+    public void commentCreated(CommentEntity comment) {
+        Long userId = comment.getUser().getUserId();
+        AfterCommit.run(() -> addToday(userId));
+    }
+
+    public void reactionWritten(ReactionEntity reaction) {
+        Long userId = reaction.getUser().getUserId();
+        AfterCommit.run(() -> addToday(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public ActiveUsersResponse getActiveUsers(LocalDate date) {
+        return ActiveUsersResponse.builder()
+                .date(date)
+                .dailyActiveUsers(distinctUsers(date, 1))
+                .weeklyActiveUsers(distinctUsers(date, 7))
+                .monthlyActiveUsers(distinctUsers(date, 30))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public UniqueReviewersResponse getAlbumReviewers(Long albumId) {
+        return uniqueReviewers(new ActivitySketchId(SketchType.ALBUM_REVIEWERS, albumId));
+    }
+
+    @Transactional(readOnly = true)
+    public UniqueReviewersResponse getArtistReviewers(Long artistId) {
+        return uniqueReviewers(new ActivitySketchId(SketchType.ARTIST_REVIEWERS, artistId));
+    }
+
+    /**
+     * Merges the in-memory sketches into their rows. If the transaction does not commit they are
+     * put back, so nothing recorded is lost.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval:PT1M}")
+    @Transactional
+    public void flush() {
+        Map<ActivitySketchId, HyperLogLog> batch;
+        swapLock.writeLock().lock();
+        try {
+            batch = pending;
+            if (batch.isEmpty()) {
+                return;
+            }
+            flushing = batch;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    batch.forEach((id, sketch) -> add(id, sketch));
+                }
+                flushing = Map.of();
+            }
+        });
+
+        // A fixed lock order keeps two instances flushing the same rows from deadlocking.
+        batch.entrySet().stream().sorted(Map.Entry.comparingByKey(FLUSH_ORDER)).forEach(entry -> {
+            ActivitySketchId id = entry.getKey();
+            byte[] registers = entry.getValue().toBytes();
+            if (activitySketchRepository.insertIfAbsent(id.getSketchType().name(), id.getSketchKey(), registers) == 0) {
+                ActivitySketchEntity stored = activitySketchRepository.findForUpdate(id).orElseThrow();
+                HyperLogLog merged = new HyperLogLog(stored.getRegisters());
+                merged.merge(registers);
+                stored.setRegisters(merged.toBytes());
+            }
+        });
+    }
+
+    @Scheduled(cron = "0 15 4 * * ?")
+    @Transactional
+    public void dropExpiredDays() {
+        long oldestKept = LocalDate.now().minusDays(retentionDays).toEpochDay();
+        activitySketchRepository.deleteOlderThan(SketchType.ACTIVE_USERS_DAY, oldestKept);
+    }
+
+    private void addToday(Long userId) {
+        add(new ActivitySketchId(SketchType.ACTIVE_USERS_DAY, LocalDate.now().toEpochDay()), userId);
+    }
+
+    private void add(ActivitySketchId id, Long userId) {
+        swapLock.readLock().lock();
+        try {
+            pendingSketch(id).add(userId);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void add(ActivitySketchId id, HyperLogLog sketch) {
+        swapLock.readLock().lock();
+        try {
+            pendingSketch(id).merge(sketch);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private HyperLogLog pendingSketch(ActivitySketchId id) {
+        return pending.computeIfAbsent(id, key -> new HyperLogLog(key.getSketchType().getPrecision()));
+    }
+
+    /**
+     * The sketches not yet committed to the database: those still pending and those a flush is
+     * writing. Taken before the stored rows are read, so a flush committing in between is covered.
+     */
+    private List<Map<ActivitySketchId, HyperLogLog>> unflushed() {
+        swapLock.readLock().lock();
+        try {
+            return List.of(pending, flushing);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private long distinctUsers(LocalDate lastDay, int days) {
+        long fromKey = lastDay.minusDays(days - 1L).toEpochDay();
+        long toKey = lastDay.toEpochDay();
+        List<Map<ActivitySketchId, HyperLogLog>> unflushed = unflushed();
+        HyperLogLog union = new HyperLogLog(SketchType.ACTIVE_USERS_DAY.getPrecision());
+        activitySketchRepository.findRange(SketchType.ACTIVE_USERS_DAY, fromKey, toKey)
+                .forEach(row -> union.merge(row.getRegisters()));
+        unflushed.forEach(sketches -> sketches.forEach((id, sketch) -> {
+            if (id.getSketchType() == SketchType.ACTIVE_USERS_DAY
+                    && id.getSketchKey() >= fromKey && id.getSketchKey() <= toKey) {
+                union.merge(sketch);
+            }
+        }));
+        return union.estimate();
+    }
+
+    private UniqueReviewersResponse uniqueReviewers(ActivitySketchId id) {
+        List<Map<ActivitySketchId, HyperLogLog>> unflushed = unflushed();
+        HyperLogLog union = new HyperLogLog(id.getSketchType().getPrecision());
+        activitySketchRepository.findById(id).ifPresent(row -> union.merge(row.getRegisters()));
+        for (Map<ActivitySketchId, HyperLogLog> sketches : unflushed) {
+            HyperLogLog sketch = sketches.get(id);
+            if (sketch != null) {
+                union.merge(sketch);
+            }
+        }
+        return UniqueReviewersResponse.builder()
+                .id(id.getSketchKey())
+                .uniqueReviewers(union.estimate())
+                .build();
+    }
+}
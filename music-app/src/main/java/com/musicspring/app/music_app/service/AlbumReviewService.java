@@ -4,26 +4,23 @@ import com.musicspring.app.music_app.exception.DuplicateReviewException;
 import com.musicspring.app.music_app.model.dto.request.*;
 import com.musicspring.app.music_app.model.dto.response.*;
 import com.musicspring.app.music_app.model.entity.*;
-import com.musicspring.app.music_app.model.enums.ReactionType;
 import com.musicspring.app.music_app.model.mapper.AlbumMapper;
 import com.musicspring.app.music_app.model.mapper.AlbumReviewMapper;
 import com.musicspring.app.music_app.model.mapper.ArtistMapper;
-import com.musicspring.app.music_app.model.mapper.ReactionMapper;
+import com.musicspring.app.music_app.model.pagination.TotalMode;
 import com.musicspring.app.music_app.repository.*;
-import com.musicspring.app.music_app.security.entity.CredentialEntity;
 import com.musicspring.app.music_app.security.service.AuthService;
 import com.musicspring.app.music_app.spotify.service.SpotifyService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -38,8 +35,16 @@ public class AlbumReviewService {
     private final ArtistMapper artistMapper;
     private final ArtistRepository artistRepository;
     private final ReactionRepository reactionRepository;
-    private final ReactionMapper reactionMapper;
+    private final ReviewEnrichmentService reviewEnrichmentService;
     private final CommentRepository commentRepository;
+    private final EngagementCounterService engagementCounterService;
+    private final ApproximateCountService approximateCountService;
+    private final LeaderboardService leaderboardService;
+    private final UserStatsService userStatsService;
+    private final TrendingService trendingService;
+    private final DashboardCounterService dashboardCounterService;
+    private final RatingAggregateService ratingAggregateService;
+    private final ActivitySketchService activitySketchService;
 
 
     @Autowired
@@ -52,8 +57,16 @@ public class AlbumReviewService {
                               ArtistMapper artistMapper,
                               ArtistRepository artistRepository,
                               ReactionRepository reactionRepository,
-                              ReactionMapper reactionMapper,
-                              CommentRepository commentRepository) {
+                              ReviewEnrichmentService reviewEnrichmentService,
+                              CommentRepository commentRepository,
+                              EngagementCounterService engagementCounterService,
+                              ApproximateCountService approximateCountService,
+                              LeaderboardService leaderboardService,
+                              UserStatsService userStatsService,
+                              TrendingService trendingService,
+                              DashboardCounterService dashboardCounterService,
+                              RatingAggregateService ratingAggregateService,
+                              ActivitySketchService activitySketchService) {
         this.albumReviewRepository = albumReviewRepository;
         this.albumRepository = albumRepository;
         this.userRepository = userRepository;
@@ -63,19 +76,36 @@ public class AlbumReviewService {
         this.artistMapper = artistMapper;
         this.artistRepository = artistRepository;
         this.reactionRepository = reactionRepository;
-        this.reactionMapper = reactionMapper;
+        this.reviewEnrichmentService = reviewEnrichmentService;
         this.commentRepository = commentRepository;
+        this.engagementCounterService = engagementCounterService;
+        this.approximateCountService = approximateCountService;
+        this.leaderboardService = leaderboardService;
+        this.userStatsService = userStatsService;
+        this.trendingService = trendingService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.ratingAggregateService = ratingAggregateService;
+        this.activitySketchService = activitySketchService;
     }
 
     public Page<AlbumReviewResponse> findAll(Pageable pageable) {
-        return albumReviewRepository.findAll(pageable)
-                .map(this::enrichAlbumReviewResponse);
+        return reviewEnrichmentService.enrichAlbumReviews(albumReviewRepository.findAll(pageable));
+    }
+
+    public Slice<AlbumReviewResponse> findAll(Pageable pageable, TotalMode totalMode) {
+        return switch (totalMode) {
+            case EXACT -> findAll(pageable);
+            case APPROXIMATE -> approximateCountService.withApproximateTotal(
+                    reviewEnrichmentService.enrichAlbumReviews(albumReviewRepository.findActiveSlice(pageable)),
+                    approximateCountService.activeAlbumReviews());
+            case NONE -> reviewEnrichmentService.enrichAlbumReviews(albumReviewRepository.findActiveSlice(pageable));
+        };
     }
 
     public AlbumReviewResponse findById(Long id) {
-        AlbumReviewEntity review = albumReviewRepository.findById(id)
+        AlbumReviewEntity review = albumReviewRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Album review with ID: " + id + " not found."));
-        return enrichAlbumReviewResponse(review);
+        return reviewEnrichmentService.enrichAlbumReview(review);
     }
 
     @Transactional
@@ -85,12 +115,18 @@ public class AlbumReviewService {
 
         AuthService.validateRequestUserOwnership(albumReview.getUser().getUserId());
 
+        leaderboardService.reviewDeactivated(albumReview);
+        ratingAggregateService.reviewDeactivated(albumReview);
+        List<Long> touchedUsers = userStatsService.usersTouchedByReview(id);
+        dashboardCounterService.reactionsDeleted(reactionRepository.countGroupedByTypeForReview(id));
         reactionRepository.deleteReactionsOnReviewComments(id);
         reactionRepository.deleteByReviewId(id);
-        commentRepository.deactivateByReviewId(id);
+        dashboardCounterService.commentsDeactivated(commentRepository.deactivateByReviewId(id));
+        engagementCounterService.reviewDeactivated(id);
 
         albumReview.setActive(false);
         albumReviewRepository.save(albumReview);
+        userStatsService.refresh(touchedUsers);
     }
     @Transactional
     public AlbumReviewResponse reactivateById(Long id) {
@@ -105,10 +141,15 @@ public class AlbumReviewService {
 
         albumReview.setActive(true);
         albumReviewRepository.save(albumReview);
+        leaderboardService.reviewReactivated(albumReview);
+        ratingAggregateService.reviewReactivated(albumReview);
 
-        commentRepository.reactivateByReviewId(id);
+        dashboardCounterService.commentsActivated(commentRepository.reactivateByReviewId(id));
+        engagementCounterService.reviewReactivated(id);
+        userStatsService.refresh(userStatsService.usersTouchedByReview(id));
 
-        return enrichAlbumReviewResponse(albumReview);
+        return reviewEnrichmentService.enrichAlbumReview(albumReviewRepository.findDetailedById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Album review with ID: " + id + " not found.")));
     }
 
     @Transactional
@@ -137,8 +178,14 @@ public class AlbumReviewService {
 
         AlbumReviewEntity albumReviewEntity = albumReviewMapper.toEntity(albumReviewRequest, userEntity, albumEntity);
         AlbumReviewEntity savedEntity = albumReviewRepository.save(albumReviewEntity);
-
-        return enrichAlbumReviewResponse(savedEntity);
+        leaderboardService.reviewCreated(savedEntity);
+        userStatsService.reviewCreated(savedEntity);
+        trendingService.reviewCreated(savedEntity);
+        dashboardCounterService.reviewCreated(savedEntity);
+        ratingAggregateService.reviewCreated(savedEntity);
+        activitySketchService.reviewCreated(savedEntity);
+
+        return reviewEnrichmentService.enrichAlbumReview(savedEntity);
     }
 
     private void validateUserOwnership(Long authenticatedUserId, Long requestedUserId) {
@@ -186,65 +233,53 @@ public class AlbumReviewService {
 
         if (albumId != null) {
             albumRepository.findById(albumId).orElseThrow(() -> new EntityNotFoundException("Album with ID: " + albumId + " not found."));
-            return albumReviewRepository.findByAlbum_AlbumId(albumId, pageable)
-                    .map(this::enrichAlbumReviewResponse);
+            return reviewEnrichmentService.enrichAlbumReviews(albumReviewRepository.findByAlbum_AlbumId(albumId, pageable));
         } else {
             albumRepository.findBySpotifyId(spotifyId).orElseThrow(() -> new EntityNotFoundException("Album with spotifyId: " + spotifyId + " not found."));
-            return albumReviewRepository.findByAlbum_SpotifyId(spotifyId, pageable)
-                    .map(this::enrichAlbumReviewResponse);
+            return reviewEnrichmentService.enrichAlbumReviews(albumReviewRepository.findByAlbum_SpotifyId(spotifyId, pageable));
+        }
+    }
+
+    public Page<AlbumReviewCardResponse> findCards(Pageable pageable) {
+        return reviewEnrichmentService.enrichAlbumReviewCards(albumReviewRepository.findCards(pageable));
+    }
+
+    public Page<AlbumReviewCardResponse> findCardsByAlbum(Long albumId, String spotifyId, Pageable pageable) {
+        validateIdentifiers(albumId, spotifyId);
+
+        if (albumId != null) {
+            if (!albumRepository.existsById(albumId)) {
+                throw new EntityNotFoundException("Album with ID: " + albumId + " not found.");
+            }
+            return reviewEnrichmentService.enrichAlbumReviewCards(albumReviewRepository.findCardsByAlbumId(albumId, pageable));
+        } else {
+            if (!albumRepository.existsBySpotifyId(spotifyId)) {
+                throw new EntityNotFoundException("Album with spotifyId: " + spotifyId + " not found.");
+            }
+            return reviewEnrichmentService.enrichAlbumReviewCards(albumReviewRepository.findCardsByAlbumSpotifyId(spotifyId, pageable));
         }
     }
 
     public Page<AlbumReviewResponse> findByUserId(Long userId, Pageable pageable) {
         userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User with ID: " + userId + " not found."));
-        return albumReviewRepository.findByUser_UserIdAndActiveTrue(userId, pageable)
-                .map(this::enrichAlbumReviewResponse);
+        return reviewEnrichmentService.enrichAlbumReviews(albumReviewRepository.findByUser_UserIdAndActiveTrue(userId, pageable));
     }
 
+    @Transactional
     public AlbumReviewResponse updateAlbumReview(Long albumReviewId, ReviewUpdateRequest updateRequest) {
         AlbumReviewEntity albumReviewEntity = albumReviewRepository.findById(albumReviewId)
                         .orElseThrow(() -> new EntityNotFoundException("Album review with ID: " + albumReviewId + " not found."));
 
         AuthService.validateRequestUserOwnership(albumReviewEntity.getUser().getUserId());
 
+        Double previousRating = albumReviewEntity.getRating();
         albumReviewEntity.setRating(updateRequest.getRating());
         albumReviewEntity.setDescription(updateRequest.getDescription());
 
         AlbumReviewEntity updated = albumReviewRepository.save(albumReviewEntity);
+        userStatsService.reviewRatingChanged(updated, previousRating);
+        ratingAggregateService.reviewRatingChanged(updated, previousRating);
 
-        return enrichAlbumReviewResponse(updated);
-    }
-
-    private AlbumReviewResponse enrichAlbumReviewResponse(AlbumReviewEntity review) {
-        Long reviewId = review.getReviewId();
-
-        Long totalLikes = reactionRepository.countByReview_ReviewIdAndReactionType(reviewId, ReactionType.LIKE);
-        Long totalDislikes = reactionRepository.countByReview_ReviewIdAndReactionType(reviewId, ReactionType.DISLIKE);
-        Long totalLoves = reactionRepository.countByReview_ReviewIdAndReactionType(reviewId, ReactionType.LOVE);
-        Long totalWows = reactionRepository.countByReview_ReviewIdAndReactionType(reviewId, ReactionType.WOW);
-        Long totalComments = commentRepository.countByReviewEntity_ReviewIdAndActiveTrue(reviewId);
-
-        ReactionResponse userReactionDto = null;
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken) && authentication.isAuthenticated()) {
-            CredentialEntity credential = (CredentialEntity) authentication.getPrincipal();
-            UserEntity currentUser = credential.getUser();
-
-            Optional<ReactionEntity> userReactionOpt = reactionRepository.findByUserAndReview(currentUser, review);
-            if (userReactionOpt.isPresent()) {
-                userReactionDto = reactionMapper.toResponse(userReactionOpt.get());
-            }
-        }
-
-        return albumReviewMapper.toResponse(
-                review,
-                totalLikes,
-                totalDislikes,
-                totalLoves,
-                totalWows,
-                userReactionDto,
-                totalComments
-        );
+        return reviewEnrichmentService.enrichAlbumReview(updated);
     }
 }
\ No newline at end of file
@@ -17,33 +17,36 @@ public class AlbumService  {
 
     private final AlbumRepository albumRepository;
     private final AlbumMapper albumMapper;
+    private final RatingAggregateService ratingAggregateService;
 
     @Autowired
-    public AlbumService(AlbumRepository albumRepository, AlbumMapper albumMapper) {
+    public AlbumService(AlbumRepository albumRepository, AlbumMapper albumMapper,
+                        RatingAggregateService ratingAggregateService) {
         this.albumRepository = albumRepository;
         this.albumMapper = albumMapper;
+        this.ratingAggregateService = ratingAggregateService;
     }
 
 
     public Page<AlbumResponse> findAll(Pageable pageable) {
-        return albumMapper.toResponsePage(albumRepository.findAll(pageable));
+        return ratingAggregateService.withAlbumRatings(albumMapper.toResponsePage(albumRepository.findAll(pageable)));
     }
 
     public AlbumResponse findById(Long id) {
-        return albumMapper.toResponse(albumRepository.findById(id).orElseThrow(()
-                -> new EntityNotFoundException("Album with ID " + id + " not found.")));
+        return ratingAggregateService.withAlbumRating(albumMapper.toResponse(albumRepository.findById(id).orElseThrow(()
+                -> new EntityNotFoundException("Album with ID " + id + " not found."))));
     }
 
     public AlbumResponse findBySpotifyId(String spotifyId){
-        return albumMapper.toResponse(albumRepository.findBySpotifyId(spotifyId).orElseThrow(()
-                -> new EntityNotFoundException("Album with Spotify ID " + spotifyId + " not found.")));
+        return ratingAggregateService.withAlbumRating(albumMapper.toResponse(albumRepository.findBySpotifyId(spotifyId).orElseThrow(()
+                -> new EntityNotFoundException("Album with Spotify ID " + spotifyId + " not found."))));
     }
 
     public Page<AlbumResponse> searchAlbums(String query, Pageable pageable){
         List<AlbumEntity> albumEntityList =  albumRepository.findByTitleContainingIgnoreCase
                 (query, pageable);
         Page<AlbumEntity> albumEntityPage = albumMapper.toEntityPage(albumEntityList,pageable);
-        return albumMapper.toResponsePage(albumEntityPage);
+        return ratingAggregateService.withAlbumRatings(albumMapper.toResponsePage(albumEntityPage));
     }
 
 }
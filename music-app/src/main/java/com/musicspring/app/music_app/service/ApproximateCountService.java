@@ -0,0 +1,82 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.repository.AlbumReviewRepository;
+import com.musicspring.app.music_app.repository.ReactionRepository;
+import com.musicspring.app.music_app.repository.SongReviewRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Totals for listings whose exact count costs about as much as the page itself. Filtered tables
+ * use a count refreshed in the background; unfiltered tables read the planner's row estimate.
+ */
+@Service
+public class ApproximateCountService {
+
+    private static final String ACTIVE_SONG_REVIEWS = "activeSongReviews";
+    private static final String ACTIVE_ALBUM_REVIEWS = "activeAlbumReviews";
+    private static final String REACTIONS = "reactions";
+
+    private final SongReviewRepository songReviewRepository;
+    private final AlbumReviewRepository albumReviewRepository;
+    private final ReactionRepository reactionRepository;
+
+    private final Map<String, Long> cachedCounts = new ConcurrentHashMap<>();
+
+    public ApproximateCountService(SongReviewRepository songReviewRepository,
+                                   AlbumReviewRepository albumReviewRepository,
+                                   ReactionRepository reactionRepository) {
+        this.songReviewRepository = songReviewRepository;
+        this.albumReviewRepository = albumReviewRepository;
+        this.reactionRepository = reactionRepository;
+    }
+
+    public long activeSongReviews() {
+        return cachedCounts.computeIfAbsent(ACTIVE_SONG_REVIEWS, key -> songReviewRepository.countByActiveTrue());
+    }
+
+    public long activeAlbumReviews() {
+        return cachedCounts.computeIfAbsent(ACTIVE_ALBUM_REVIEWS, key -> albumReviewRepository.countByActiveTrue());
+    }
+
+    public long reactions() {
+        long estimate = reactionRepository.estimateRowCount();
+        if (estimate >= 0) {
+            return estimate;
+        }
+        // The table has not been analyzed yet, so the planner has no estimate.
+        return cachedCounts.computeIfAbsent(REACTIONS, key -> reactionRepository.count());
+    }
+
+    @Scheduled(fixedDelayString = "${app.counts.refresh-interval:PT5M}", initialDelayString = "${app.counts.refresh-interval:PT5M}")
+    public void refreshCounts() {
+        refresh(ACTIVE_SONG_REVIEWS, songReviewRepository::countByActiveTrue);
+        refresh(ACTIVE_ALBUM_REVIEWS, albumReviewRepository::countByActiveTrue);
+        if (cachedCounts.containsKey(REACTIONS)) {
+            refresh(REACTIONS, reactionRepository::count);
+        }
+    }
+
+    /**
+     * Wraps a slice as a page with an estimated total. The total is never allowed to contradict
+     * what the slice itself knows, so {@code hasNext} stays accurate.
+     */
+    public <T> Page<T> withApproximateTotal(Slice<T> slice, long estimate) {
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimate, seen + 1) : seen;
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    private void refresh(String key, Supplier<Long> counter) {
+        cachedCounts.put(key, counter.get());
+    }
+}
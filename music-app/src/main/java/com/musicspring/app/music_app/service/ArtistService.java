@@ -15,27 +15,31 @@ import org.springframework.stereotype.Service;
 public class ArtistService {
     private final ArtistRepository artistRepository;
     private final ArtistMapper artistMapper;
+    private final RatingAggregateService ratingAggregateService;
 
     @Autowired
     public ArtistService(ArtistRepository artistRepository,
-                         ArtistMapper artistMapper) {
+                         ArtistMapper artistMapper,
+                         RatingAggregateService ratingAggregateService) {
         this.artistRepository = artistRepository;
         this.artistMapper = artistMapper;
+        this.ratingAggregateService = ratingAggregateService;
     }
 
     public Page<ArtistResponse> findAll(Pageable pageable) {
-        return artistMapper.toResponsePage(artistRepository.findAll(pageable));
+        return ratingAggregateService.withArtistRatings(artistMapper.toResponsePage(artistRepository.findAll(pageable)));
     }
 
     public ArtistResponse getArtistResponseById(Long id) {
         return artistRepository.findById(id)
                 .map(artistMapper::toResponse)
+                .map(ratingAggregateService::withArtistRating)
                 .orElseThrow(() -> new EntityNotFoundException("Artist with id " + id + " not found"));
     }
 
     public Page<ArtistResponse> getAllArtists(Pageable pageable) {
-        return artistRepository.findAll(pageable)
-                .map(artistMapper::toResponse);
+        return ratingAggregateService.withArtistRatings(artistRepository.findAll(pageable)
+                .map(artistMapper::toResponse));
     }
 
     public Page<ArtistResponse> searchArtists(String query, Pageable pageable) {
@@ -46,7 +50,7 @@ public class ArtistService {
         Page<ArtistEntity> artistPage = artistRepository
                 .findByNameContainingIgnoreCase(query.trim(), pageable);
 
-        return artistPage.map(artistMapper::toResponse);
+        return ratingAggregateService.withArtistRatings(artistPage.map(artistMapper::toResponse));
     }
 
     public ArtistEntity findById(Long id) {
@@ -0,0 +1,52 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.config.HibernateCacheConfig;
+import com.musicspring.app.music_app.model.dto.response.CacheRegionStatsResponse;
+import com.musicspring.app.music_app.spotify.service.SpotifyService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    private final Statistics statistics;
+    private final SpotifyService spotifyService;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory,
+                                  SpotifyService spotifyService) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.spotifyService = spotifyService;
+    }
+
+    public List<CacheRegionStatsResponse> getCatalogCacheStatistics() {
+        List<CacheRegionStatsResponse> regions = new ArrayList<>(List.of(
+                toResponse(HibernateCacheConfig.SONG_REGION, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.SONG_REGION)),
+                toResponse(HibernateCacheConfig.ALBUM_REGION, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.ALBUM_REGION)),
+                toResponse(HibernateCacheConfig.ARTIST_REGION, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.ARTIST_REGION)),
+                toResponse(HibernateCacheConfig.SPOTIFY_LOOKUP_REGION, statistics.getQueryRegionStatistics(HibernateCacheConfig.SPOTIFY_LOOKUP_REGION))
+        ));
+        regions.addAll(spotifyService.getCacheStatistics());
+        return regions;
+    }
+
+    private static CacheRegionStatsResponse toResponse(String region, CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return new CacheRegionStatsResponse(region, 0L, 0L, 0L, 0.0, null, null);
+        }
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        return CacheRegionStatsResponse.builder()
+                .region(region)
+                .hitCount(hits)
+                .missCount(misses)
+                .putCount(regionStatistics.getPutCount())
+                .hitRatio(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+                .build();
+    }
+}
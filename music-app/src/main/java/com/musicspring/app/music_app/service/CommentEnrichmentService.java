@@ -0,0 +1,89 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.CommentResponse;
+import com.musicspring.app.music_app.model.dto.response.ReactionResponse;
+import com.musicspring.app.music_app.model.entity.CommentEntity;
+import com.musicspring.app.music_app.model.entity.ReactionEntity;
+import com.musicspring.app.music_app.model.mapper.CommentMapper;
+import com.musicspring.app.music_app.model.mapper.ReactionMapper;
+import com.musicspring.app.music_app.repository.ReactionRepository;
+import com.musicspring.app.music_app.security.service.AuthService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds comment responses for a whole page at once. Reaction totals come from the counters
+ * stored on each comment; the viewer's own reactions are loaded with a single query for every
+ * comment id on the page.
+ */
+@Service
+public class CommentEnrichmentService {
+
+    private final ReactionRepository reactionRepository;
+    private final ReactionMapper reactionMapper;
+    private final CommentMapper commentMapper;
+
+    public CommentEnrichmentService(ReactionRepository reactionRepository,
+                                    ReactionMapper reactionMapper,
+                                    CommentMapper commentMapper) {
+        this.reactionRepository = reactionRepository;
+        this.reactionMapper = reactionMapper;
+        this.commentMapper = commentMapper;
+    }
+
+    public Page<CommentResponse> enrichComments(Page<CommentEntity> comments) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(comments.getContent());
+        return comments.map(comment -> toCommentResponse(comment, viewerReactions));
+    }
+
+    public Slice<CommentResponse> enrichComments(Slice<CommentEntity> comments) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(comments.getContent());
+        return comments.map(comment -> toCommentResponse(comment, viewerReactions));
+    }
+
+    public List<CommentResponse> enrichComments(List<CommentEntity> comments) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(comments);
+        return comments.stream()
+                .map(comment -> toCommentResponse(comment, viewerReactions))
+                .toList();
+    }
+
+    public CommentResponse enrichComment(CommentEntity comment) {
+        return toCommentResponse(comment, loadViewerReactions(List.of(comment)));
+    }
+
+    private CommentResponse toCommentResponse(CommentEntity comment, Map<Long, ReactionResponse> viewerReactions) {
+        return commentMapper.toResponse(
+                comment,
+                comment.getTotalLikes(),
+                comment.getTotalDislikes(),
+                comment.getTotalLoves(),
+                comment.getTotalWows(),
+                viewerReactions.get(comment.getCommentId())
+        );
+    }
+
+    private Map<Long, ReactionResponse> loadViewerReactions(List<CommentEntity> comments) {
+        Optional<Long> viewerId = AuthService.findAuthenticatedUserId();
+        if (comments.isEmpty() || viewerId.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Long> commentIds = comments.stream()
+                .map(CommentEntity::getCommentId)
+                .toList();
+
+        Map<Long, ReactionResponse> viewerReactions = new HashMap<>();
+        for (ReactionEntity reaction : reactionRepository.findByUserIdAndCommentIds(viewerId.get(), commentIds)) {
+            viewerReactions.put(reaction.getComment().getCommentId(), reactionMapper.toResponse(reaction));
+        }
+        return viewerReactions;
+    }
+}
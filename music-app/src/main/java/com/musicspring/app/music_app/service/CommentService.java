@@ -3,26 +3,23 @@ package com.musicspring.app.music_app.service;
 import com.musicspring.app.music_app.model.dto.request.CommentPatchRequest;
 import com.musicspring.app.music_app.model.dto.request.CommentRequest;
 import com.musicspring.app.music_app.model.dto.response.CommentResponse;
-import com.musicspring.app.music_app.model.dto.response.ReactionResponse;
+import com.musicspring.app.music_app.model.dto.response.CursorPageResponse;
 import com.musicspring.app.music_app.model.entity.*;
 import com.musicspring.app.music_app.model.enums.CommentType;
-import com.musicspring.app.music_app.model.enums.ReactionType;
 import com.musicspring.app.music_app.model.mapper.CommentMapper;
-import com.musicspring.app.music_app.model.mapper.ReactionMapper;
+import com.musicspring.app.music_app.model.pagination.KeysetCursor;
+import com.musicspring.app.music_app.model.pagination.TotalMode;
 import com.musicspring.app.music_app.repository.*;
-import com.musicspring.app.music_app.security.entity.CredentialEntity;
 import com.musicspring.app.music_app.security.service.AuthService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.List;
 
 @Service
 public class CommentService {
@@ -30,49 +27,62 @@ public class CommentService {
     private final UserRepository userRepository;
     private final ReviewRepository reviewRepository;
     private final CommentMapper commentMapper;
-    private final AlbumReviewRepository albumReviewRepository;
-    private final SongReviewRepository songReviewRepository;
-    private final ReactionRepository reactionRepository;
-    private final ReactionMapper reactionMapper;
+    private final CommentEnrichmentService commentEnrichmentService;
+    private final EngagementCounterService engagementCounterService;
+    private final ApproximateCountService approximateCountService;
+    private final UserStatsService userStatsService;
+    private final DashboardCounterService dashboardCounterService;
+    private final ActivitySketchService activitySketchService;
 
     @Autowired
     public CommentService(CommentRepository commentRepository,
                           UserRepository userRepository,
                           ReviewRepository reviewRepository,
                           CommentMapper commentMapper,
-                          AlbumReviewRepository albumReviewRepository,
-                          SongReviewRepository songReviewRepository,
-                          ReactionRepository reactionRepository,
-                          ReactionMapper reactionMapper) {
+                          CommentEnrichmentService commentEnrichmentService,
+                          EngagementCounterService engagementCounterService,
+                          ApproximateCountService approximateCountService,
+                          UserStatsService userStatsService,
+                          DashboardCounterService dashboardCounterService,
+                          ActivitySketchService activitySketchService) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.reviewRepository = reviewRepository;
         this.commentMapper = commentMapper;
-        this.albumReviewRepository = albumReviewRepository;
-        this.songReviewRepository = songReviewRepository;
-        this.reactionRepository = reactionRepository;
-        this.reactionMapper = reactionMapper;
+        this.commentEnrichmentService = commentEnrichmentService;
+        this.engagementCounterService = engagementCounterService;
+        this.approximateCountService = approximateCountService;
+        this.userStatsService = userStatsService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.activitySketchService = activitySketchService;
     }
 
     public Page<CommentResponse> findAll(Pageable pageable){
-        return commentRepository.findAll(pageable)
-                .map(this::enrichCommentResponse);
+        return commentEnrichmentService.enrichComments(commentRepository.findAll(pageable));
     }
 
     public CommentResponse findById(Long id){
         CommentEntity commentEntity = commentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Comment with ID:" + id + " not found."));
-        return enrichCommentResponse(commentEntity);
+        return commentEnrichmentService.enrichComment(commentEntity);
     }
 
+    @Transactional
     public void deleteById(Long id){
         CommentEntity commentEntity = commentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Comment with ID:" + id + " not found."));
 
         AuthService.validateRequestUserOwnership(commentEntity.getUser().getUserId());
 
+        if (!commentEntity.getActive()) {
+            return;
+        }
+
         commentEntity.setActive(false);
         commentRepository.save(commentEntity);
+        engagementCounterService.commentDeactivated(commentEntity);
+        userStatsService.commentDeactivated(commentEntity);
+        dashboardCounterService.commentsDeactivated(1);
     }
 
     @Transactional
@@ -92,8 +102,12 @@ public class CommentService {
         CommentEntity comment = commentMapper.toEntity(commentRequest, user, review, CommentType.SONG_REVIEW);
         comment.setActive(true);
         commentRepository.save(comment);
+        engagementCounterService.commentCreated(comment);
+        userStatsService.commentCreated(comment);
+        dashboardCounterService.commentsActivated(1);
+        activitySketchService.commentCreated(comment);
 
-        return enrichCommentResponse(comment);
+        return commentEnrichmentService.enrichComment(comment);
     }
 
     @Transactional
@@ -113,8 +127,12 @@ public class CommentService {
         CommentEntity comment = commentMapper.toEntity(commentRequest, user, review, CommentType.ALBUM_REVIEW);
         comment.setActive(true);
         commentRepository.save(comment);
+        engagementCounterService.commentCreated(comment);
+        userStatsService.commentCreated(comment);
+        dashboardCounterService.commentsActivated(1);
+        activitySketchService.commentCreated(comment);
 
-        return enrichCommentResponse(comment);
+        return commentEnrichmentService.enrichComment(comment);
     }
 
     public CommentResponse updateCommentContent(Long commentId, CommentPatchRequest patchRequest) {
@@ -127,51 +145,56 @@ public class CommentService {
 
         CommentEntity updated = commentRepository.save(commentEntity);
 
-        return enrichCommentResponse(updated);
+        return commentEnrichmentService.enrichComment(updated);
     }
 
     public Page<CommentResponse> findByUserId(Long userId, Pageable pageable){
         Page<CommentEntity> commentPage = commentRepository.findByUser_UserIdAndActiveTrue(userId, pageable);
-        return commentPage.map(this::enrichCommentResponse);
+        return commentEnrichmentService.enrichComments(commentPage);
     }
 
     public Page<CommentResponse> getCommentsByReviewId(Long reviewId, Pageable pageable) {
-        if(albumReviewRepository.findById(reviewId).isEmpty() && songReviewRepository.findById(reviewId).isEmpty()){
+        if (!reviewRepository.existsActiveById(reviewId)) {
             throw new EntityNotFoundException("Review with ID: " + reviewId + " not found.");
         }
         Page<CommentEntity> commentPage = commentRepository.findByReviewEntity_ReviewId(reviewId, pageable);
-        return commentPage.map(this::enrichCommentResponse);
+        return commentEnrichmentService.enrichComments(commentPage);
     }
 
-    private CommentResponse enrichCommentResponse(CommentEntity comment) {
-        Long commentId = comment.getCommentId();
-
-        Long totalLikes = reactionRepository.countByComment_CommentIdAndReactionType(commentId, ReactionType.LIKE);
-        Long totalDislikes = reactionRepository.countByComment_CommentIdAndReactionType(commentId, ReactionType.DISLIKE);
-        Long totalLoves = reactionRepository.countByComment_CommentIdAndReactionType(commentId, ReactionType.LOVE);
-        Long totalWows = reactionRepository.countByComment_CommentIdAndReactionType(commentId, ReactionType.WOW);
-
-        ReactionResponse userReactionDto = null;
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken) && authentication.isAuthenticated()) {
-            CredentialEntity credential = (CredentialEntity) authentication.getPrincipal();
-            UserEntity currentUser = credential.getUser();
-
-            Optional<ReactionEntity> userReactionOpt = reactionRepository.findByUserAndComment(currentUser, comment);
-            if (userReactionOpt.isPresent()) {
-                userReactionDto = reactionMapper.toResponse(userReactionOpt.get());
+    public Slice<CommentResponse> getCommentsByReviewId(Long reviewId, Pageable pageable, TotalMode totalMode) {
+        return switch (totalMode) {
+            case EXACT -> getCommentsByReviewId(reviewId, pageable);
+            case APPROXIMATE -> {
+                long totalComments = reviewRepository.findActiveTotalComments(reviewId)
+                        .orElseThrow(() -> new EntityNotFoundException("Review with ID: " + reviewId + " not found."));
+                Slice<CommentResponse> comments = commentEnrichmentService.enrichComments(commentRepository.findSliceByReviewId(reviewId, pageable));
+                yield approximateCountService.withApproximateTotal(comments, totalComments);
+            }
+            case NONE -> {
+                if (!reviewRepository.existsActiveById(reviewId)) {
+                    throw new EntityNotFoundException("Review with ID: " + reviewId + " not found.");
+                }
+                yield commentEnrichmentService.enrichComments(commentRepository.findSliceByReviewId(reviewId, pageable));
             }
+        };
+    }
+
+    public CursorPageResponse<CommentResponse> getCommentFeedByReviewId(Long reviewId, String after, int size) {
+        Pageable limit = KeysetCursor.limitFor(size);
+        if (!reviewRepository.existsActiveById(reviewId)) {
+            throw new EntityNotFoundException("Review with ID: " + reviewId + " not found.");
         }
 
-        return commentMapper.toResponse(
-                comment,
-                totalLikes,
-                totalDislikes,
-                totalLoves,
-                totalWows,
-                userReactionDto
-        );
+        List<CommentEntity> rows;
+        if (after == null) {
+            rows = commentRepository.findFeedByReviewId(reviewId, limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = commentRepository.findFeedByReviewIdAfter(reviewId, cursor.timestamp(), cursor.id(), limit);
+        }
+        return CursorPageResponse.of(rows, size,
+                comment -> new KeysetCursor(comment.getCreatedAt(), comment.getCommentId()),
+                commentEnrichmentService::enrichComments);
     }
 
 }
@@ -0,0 +1,164 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.AdminDashboardResponse;
+import com.musicspring.app.music_app.model.entity.AlbumReviewEntity;
+import com.musicspring.app.music_app.model.entity.ReviewEntity;
+import com.musicspring.app.music_app.model.entity.UserEntity;
+import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.repository.AlbumReviewRepository;
+import com.musicspring.app.music_app.repository.CommentRepository;
+import com.musicspring.app.music_app.repository.ReactionRepository;
+import com.musicspring.app.music_app.repository.ReactionRepository.ReactionTypeCount;
+import com.musicspring.app.music_app.repository.SongReviewRepository;
+import com.musicspring.app.music_app.repository.UserRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admin dashboard figures kept in memory. The services that create, delete, ban and deactivate
+ * report each change here and it is applied once their transaction commits. A background
+ * reconciliation replaces every figure with a fresh count from the database, at startup and every
+ * {@code app.dashboard.reconcile-interval}, which bounds any drift (for example from other
+ * instances writing to the same database).
+ */
+@Service
+public class DashboardCounterService {
+
+    private final UserRepository userRepository;
+    private final ReactionRepository reactionRepository;
+    private final CommentRepository commentRepository;
+    private final AlbumReviewRepository albumReviewRepository;
+    private final SongReviewRepository songReviewRepository;
+
+    private final LongAdder totalUsers = new LongAdder();
+    private final LongAdder activeUsers = new LongAdder();
+    private final LongAdder bannedUsers = new LongAdder();
+    private final LongAdder albumReviews = new LongAdder();
+    private final LongAdder songReviews = new LongAdder();
+    private final LongAdder activeComments = new LongAdder();
+    private final Map<ReactionType, LongAdder> reactions = new EnumMap<>(ReactionType.class);
+
+    public DashboardCounterService(UserRepository userRepository,
+                                   ReactionRepository reactionRepository,
+                                   CommentRepository commentRepository,
+                                   AlbumReviewRepository albumReviewRepository,
+                                   SongReviewRepository songReviewRepository) {
+        this.userRepository = userRepository;
+        this.reactionRepository = reactionRepository;
+        this.commentRepository = commentRepository;
+        this.albumReviewRepository = albumReviewRepository;
+        this.songReviewRepository = songReviewRepository;
+        for (ReactionType reactionType : ReactionType.values()) {
+            reactions.put(reactionType, new LongAdder());
+        }
+    }
+
+    public AdminDashboardResponse getDashboard() {
+        long totalReactions = reactions.values().stream().mapToLong(LongAdder::sum).sum();
+        return AdminDashboardResponse.builder()
+                .totalUsers(totalUsers.sum())
+                .activeUsers(activeUsers.sum())
+                .bannedUsers(bannedUsers.sum())
+                .totalReviews(albumReviews.sum() + songReviews.sum())
+                .totalComments(activeComments.sum())
+                .totalReactions(totalReactions)
+                .albumReviews(albumReviews.sum())
+                .songReviews(songReviews.sum())
+                .likesCount(reactions.get(ReactionType.LIKE).sum())
+                .lovesCount(reactions.get(ReactionType.LOVE).sum())
+                .wowsCount(reactions.get(ReactionType.WOW).sum())
+                .dislikesCount(reactions.get(ReactionType.DISLIKE).sum())
+                .build();
+    }
+
+    public void userCreated(UserEntity user) {
+        boolean active = Boolean.TRUE.equals(user.getActive());
+        AfterCommit.run(() -> {
+            totalUsers.increment();
+            if (active) {
+                activeUsers.increment();
+            }
+        });
+    }
+
+    public void userActiveChanged(boolean wasActive, boolean active) {
+        if (wasActive != active) {
+            AfterCommit.run(() -> activeUsers.add(active ? 1 : -1));
+        }
+    }
+
+    public void userBannedChanged(boolean wasBanned, boolean banned) {
+        if (wasBanned != banned) {
+            AfterCommit.run(() -> bannedUsers.add(banned ? 1 : -1));
+        }
+    }
+
+    // Deleting a review only deactivates it, so the review totals only ever grow.
+    public void reviewCreated(ReviewEntity review) {
+        LongAdder reviews = review instanceof AlbumReviewEntity ? albumReviews : songReviews;
+        AfterCommit.run(reviews::increment);
+    }
+
+    public void commentsActivated(long count) {
+        if (count != 0) {
+            AfterCommit.run(() -> activeComments.add(count));
+        }
+    }
+
+    public void commentsDeactivated(long count) {
+        commentsActivated(-count);
+    }
+
+    public void reactionCreated(ReactionType reactionType) {
+        AfterCommit.run(() -> reactions.get(reactionType).increment());
+    }
+
+    public void reactionTypeChanged(ReactionType previousType, ReactionType reactionType) {
+        if (previousType != reactionType) {
+            AfterCommit.run(() -> {
+                reactions.get(previousType).decrement();
+                reactions.get(reactionType).increment();
+            });
+        }
+    }
+
+    public void reactionDeleted(ReactionType reactionType) {
+        AfterCommit.run(() -> reactions.get(reactionType).decrement());
+    }
+
+    /**
+     * Takes counts read before a bulk delete, such as {@link ReactionRepository#countGroupedByTypeForReview}.
+     */
+    public void reactionsDeleted(List<ReactionTypeCount> deleted) {
+        if (!deleted.isEmpty()) {
+            AfterCommit.run(() -> deleted.forEach(count -> reactions.get(count.getReactionType()).add(-count.getTotal())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval:PT15M}")
+    public void reconcile() {
+        set(totalUsers, userRepository.count());
+        set(activeUsers, userRepository.countByActiveTrue());
+        set(bannedUsers, userRepository.countByIsBannedTrue());
+        set(albumReviews, albumReviewRepository.count());
+        set(songReviews, songReviewRepository.count());
+        set(activeComments, commentRepository.countByActiveTrue());
+
+        Map<ReactionType, Long> reactionCounts = new EnumMap<>(ReactionType.class);
+        for (ReactionTypeCount count : reactionRepository.countGroupedByType()) {
+            reactionCounts.put(count.getReactionType(), count.getTotal());
+        }
+        reactions.forEach((reactionType, adder) -> set(adder, reactionCounts.getOrDefault(reactionType, 0L)));
+    }
+
+    // Not atomic with concurrent increments; anything lost in between is fixed by the next run.
+    private static void set(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+}
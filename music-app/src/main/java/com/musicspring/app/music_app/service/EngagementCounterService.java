@@ -0,0 +1,88 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.entity.CommentEntity;
+import com.musicspring.app.music_app.model.entity.ReactionEntity;
+import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.repository.CommentRepository;
+import com.musicspring.app.music_app.repository.ReviewRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps the reaction and comment totals stored on reviews and comments in step with the
+ * reactions and comments tables. Every change is a single atomic UPDATE, so callers must run
+ * inside the transaction that performs the write being counted.
+ */
+@Service
+public class EngagementCounterService {
+
+    private final ReviewRepository reviewRepository;
+    private final CommentRepository commentRepository;
+
+    public EngagementCounterService(ReviewRepository reviewRepository, CommentRepository commentRepository) {
+        this.reviewRepository = reviewRepository;
+        this.commentRepository = commentRepository;
+    }
+
+    public void reactionCreated(ReactionEntity reaction) {
+        adjustReactionCount(reaction, reaction.getReactionType(), 1);
+    }
+
+    public void reactionTypeChanged(ReactionEntity reaction, ReactionType previousType) {
+        if (previousType == reaction.getReactionType()) {
+            return;
+        }
+        adjustReactionCount(reaction, previousType, -1);
+        adjustReactionCount(reaction, reaction.getReactionType(), 1);
+    }
+
+    public void reactionDeleted(ReactionEntity reaction) {
+        adjustReactionCount(reaction, reaction.getReactionType(), -1);
+    }
+
+    public void commentCreated(CommentEntity comment) {
+        reviewRepository.adjustCommentCount(comment.getReviewEntity().getReviewId(), 1);
+    }
+
+    public void commentDeactivated(CommentEntity comment) {
+        reviewRepository.adjustCommentCount(comment.getReviewEntity().getReviewId(), -1);
+    }
+
+    public void reviewDeactivated(Long reviewId) {
+        reviewRepository.resetCounters(reviewId);
+        commentRepository.resetReactionCountsByReviewId(reviewId);
+    }
+
+    public void reviewReactivated(Long reviewId) {
+        reviewRepository.recountCounters(List.of(reviewId));
+    }
+
+    public void userDeactivating(Long userId) {
+        reviewRepository.subtractReactionsByUser(userId);
+        commentRepository.subtractReactionsByUser(userId);
+        reviewRepository.subtractActiveCommentsByUser(userId);
+        reviewRepository.resetCommentCountsByUser(userId);
+    }
+
+    public void userReactivated(Long userId) {
+        reviewRepository.recountCountersTouchedByUser(userId);
+    }
+
+    @Scheduled(cron = "0 30 3 * * ?")
+    @Transactional
+    public void rebuildAllCounters() {
+        reviewRepository.recountAllCounters();
+        commentRepository.recountAllReactionCounts();
+    }
+
+    private void adjustReactionCount(ReactionEntity reaction, ReactionType reactionType, long delta) {
+        if (reaction.getReview() != null) {
+            reviewRepository.adjustReactionCount(reaction.getReview().getReviewId(), reactionType.name(), delta);
+        } else if (reaction.getComment() != null) {
+            commentRepository.adjustReactionCount(reaction.getComment().getCommentId(), reactionType.name(), delta);
+        }
+    }
+}
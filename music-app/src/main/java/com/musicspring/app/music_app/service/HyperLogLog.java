@@ -0,0 +1,102 @@
+package com.musicspring.app.music_app.service;
+
+/**
+ * HyperLogLog distinct counter over {@code long} values, with the linear counting correction for
+ * small cardinalities. Registers are one byte each and can be exported and merged, so sketches
+ * built on different days or instances combine into the sketch of their union.
+ */
+final class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    HyperLogLog(byte[] registers) {
+        int length = registers.length;
+        if (Integer.bitCount(length) != 1 || length < 16) {
+            throw new IllegalArgumentException("Register count must be a power of two of at least 16");
+        }
+        this.precision = Integer.numberOfTrailingZeros(length);
+        this.registers = registers.clone();
+    }
+
+    synchronized void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (64 - precision));
+        // The sentinel bit caps the rank at 64 - precision + 1 when the remaining bits are all zero.
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    void merge(HyperLogLog other) {
+        byte[] otherRegisters = other.toBytes();
+        synchronized (this) {
+            mergeRegisters(otherRegisters);
+        }
+    }
+
+    synchronized void merge(byte[] otherRegisters) {
+        mergeRegisters(otherRegisters);
+    }
+
+    synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    synchronized byte[] toBytes() {
+        return registers.clone();
+    }
+
+    private void mergeRegisters(byte[] otherRegisters) {
+        if (otherRegisters.length != registers.length) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (otherRegisters[i] > registers[i]) {
+                registers[i] = otherRegisters[i];
+            }
+        }
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    // Finalizer of MurmurHash3; ids are sequential, so they must be spread before bucketing.
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,123 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.entity.AlbumReviewEntity;
+import com.musicspring.app.music_app.model.entity.ReactionEntity;
+import com.musicspring.app.music_app.model.entity.ReviewEntity;
+import com.musicspring.app.music_app.model.entity.SongReviewEntity;
+import com.musicspring.app.music_app.model.enums.LeaderboardMetric;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.repository.AlbumRepository;
+import com.musicspring.app.music_app.repository.LeaderboardRepository;
+import com.musicspring.app.music_app.repository.SongRepository;
+import org.hibernate.Hibernate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the scores behind the most reviewed and most reacted rankings on the stats pages.
+ * Artist scores are the sum of the scores of the artist's songs and albums.
+ * Creating, deleting or reactivating a single review and creating, changing or deleting a
+ * reaction adjusts the scores inside the transaction making the change, so those are visible as
+ * soon as it commits. Bulk changes (account deactivation and reactivation) are not tracked one
+ * by one; the reconciliation picks them up, so a ranking is at most
+ * {@code app.leaderboards.reconcile-interval} (ten minutes by default) behind the tables.
+ */
+@Service
+public class LeaderboardService {
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final SongRepository songRepository;
+    private final AlbumRepository albumRepository;
+
+    public LeaderboardService(LeaderboardRepository leaderboardRepository,
+                              SongRepository songRepository,
+                              AlbumRepository albumRepository) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.songRepository = songRepository;
+        this.albumRepository = albumRepository;
+    }
+
+    public void reviewCreated(ReviewEntity review) {
+        adjust(review, LeaderboardMetric.REVIEWS, 1);
+    }
+
+    /**
+     * Must be called while the review is still active and before its reactions are deleted, since
+     * the reaction scores are reduced by the totals stored on the review.
+     */
+    public void reviewDeactivated(ReviewEntity review) {
+        if (!Boolean.TRUE.equals(review.getActive())) {
+            return;
+        }
+        adjust(review, LeaderboardMetric.REVIEWS, -1);
+        adjust(review, LeaderboardMetric.LIKE, -review.getTotalLikes());
+        adjust(review, LeaderboardMetric.LOVE, -review.getTotalLoves());
+        adjust(review, LeaderboardMetric.WOW, -review.getTotalWows());
+        adjust(review, LeaderboardMetric.DISLIKE, -review.getTotalDislikes());
+    }
+
+    // Reactions are deleted with the review, so only the review itself comes back.
+    public void reviewReactivated(ReviewEntity review) {
+        adjust(review, LeaderboardMetric.REVIEWS, 1);
+    }
+
+    public void reactionCreated(ReactionEntity reaction) {
+        adjustReaction(reaction, reaction.getReactionType(), 1);
+    }
+
+    public void reactionTypeChanged(ReactionEntity reaction, ReactionType previousType) {
+        if (previousType == reaction.getReactionType()) {
+            return;
+        }
+        adjustReaction(reaction, previousType, -1);
+        adjustReaction(reaction, reaction.getReactionType(), 1);
+    }
+
+    public void reactionDeleted(ReactionEntity reaction) {
+        adjustReaction(reaction, reaction.getReactionType(), -1);
+    }
+
+    @Scheduled(fixedDelayString = "${app.leaderboards.reconcile-interval:PT10M}")
+    @Transactional
+    public void reconcile() {
+        leaderboardRepository.resetScores();
+        leaderboardRepository.recountSongReviews();
+        leaderboardRepository.recountSongReactions();
+        leaderboardRepository.recountAlbumReviews();
+        leaderboardRepository.recountAlbumReactions();
+        leaderboardRepository.rollUpArtists();
+    }
+
+    private void adjustReaction(ReactionEntity reaction, ReactionType reactionType, long delta) {
+        if (reaction.getReview() == null) {
+            return;
+        }
+        ReviewEntity review = (ReviewEntity) Hibernate.unproxy(reaction.getReview());
+        if (Boolean.TRUE.equals(review.getActive())) {
+            adjust(review, LeaderboardMetric.of(reactionType), delta);
+        }
+    }
+
+    private void adjust(ReviewEntity review, LeaderboardMetric metric, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (review instanceof SongReviewEntity songReview) {
+            Long songId = songReview.getSong().getSongId();
+            adjustScore(LeaderboardSubject.SONG, songId, metric, delta);
+            songRepository.findArtistIdBySongId(songId)
+                    .ifPresent(artistId -> adjustScore(LeaderboardSubject.ARTIST, artistId, metric, delta));
+        } else if (review instanceof AlbumReviewEntity albumReview) {
+            Long albumId = albumReview.getAlbum().getAlbumId();
+            adjustScore(LeaderboardSubject.ALBUM, albumId, metric, delta);
+            albumRepository.findArtistIdByAlbumId(albumId)
+                    .ifPresent(artistId -> adjustScore(LeaderboardSubject.ARTIST, artistId, metric, delta));
+        }
+    }
+
+    private void adjustScore(LeaderboardSubject subject, Long subjectId, LeaderboardMetric metric, long delta) {
+        leaderboardRepository.adjustScore(subject.name(), subjectId, metric.name(), delta);
+    }
+}
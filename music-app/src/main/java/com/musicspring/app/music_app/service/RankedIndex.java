@@ -0,0 +1,133 @@
+package com.musicspring.app.music_app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids ordered by score, highest first, with ties broken by the higher id. It is a treap whose
+ * nodes know the size of their subtree, so inserting, removing and finding the entry at a given
+ * rank are all O(log n), and a page is read without walking the entries before it.
+ * Not thread safe; callers synchronize.
+ */
+final class RankedIndex {
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(long id, double score) {
+        Node[] parts = split(root, score, id);
+        root = merge(merge(parts[0], new Node(id, score)), parts[1]);
+    }
+
+    void remove(long id, double score) {
+        root = remove(root, id, score);
+    }
+
+    /**
+     * Ids at ranks {@code offset} (zero based) up to {@code offset + limit}, in rank order.
+     */
+    List<Long> range(long offset, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        for (long rank = offset; rank < offset + limit && rank < size(); rank++) {
+            ids.add(at(root, (int) rank).id);
+        }
+        return ids;
+    }
+
+    // Negative when (scoreA, idA) ranks before (scoreB, idB).
+    private static int compare(double scoreA, long idA, double scoreB, long idB) {
+        int byScore = Double.compare(scoreB, scoreA);
+        return byScore != 0 ? byScore : Long.compare(idB, idA);
+    }
+
+    // Splits into the entries ranking before (score, id) and the rest.
+    private static Node[] split(Node node, double score, long id) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.score, node.id, score, id) < 0) {
+            Node[] parts = split(node.right, score, id);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, score, id);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node remove(Node node, long id, double score) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(score, id, node.score, node.id);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, id, score);
+        } else {
+            node.right = remove(node.right, id, score);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node at(Node node, int rank) {
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        final long id;
+        final double score;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
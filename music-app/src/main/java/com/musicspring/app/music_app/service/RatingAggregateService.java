@@ -0,0 +1,219 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.AlbumResponse;
+import com.musicspring.app.music_app.model.dto.response.ArtistResponse;
+import com.musicspring.app.music_app.model.dto.response.RatingMonthResponse;
+import com.musicspring.app.music_app.model.dto.response.RatingSeriesResponse;
+import com.musicspring.app.music_app.model.dto.response.RatingSummaryResponse;
+import com.musicspring.app.music_app.model.dto.response.SongResponse;
+import com.musicspring.app.music_app.model.entity.AlbumReviewEntity;
+import com.musicspring.app.music_app.model.entity.RatingAggregateEntity;
+import com.musicspring.app.music_app.model.entity.ReviewEntity;
+import com.musicspring.app.music_app.model.entity.SongReviewEntity;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import com.musicspring.app.music_app.repository.AlbumRepository;
+import com.musicspring.app.music_app.repository.RatingAggregateRepository;
+import com.musicspring.app.music_app.repository.RatingMonthRepository;
+import com.musicspring.app.music_app.repository.SongRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the rating count, sum and histogram of every song, album and artist, so the catalog
+ * responses and {@link TopRatedService} never aggregate reviews at read time, along with monthly
+ * rating series for songs and albums. An artist is rated over the reviews of its albums and
+ * songs. Single review writes adjust the rows inside their transaction; account deactivation and
+ * reactivation are picked up by the reconciliation every {@code app.ratings.reconcile-interval}.
+ */
+@Service
+public class RatingAggregateService {
+
+    public static final int BUCKETS = 10;
+
+    private final RatingAggregateRepository ratingAggregateRepository;
+    private final SongRepository songRepository;
+    private final AlbumRepository albumRepository;
+    private final TopRatedService topRatedService;
+    private final RatingMonthRepository ratingMonthRepository;
+
+    public RatingAggregateService(RatingAggregateRepository ratingAggregateRepository,
+                                  SongRepository songRepository,
+                                  AlbumRepository albumRepository,
+                                  TopRatedService topRatedService,
+                                  RatingMonthRepository ratingMonthRepository) {
+        this.ratingAggregateRepository = ratingAggregateRepository;
+        this.songRepository = songRepository;
+        this.albumRepository = albumRepository;
+        this.topRatedService = topRatedService;
+        this.ratingMonthRepository = ratingMonthRepository;
+    }
+
+    public void reviewCreated(ReviewEntity review) {
+        adjust(review, review.getRating(), 1);
+    }
+
+    public void reviewDeactivated(ReviewEntity review) {
+        if (Boolean.TRUE.equals(review.getActive())) {
+            adjust(review, review.getRating(), -1);
+        }
+    }
+
+    public void reviewReactivated(ReviewEntity review) {
+        adjust(review, review.getRating(), 1);
+    }
+
+    public void reviewRatingChanged(ReviewEntity review, Double previousRating) {
+        if (!Boolean.TRUE.equals(review.getActive()) || Objects.equals(previousRating, review.getRating())) {
+            return;
+        }
+        adjust(review, previousRating, -1);
+        adjust(review, review.getRating(), 1);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratings.reconcile-interval:PT10M}")
+    @Transactional
+    public void reconcile() {
+        ratingAggregateRepository.resetAll();
+        ratingAggregateRepository.recountAll();
+        ratingMonthRepository.resetAll();
+        ratingMonthRepository.recountAll();
+    }
+
+    @Transactional(readOnly = true)
+    public RatingSeriesResponse getSongRatingSeries(Long songId, YearMonth from, YearMonth to) {
+        return series(LeaderboardSubject.SONG, songId, from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public RatingSeriesResponse getAlbumRatingSeries(Long albumId, YearMonth from, YearMonth to) {
+        return series(LeaderboardSubject.ALBUM, albumId, from, to);
+    }
+
+    public Page<SongResponse> withSongRatings(Page<SongResponse> songs) {
+        attach(LeaderboardSubject.SONG, songs.getContent(), SongResponse::getSongId, SongResponse::setRating);
+        return songs;
+    }
+
+    public SongResponse withSongRating(SongResponse song) {
+        attach(LeaderboardSubject.SONG, List.of(song), SongResponse::getSongId, SongResponse::setRating);
+        return song;
+    }
+
+    public Page<AlbumResponse> withAlbumRatings(Page<AlbumResponse> albums) {
+        attach(LeaderboardSubject.ALBUM, albums.getContent(), AlbumResponse::getAlbumId, AlbumResponse::setRating);
+        return albums;
+    }
+
+    public AlbumResponse withAlbumRating(AlbumResponse album) {
+        attach(LeaderboardSubject.ALBUM, List.of(album), AlbumResponse::getAlbumId, AlbumResponse::setRating);
+        return album;
+    }
+
+    public Page<ArtistResponse> withArtistRatings(Page<ArtistResponse> artists) {
+        attach(LeaderboardSubject.ARTIST, artists.getContent(), ArtistResponse::getArtistId, ArtistResponse::setRating);
+        return artists;
+    }
+
+    public ArtistResponse withArtistRating(ArtistResponse artist) {
+        attach(LeaderboardSubject.ARTIST, List.of(artist), ArtistResponse::getArtistId, ArtistResponse::setRating);
+        return artist;
+    }
+
+    /**
+     * One based histogram bucket of a rating: (0, 0.5] is bucket 1 and (4.5, 5.0] is bucket 10.
+     */
+    static int bucketOf(double rating) {
+        return Math.clamp((long) Math.ceil(rating * 2), 1, BUCKETS);
+    }
+
+    // Loads the rows for the whole page with one query; items nobody has reviewed get an empty summary.
+    private <T> void attach(LeaderboardSubject subject,
+                            Collection<T> responses,
+                            Function<T, Long> idOf,
+                            BiConsumer<T, RatingSummaryResponse> setter) {
+        List<Long> ids = responses.stream().map(idOf).filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, RatingAggregateEntity> aggregates = ratingAggregateRepository.findBySubjectIds(subject, ids).stream()
+                .collect(Collectors.toMap(aggregate -> aggregate.getId().getSubjectId(), Function.identity()));
+        for (T response : responses) {
+            setter.accept(response, toSummary(aggregates.get(idOf.apply(response))));
+        }
+    }
+
+    private RatingSeriesResponse series(LeaderboardSubject subject, Long subjectId, YearMonth from, YearMonth to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        LocalDate fromMonth = from != null ? from.atDay(1) : LocalDate.EPOCH;
+        LocalDate toMonth = (to != null ? to : YearMonth.now()).atDay(1);
+
+        List<RatingMonthResponse> months = ratingMonthRepository.findSeries(subject, subjectId, fromMonth, toMonth).stream()
+                .map(month -> RatingMonthResponse.builder()
+                        .month(YearMonth.from(month.getId().getMonth()))
+                        .reviewCount(month.getRatingCount())
+                        .averageRating(Math.round(month.getRatingSum() / month.getRatingCount() * 100.0) / 100.0)
+                        .build())
+                .toList();
+        return new RatingSeriesResponse(subjectId, months);
+    }
+
+    private static RatingSummaryResponse toSummary(RatingAggregateEntity aggregate) {
+        if (aggregate == null || aggregate.getRatingCount() == 0) {
+            return RatingSummaryResponse.builder()
+                    .reviewCount(0L)
+                    .histogram(Collections.nCopies(BUCKETS, 0))
+                    .build();
+        }
+        return RatingSummaryResponse.builder()
+                .reviewCount(aggregate.getRatingCount())
+                .averageRating(Math.round(aggregate.getRatingSum() / aggregate.getRatingCount() * 100.0) / 100.0)
+                .histogram(Arrays.stream(aggregate.getRatingHistogram()).boxed().toList())
+                .build();
+    }
+
+    private void adjust(ReviewEntity review, Double rating, int delta) {
+        if (rating == null) {
+            return;
+        }
+        if (review instanceof SongReviewEntity songReview) {
+            Long songId = songReview.getSong().getSongId();
+            adjustRow(LeaderboardSubject.SONG, songId, rating, delta);
+            adjustMonth(LeaderboardSubject.SONG, songId, review, rating, delta);
+            songRepository.findArtistIdBySongId(songId)
+                    .ifPresent(artistId -> adjustRow(LeaderboardSubject.ARTIST, artistId, rating, delta));
+        } else if (review instanceof AlbumReviewEntity albumReview) {
+            Long albumId = albumReview.getAlbum().getAlbumId();
+            adjustRow(LeaderboardSubject.ALBUM, albumId, rating, delta);
+            adjustMonth(LeaderboardSubject.ALBUM, albumId, review, rating, delta);
+            albumRepository.findArtistIdByAlbumId(albumId)
+                    .ifPresent(artistId -> adjustRow(LeaderboardSubject.ARTIST, artistId, rating, delta));
+        }
+    }
+
+    private void adjustRow(LeaderboardSubject subject, Long subjectId, double rating, int delta) {
+        long revision = ratingAggregateRepository.adjust(subject.name(), subjectId, bucketOf(rating), rating, delta);
+        topRatedService.ratingsAdjusted(subject, subjectId, rating, delta, revision);
+    }
+
+    // A review stays in the month it was written in; one saved in this request may not have its date yet.
+    private void adjustMonth(LeaderboardSubject subject, Long subjectId, ReviewEntity review, double rating, int delta) {
+        LocalDate month = (review.getDate() != null ? review.getDate().toLocalDate() : LocalDate.now()).withDayOfMonth(1);
+        ratingMonthRepository.adjust(subject.name(), subjectId, month, rating, delta);
+    }
+}
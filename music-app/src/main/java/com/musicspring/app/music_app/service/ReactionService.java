@@ -1,5 +1,6 @@
 package com.musicspring.app.music_app.service;
 
+import com.musicspring.app.music_app.model.dto.response.CursorPageResponse;
 import com.musicspring.app.music_app.model.dto.response.ReactionResponse;
 import com.musicspring.app.music_app.model.entity.CommentEntity;
 import com.musicspring.app.music_app.model.entity.ReactionEntity;
@@ -8,15 +9,20 @@ import com.musicspring.app.music_app.model.entity.UserEntity;
 import com.musicspring.app.music_app.model.enums.ReactedType;
 import com.musicspring.app.music_app.model.enums.ReactionType;
 import com.musicspring.app.music_app.model.mapper.ReactionMapper;
+import com.musicspring.app.music_app.model.pagination.KeysetCursor;
+import com.musicspring.app.music_app.model.pagination.TotalMode;
 import com.musicspring.app.music_app.repository.*;
 import com.musicspring.app.music_app.security.service.AuthService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 public class ReactionService {
     private final ReactionRepository reactionRepository;
@@ -24,24 +30,55 @@ public class ReactionService {
     private final CommentRepository commentRepository;
     private final ReviewRepository reviewRepository;
     private final ReactionMapper reactionMapper;
+    private final EngagementCounterService engagementCounterService;
+    private final ApproximateCountService approximateCountService;
+    private final LeaderboardService leaderboardService;
+    private final UserStatsService userStatsService;
+    private final TrendingService trendingService;
+    private final DashboardCounterService dashboardCounterService;
+    private final ActivitySketchService activitySketchService;
 
     @Autowired
     public ReactionService(ReactionRepository reactionRepository,
                            UserRepository userRepository,
                            CommentRepository commentRepository,
                            ReviewRepository reviewRepository,
-                           ReactionMapper reactionMapper) {
+                           ReactionMapper reactionMapper,
+                           EngagementCounterService engagementCounterService,
+                           ApproximateCountService approximateCountService,
+                           LeaderboardService leaderboardService,
+                           UserStatsService userStatsService,
+                           TrendingService trendingService,
+                           DashboardCounterService dashboardCounterService,
+                           ActivitySketchService activitySketchService) {
         this.reactionRepository = reactionRepository;
         this.userRepository = userRepository;
         this.commentRepository = commentRepository;
         this.reviewRepository = reviewRepository;
         this.reactionMapper = reactionMapper;
+        this.engagementCounterService = engagementCounterService;
+        this.approximateCountService = approximateCountService;
+        this.leaderboardService = leaderboardService;
+        this.userStatsService = userStatsService;
+        this.trendingService = trendingService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.activitySketchService = activitySketchService;
     }
 
     public Page<ReactionResponse> findAll(Pageable pageable){
         return reactionMapper.toResponsePage(reactionRepository.findAll(pageable));
     }
 
+    public Slice<ReactionResponse> findAll(Pageable pageable, TotalMode totalMode) {
+        return switch (totalMode) {
+            case EXACT -> findAll(pageable);
+            case APPROXIMATE -> approximateCountService.withApproximateTotal(
+                    reactionRepository.findAllSlice(pageable).map(reactionMapper::toResponse),
+                    approximateCountService.reactions());
+            case NONE -> reactionRepository.findAllSlice(pageable).map(reactionMapper::toResponse);
+        };
+    }
+
     public ReactionResponse findById(Long id){
         ReactionEntity reactionEntity = reactionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Reaction with ID:" + id + " not found."));
@@ -53,6 +90,24 @@ public class ReactionService {
         return reactions.map(reactionMapper::toResponse);
     }
 
+    public CursorPageResponse<ReactionResponse> findFeedByReviewId(Long reviewId, String after, int size) {
+        Pageable limit = KeysetCursor.limitFor(size);
+        if (!reviewRepository.existsActiveById(reviewId)) {
+            throw new EntityNotFoundException("Review with ID: " + reviewId + " not found.");
+        }
+
+        List<ReactionEntity> rows;
+        if (after == null) {
+            rows = reactionRepository.findFeedByReviewId(reviewId, limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = reactionRepository.findFeedByReviewIdAfter(reviewId, cursor.timestamp(), cursor.id(), limit);
+        }
+        return CursorPageResponse.of(rows, size,
+                reaction -> new KeysetCursor(reaction.getCreatedAt(), reaction.getId()),
+                page -> page.stream().map(reactionMapper::toResponse).toList());
+    }
+
     public Page<ReactionResponse> findByCommentId(Long commentId, Pageable pageable) {
         Page<ReactionEntity> reactions = reactionRepository.findByComment_CommentId(commentId, pageable);
         return reactions.map(reactionMapper::toResponse);
@@ -84,6 +139,12 @@ public class ReactionService {
 
         ReactionEntity reaction = reactionMapper.toEntity(reactionType, user, review);
         reactionRepository.save(reaction);
+        engagementCounterService.reactionCreated(reaction);
+        userStatsService.reactionCreated(reaction);
+        leaderboardService.reactionCreated(reaction);
+        trendingService.reactionCreated(reaction);
+        dashboardCounterService.reactionCreated(reaction.getReactionType());
+        activitySketchService.reactionWritten(reaction);
 
         return reactionMapper.toResponse(reaction);
     }
@@ -104,6 +165,10 @@ public class ReactionService {
 
         ReactionEntity reaction = reactionMapper.toEntity(reactionType, user, comment);
         reactionRepository.save(reaction);
+        engagementCounterService.reactionCreated(reaction);
+        userStatsService.reactionCreated(reaction);
+        dashboardCounterService.reactionCreated(reaction.getReactionType());
+        activitySketchService.reactionWritten(reaction);
 
         return reactionMapper.toResponse(reaction);
     }
@@ -117,8 +182,14 @@ public class ReactionService {
         Long reactionOwnerId = reactionEntity.getUser().getUserId();
         AuthService.validateRequestUserOwnership(reactionOwnerId);
 
+        ReactionType previousType = reactionEntity.getReactionType();
         reactionEntity.setReactionType(newReactionType);
         ReactionEntity updated = reactionRepository.save(reactionEntity);
+        engagementCounterService.reactionTypeChanged(updated, previousType);
+        leaderboardService.reactionTypeChanged(updated, previousType);
+        userStatsService.reactionTypeChanged(updated, previousType);
+        dashboardCounterService.reactionTypeChanged(previousType, newReactionType);
+        activitySketchService.reactionWritten(updated);
         return reactionMapper.toResponse(updated);
     }
 
@@ -127,6 +198,10 @@ public class ReactionService {
     public void deleteReaction(Long reactionId) {
         reactionRepository.findById(reactionId).ifPresent(reactionEntity -> {
             AuthService.validateRequestUserOwnership(reactionEntity.getUser().getUserId());
+            engagementCounterService.reactionDeleted(reactionEntity);
+            leaderboardService.reactionDeleted(reactionEntity);
+            userStatsService.reactionDeleted(reactionEntity);
+            dashboardCounterService.reactionDeleted(reactionEntity.getReactionType());
             reactionRepository.deleteById(reactionId);
         });
     }
@@ -0,0 +1,143 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.AlbumReviewCardResponse;
+import com.musicspring.app.music_app.model.dto.response.AlbumReviewResponse;
+import com.musicspring.app.music_app.model.dto.response.ReactionResponse;
+import com.musicspring.app.music_app.model.dto.response.SongReviewCardResponse;
+import com.musicspring.app.music_app.model.dto.response.SongReviewResponse;
+import com.musicspring.app.music_app.model.entity.AlbumReviewEntity;
+import com.musicspring.app.music_app.model.entity.ReactionEntity;
+import com.musicspring.app.music_app.model.entity.ReviewEntity;
+import com.musicspring.app.music_app.model.entity.SongReviewEntity;
+import com.musicspring.app.music_app.model.mapper.AlbumReviewMapper;
+import com.musicspring.app.music_app.model.mapper.ReactionMapper;
+import com.musicspring.app.music_app.model.mapper.SongReviewMapper;
+import com.musicspring.app.music_app.repository.ReactionRepository;
+import com.musicspring.app.music_app.security.service.AuthService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds review responses for a whole page at once. Reaction and comment totals come from the
+ * counters stored on each review; the viewer's own reactions are loaded with a single query
+ * for every review id on the page.
+ */
+@Service
+public class ReviewEnrichmentService {
+
+    private final ReactionRepository reactionRepository;
+    private final ReactionMapper reactionMapper;
+    private final SongReviewMapper songReviewMapper;
+    private final AlbumReviewMapper albumReviewMapper;
+
+    public ReviewEnrichmentService(ReactionRepository reactionRepository,
+                                   ReactionMapper reactionMapper,
+                                   SongReviewMapper songReviewMapper,
+                                   AlbumReviewMapper albumReviewMapper) {
+        this.reactionRepository = reactionRepository;
+        this.reactionMapper = reactionMapper;
+        this.songReviewMapper = songReviewMapper;
+        this.albumReviewMapper = albumReviewMapper;
+    }
+
+    public Page<SongReviewResponse> enrichSongReviews(Page<SongReviewEntity> reviews) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(reviewIds(reviews.getContent()));
+        return reviews.map(review -> toSongReviewResponse(review, viewerReactions));
+    }
+
+    public Slice<SongReviewResponse> enrichSongReviews(Slice<SongReviewEntity> reviews) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(reviewIds(reviews.getContent()));
+        return reviews.map(review -> toSongReviewResponse(review, viewerReactions));
+    }
+
+    public List<SongReviewResponse> enrichSongReviews(List<SongReviewEntity> reviews) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(reviewIds(reviews));
+        return reviews.stream()
+                .map(review -> toSongReviewResponse(review, viewerReactions))
+                .toList();
+    }
+
+    public SongReviewResponse enrichSongReview(SongReviewEntity review) {
+        return toSongReviewResponse(review, loadViewerReactions(List.of(review.getReviewId())));
+    }
+
+    public Page<AlbumReviewResponse> enrichAlbumReviews(Page<AlbumReviewEntity> reviews) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(reviewIds(reviews.getContent()));
+        return reviews.map(review -> toAlbumReviewResponse(review, viewerReactions));
+    }
+
+    public Slice<AlbumReviewResponse> enrichAlbumReviews(Slice<AlbumReviewEntity> reviews) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(reviewIds(reviews.getContent()));
+        return reviews.map(review -> toAlbumReviewResponse(review, viewerReactions));
+    }
+
+    public AlbumReviewResponse enrichAlbumReview(AlbumReviewEntity review) {
+        return toAlbumReviewResponse(review, loadViewerReactions(List.of(review.getReviewId())));
+    }
+
+    public Page<SongReviewCardResponse> enrichSongReviewCards(Page<SongReviewCardResponse> cards) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(cards.getContent().stream()
+                .map(SongReviewCardResponse::getSongReviewId)
+                .toList());
+        cards.forEach(card -> card.setUserReaction(viewerReactions.get(card.getSongReviewId())));
+        return cards;
+    }
+
+    public Page<AlbumReviewCardResponse> enrichAlbumReviewCards(Page<AlbumReviewCardResponse> cards) {
+        Map<Long, ReactionResponse> viewerReactions = loadViewerReactions(cards.getContent().stream()
+                .map(AlbumReviewCardResponse::getAlbumReviewId)
+                .toList());
+        cards.forEach(card -> card.setUserReaction(viewerReactions.get(card.getAlbumReviewId())));
+        return cards;
+    }
+
+    private SongReviewResponse toSongReviewResponse(SongReviewEntity review, Map<Long, ReactionResponse> viewerReactions) {
+        return songReviewMapper.toResponse(
+                review,
+                review.getTotalLikes(),
+                review.getTotalDislikes(),
+                review.getTotalLoves(),
+                review.getTotalWows(),
+                viewerReactions.get(review.getReviewId()),
+                review.getTotalComments()
+        );
+    }
+
+    private AlbumReviewResponse toAlbumReviewResponse(AlbumReviewEntity review, Map<Long, ReactionResponse> viewerReactions) {
+        return albumReviewMapper.toResponse(
+                review,
+                review.getTotalLikes(),
+                review.getTotalDislikes(),
+                review.getTotalLoves(),
+                review.getTotalWows(),
+                viewerReactions.get(review.getReviewId()),
+                review.getTotalComments()
+        );
+    }
+
+    private static List<Long> reviewIds(List<? extends ReviewEntity> reviews) {
+        return reviews.stream()
+                .map(ReviewEntity::getReviewId)
+                .toList();
+    }
+
+    private Map<Long, ReactionResponse> loadViewerReactions(List<Long> reviewIds) {
+        Optional<Long> viewerId = AuthService.findAuthenticatedUserId();
+        if (reviewIds.isEmpty() || viewerId.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, ReactionResponse> viewerReactions = new HashMap<>();
+        for (ReactionEntity reaction : reactionRepository.findByUserIdAndReviewIds(viewerId.get(), reviewIds)) {
+            viewerReactions.put(reaction.getReview().getReviewId(), reactionMapper.toResponse(reaction));
+        }
+        return viewerReactions;
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 public class ReviewService {
     private final ReviewRepository reviewRepository;
@@ -20,13 +22,23 @@ public class ReviewService {
     private final CommentRepository commentRepository;
     private final AlbumReviewMapper albumReviewMapper;
     private final SongReviewMapper songReviewMapper;
+    private final EngagementCounterService engagementCounterService;
+    private final LeaderboardService leaderboardService;
+    private final UserStatsService userStatsService;
+    private final DashboardCounterService dashboardCounterService;
+    private final RatingAggregateService ratingAggregateService;
 
-    public ReviewService(ReviewRepository reviewRepository, ReactionRepository reactionRepository, CommentRepository commentRepository, AlbumReviewMapper albumReviewMapper, SongReviewMapper songReviewMapper) {
+    public ReviewService(ReviewRepository reviewRepository, ReactionRepository reactionRepository, CommentRepository commentRepository, AlbumReviewMapper albumReviewMapper, SongReviewMapper songReviewMapper, EngagementCounterService engagementCounterService, LeaderboardService leaderboardService, UserStatsService userStatsService, DashboardCounterService dashboardCounterService, RatingAggregateService ratingAggregateService) {
         this.reviewRepository = reviewRepository;
         this.reactionRepository = reactionRepository;
         this.commentRepository = commentRepository;
         this.albumReviewMapper = albumReviewMapper;
         this.songReviewMapper = songReviewMapper;
+        this.engagementCounterService = engagementCounterService;
+        this.leaderboardService = leaderboardService;
+        this.userStatsService = userStatsService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.ratingAggregateService = ratingAggregateService;
     }
 
     public Page<Object> getAllReviews (Pageable pageable){
@@ -47,12 +59,18 @@ public class ReviewService {
         ReviewEntity reviewEntity = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new IllegalArgumentException("Review with ID: " + reviewId + " not found."));
 
+        leaderboardService.reviewDeactivated(reviewEntity);
+        ratingAggregateService.reviewDeactivated(reviewEntity);
+        List<Long> touchedUsers = userStatsService.usersTouchedByReview(reviewId);
+        dashboardCounterService.reactionsDeleted(reactionRepository.countGroupedByTypeForReview(reviewId));
         reactionRepository.deleteReactionsOnReviewComments(reviewId);
-        commentRepository.deactivateByReviewId(reviewId);
+        dashboardCounterService.commentsDeactivated(commentRepository.deactivateByReviewId(reviewId));
         reactionRepository.deleteByReviewId(reviewId);
+        engagementCounterService.reviewDeactivated(reviewId);
 
         reviewEntity.setActive(false);
         reviewRepository.save(reviewEntity);
+        userStatsService.refresh(touchedUsers);
     }
 
     @Transactional
@@ -73,6 +91,10 @@ public class ReviewService {
 
         reviewEntity.setActive(true);
         reviewRepository.save(reviewEntity);
-        commentRepository.reactivateCommentByReviewId(reviewId);
+        leaderboardService.reviewReactivated(reviewEntity);
+        ratingAggregateService.reviewReactivated(reviewEntity);
+        dashboardCounterService.commentsActivated(commentRepository.reactivateCommentByReviewId(reviewId));
+        engagementCounterService.reviewReactivated(reviewId);
+        userStatsService.refresh(userStatsService.usersTouchedByReview(reviewId));
     }
 }
\ No newline at end of file
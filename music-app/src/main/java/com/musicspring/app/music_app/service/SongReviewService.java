@@ -4,23 +4,22 @@ import com.musicspring.app.music_app.exception.DuplicateReviewException;
 import com.musicspring.app.music_app.model.dto.request.*;
 import com.musicspring.app.music_app.model.dto.response.*;
 import com.musicspring.app.music_app.model.entity.*;
-import com.musicspring.app.music_app.model.enums.ReactionType;
 import com.musicspring.app.music_app.model.mapper.*;
+import com.musicspring.app.music_app.model.pagination.KeysetCursor;
+import com.musicspring.app.music_app.model.pagination.TotalMode;
 import com.musicspring.app.music_app.repository.*;
-import com.musicspring.app.music_app.security.entity.CredentialEntity;
 import com.musicspring.app.music_app.security.service.AuthService;
 import com.musicspring.app.music_app.spotify.service.SpotifyService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -37,8 +36,16 @@ public class SongReviewService {
     private final ArtistMapper artistMapper;
     private final ArtistRepository artistRepository;
     private final ReactionRepository reactionRepository;
-    private final ReactionMapper reactionMapper;
+    private final ReviewEnrichmentService reviewEnrichmentService;
     private final CommentRepository commentRepository;
+    private final EngagementCounterService engagementCounterService;
+    private final ApproximateCountService approximateCountService;
+    private final LeaderboardService leaderboardService;
+    private final UserStatsService userStatsService;
+    private final TrendingService trendingService;
+    private final DashboardCounterService dashboardCounterService;
+    private final RatingAggregateService ratingAggregateService;
+    private final ActivitySketchService activitySketchService;
 
     @Autowired
     public SongReviewService(SongReviewRepository songReviewRepository,
@@ -52,8 +59,16 @@ public class SongReviewService {
                              ArtistMapper artistMapper,
                              ArtistRepository artistRepository,
                              ReactionRepository reactionRepository,
-                             ReactionMapper reactionMapper,
-                             CommentRepository commentRepository) {
+                             ReviewEnrichmentService reviewEnrichmentService,
+                             CommentRepository commentRepository,
+                             EngagementCounterService engagementCounterService,
+                             ApproximateCountService approximateCountService,
+                             LeaderboardService leaderboardService,
+                             UserStatsService userStatsService,
+                             TrendingService trendingService,
+                             DashboardCounterService dashboardCounterService,
+                             RatingAggregateService ratingAggregateService,
+                             ActivitySketchService activitySketchService) {
         this.songReviewRepository = songReviewRepository;
         this.songRepository = songRepository;
         this.userRepository = userRepository;
@@ -65,19 +80,36 @@ public class SongReviewService {
         this.artistMapper = artistMapper;
         this.artistRepository = artistRepository;
         this.reactionRepository = reactionRepository;
-        this.reactionMapper = reactionMapper;
+        this.reviewEnrichmentService = reviewEnrichmentService;
         this.commentRepository = commentRepository;
+        this.engagementCounterService = engagementCounterService;
+        this.approximateCountService = approximateCountService;
+        this.leaderboardService = leaderboardService;
+        this.userStatsService = userStatsService;
+        this.trendingService = trendingService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.ratingAggregateService = ratingAggregateService;
+        this.activitySketchService = activitySketchService;
     }
 
     public Page<SongReviewResponse> findAll(Pageable pageable) {
-        return songReviewRepository.findAll(pageable)
-                .map(this::enrichSongReviewResponse);
+        return reviewEnrichmentService.enrichSongReviews(songReviewRepository.findAll(pageable));
+    }
+
+    public Slice<SongReviewResponse> findAll(Pageable pageable, TotalMode totalMode) {
+        return switch (totalMode) {
+            case EXACT -> findAll(pageable);
+            case APPROXIMATE -> approximateCountService.withApproximateTotal(
+                    reviewEnrichmentService.enrichSongReviews(songReviewRepository.findActiveSlice(pageable)),
+                    approximateCountService.activeSongReviews());
+            case NONE -> reviewEnrichmentService.enrichSongReviews(songReviewRepository.findActiveSlice(pageable));
+        };
     }
 
     public SongReviewResponse findById(Long id) {
-        SongReviewEntity review = songReviewRepository.findById(id)
+        SongReviewEntity review = songReviewRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Review not found"));
-        return enrichSongReviewResponse(review);
+        return reviewEnrichmentService.enrichSongReview(review);
     }
 
     @Transactional
@@ -87,12 +119,18 @@ public class SongReviewService {
 
         AuthService.validateRequestUserOwnership(songReview.getUser().getUserId());
 
+        leaderboardService.reviewDeactivated(songReview);
+        ratingAggregateService.reviewDeactivated(songReview);
+        List<Long> touchedUsers = userStatsService.usersTouchedByReview(id);
+        dashboardCounterService.reactionsDeleted(reactionRepository.countGroupedByTypeForReview(id));
         reactionRepository.deleteReactionsOnReviewComments(id);
         reactionRepository.deleteByReviewId(id);
-        commentRepository.deactivateByReviewId(id);
+        dashboardCounterService.commentsDeactivated(commentRepository.deactivateByReviewId(id));
+        engagementCounterService.reviewDeactivated(id);
 
         songReview.setActive(false);
         songReviewRepository.save(songReview);
+        userStatsService.refresh(touchedUsers);
     }
     @Transactional
     public SongReviewResponse reactivateById(Long id) {
@@ -107,11 +145,16 @@ public class SongReviewService {
 
         songReview.setActive(true);
         songReviewRepository.save(songReview);
+        leaderboardService.reviewReactivated(songReview);
+        ratingAggregateService.reviewReactivated(songReview);
 
 
-        commentRepository.reactivateByReviewId(id);
+        dashboardCounterService.commentsActivated(commentRepository.reactivateByReviewId(id));
+        engagementCounterService.reviewReactivated(id);
+        userStatsService.refresh(userStatsService.usersTouchedByReview(id));
 
-        return enrichSongReviewResponse(songReview);
+        return reviewEnrichmentService.enrichSongReview(songReviewRepository.findDetailedById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Song review with ID: " + id + " not found.")));
     }
     @Transactional
     public SongReviewResponse createSongReview(Long songId, String spotifyId,
@@ -140,8 +183,14 @@ public class SongReviewService {
 
         SongReviewEntity songReviewEntity = songReviewMapper.toEntity(songReviewRequest, userEntity, songEntity);
         SongReviewEntity savedEntity = songReviewRepository.save(songReviewEntity);
-
-        return enrichSongReviewResponse(savedEntity);
+        leaderboardService.reviewCreated(savedEntity);
+        userStatsService.reviewCreated(savedEntity);
+        trendingService.reviewCreated(savedEntity);
+        dashboardCounterService.reviewCreated(savedEntity);
+        ratingAggregateService.reviewCreated(savedEntity);
+        activitySketchService.reviewCreated(savedEntity);
+
+        return reviewEnrichmentService.enrichSongReview(savedEntity);
     }
 
     private void validateUserOwnership(Long authenticatedUserId, Long requestedUserId) {
@@ -198,64 +247,89 @@ public class SongReviewService {
 
         if (songId != null) {
             songRepository.findById(songId).orElseThrow(() -> new EntityNotFoundException("Song with ID: " + songId + " not found."));
-            return songReviewRepository.findBySong_Id(songId, pageable)
-                    .map(this::enrichSongReviewResponse);
+            return reviewEnrichmentService.enrichSongReviews(songReviewRepository.findBySong_Id(songId, pageable));
         } else {
             songRepository.findBySpotifyId(spotifyId).orElseThrow(() -> new EntityNotFoundException("Song with spotifyId: " + spotifyId + " not found."));
-            return songReviewRepository.findBySong_SpotifyId(spotifyId, pageable)
-                    .map(this::enrichSongReviewResponse);
+            return reviewEnrichmentService.enrichSongReviews(songReviewRepository.findBySong_SpotifyId(spotifyId, pageable));
         }
     }
 
+    public Page<SongReviewCardResponse> findCards(Pageable pageable) {
+        return reviewEnrichmentService.enrichSongReviewCards(songReviewRepository.findCards(pageable));
+    }
+
+    public Page<SongReviewCardResponse> findCardsBySong(Long songId, String spotifyId, Pageable pageable) {
+        validateIdentifiers(songId, spotifyId);
+
+        if (songId != null) {
+            if (!songRepository.existsById(songId)) {
+                throw new EntityNotFoundException("Song with ID: " + songId + " not found.");
+            }
+            return reviewEnrichmentService.enrichSongReviewCards(songReviewRepository.findCardsBySongId(songId, pageable));
+        } else {
+            if (!songRepository.existsBySpotifyId(spotifyId)) {
+                throw new EntityNotFoundException("Song with spotifyId: " + spotifyId + " not found.");
+            }
+            return reviewEnrichmentService.enrichSongReviewCards(songReviewRepository.findCardsBySongSpotifyId(spotifyId, pageable));
+        }
+    }
+
+    public CursorPageResponse<SongReviewResponse> findFeed(String after, int size) {
+        Pageable limit = KeysetCursor.limitFor(size);
+        List<SongReviewEntity> rows;
+        if (after == null) {
+            rows = songReviewRepository.findFeed(limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = songReviewRepository.findFeedAfter(cursor.timestamp(), cursor.id(), limit);
+        }
+        return toCursorPage(rows, size);
+    }
+
+    public CursorPageResponse<SongReviewResponse> findFeedBySong(Long songId, String spotifyId, String after, int size) {
+        validateIdentifiers(songId, spotifyId);
+        Pageable limit = KeysetCursor.limitFor(size);
+
+        SongEntity song = songId != null
+                ? songRepository.findById(songId).orElseThrow(() -> new EntityNotFoundException("Song with ID: " + songId + " not found."))
+                : songRepository.findBySpotifyId(spotifyId).orElseThrow(() -> new EntityNotFoundException("Song with spotifyId: " + spotifyId + " not found."));
+
+        List<SongReviewEntity> rows;
+        if (after == null) {
+            rows = songReviewRepository.findFeedBySongId(song.getSongId(), limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = songReviewRepository.findFeedBySongIdAfter(song.getSongId(), cursor.timestamp(), cursor.id(), limit);
+        }
+        return toCursorPage(rows, size);
+    }
+
+    private CursorPageResponse<SongReviewResponse> toCursorPage(List<SongReviewEntity> rows, int size) {
+        return CursorPageResponse.of(rows, size,
+                review -> new KeysetCursor(review.getDate(), review.getReviewId()),
+                reviewEnrichmentService::enrichSongReviews);
+    }
+
     public Page<SongReviewResponse> findByUserId(Long userId, Pageable pageable){
         Page<SongReviewEntity> page = songReviewRepository.findByUser_UserIdAndActiveTrue(userId, pageable);
-        return page.map(this::enrichSongReviewResponse);
+        return reviewEnrichmentService.enrichSongReviews(page);
     }
 
+    @Transactional
     public SongReviewResponse updateSongReview(Long songReviewId, ReviewUpdateRequest updateRequest) {
         SongReviewEntity songReviewEntity = songReviewRepository.findById(songReviewId)
                 .orElseThrow(() -> new EntityNotFoundException("Song review with ID: " + songReviewId + " not found."));
 
         AuthService.validateRequestUserOwnership(songReviewEntity.getUser().getUserId());
 
+        Double previousRating = songReviewEntity.getRating();
         songReviewEntity.setRating(updateRequest.getRating());
         songReviewEntity.setDescription(updateRequest.getDescription());
 
         SongReviewEntity updated = songReviewRepository.save(songReviewEntity);
+        userStatsService.reviewRatingChanged(updated, previousRating);
+        ratingAggregateService.reviewRatingChanged(updated, previousRating);
 
-        return enrichSongReviewResponse(updated);
-    }
-
-    private SongReviewResponse enrichSongReviewResponse(SongReviewEntity review) {
-        Long reviewId = review.getReviewId();
-
-        Long totalLikes = reactionRepository.countByReview_ReviewIdAndReactionType(reviewId, ReactionType.LIKE);
-        Long totalDislikes = reactionRepository.countByReview_ReviewIdAndReactionType(reviewId, ReactionType.DISLIKE);
-        Long totalLoves = reactionRepository.countByReview_ReviewIdAndReactionType(reviewId, ReactionType.LOVE);
-        Long totalWows = reactionRepository.countByReview_ReviewIdAndReactionType(reviewId, ReactionType.WOW);
-        Long totalComments = commentRepository.countByReviewEntity_ReviewIdAndActiveTrue(reviewId);
-
-        ReactionResponse userReactionDto = null;
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken) && authentication.isAuthenticated()) {
-            CredentialEntity credential = (CredentialEntity) authentication.getPrincipal();
-            UserEntity currentUser = credential.getUser();
-
-            Optional<ReactionEntity> userReactionOpt = reactionRepository.findByUserAndReview(currentUser, review);
-            if (userReactionOpt.isPresent()) {
-                userReactionDto = reactionMapper.toResponse(userReactionOpt.get());
-            }
-        }
-
-        return songReviewMapper.toResponse(
-                review,
-                totalLikes,
-                totalDislikes,
-                totalLoves,
-                totalWows,
-                userReactionDto,
-                totalComments
-        );
+        return reviewEnrichmentService.enrichSongReview(updated);
     }
 }
\ No newline at end of file
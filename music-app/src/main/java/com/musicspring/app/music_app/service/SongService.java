@@ -15,24 +15,27 @@ public class SongService  {
 
     private final SongRepository songRepository;
     private final SongMapper songMapper;
+    private final RatingAggregateService ratingAggregateService;
 
-    public SongService(SongRepository songRepository, SongMapper songMapper) {
+    public SongService(SongRepository songRepository, SongMapper songMapper,
+                       RatingAggregateService ratingAggregateService) {
         this.songRepository = songRepository;
         this.songMapper = songMapper;
+        this.ratingAggregateService = ratingAggregateService;
     }
 
     public Page<SongResponse> findAll(Pageable pageable) {
-        return songMapper.toResponsePage(songRepository.findAll(pageable));
+        return ratingAggregateService.withSongRatings(songMapper.toResponsePage(songRepository.findAll(pageable)));
     }
 
     public SongResponse findById(Long id) {
-        return songMapper.toResponse(songRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Song with ID: " + id + " not found.")));
+        return ratingAggregateService.withSongRating(songMapper.toResponse(songRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Song with ID: " + id + " not found."))));
     }
 
     public SongResponse findBySpotifyId(String spotifyId) {
-        return songMapper.toResponse(songRepository.findBySpotifyId(spotifyId)
-                .orElseThrow(() -> new EntityNotFoundException("Song with Spotify ID: " + spotifyId + " not found.")));
+        return ratingAggregateService.withSongRating(songMapper.toResponse(songRepository.findBySpotifyId(spotifyId)
+                .orElseThrow(() -> new EntityNotFoundException("Song with Spotify ID: " + spotifyId + " not found."))));
     }
 
 
@@ -41,6 +44,6 @@ public class SongService  {
                 query, query, pageable
         );
 
-        return songMapper.toResponsePage(songPage);
+        return ratingAggregateService.withSongRatings(songMapper.toResponsePage(songPage));
     }
 }
@@ -2,8 +2,10 @@ package com.musicspring.app.music_app.service;
 
 import com.musicspring.app.music_app.model.dto.response.*;
 import com.musicspring.app.music_app.model.entity.UserEntity;
-import com.musicspring.app.music_app.model.enums.CommentType;
+import com.musicspring.app.music_app.model.enums.LeaderboardMetric;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
 import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.model.enums.TrendingWindow;
 import com.musicspring.app.music_app.model.mapper.AlbumMapper;
 import com.musicspring.app.music_app.model.mapper.ArtistMapper;
 import com.musicspring.app.music_app.model.mapper.SongMapper;
@@ -13,9 +15,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.YearMonth;
-
+import java.util.List;
 
 @Service
 public class StatisticService {
@@ -26,19 +28,19 @@ public class StatisticService {
     private final ArtistMapper artistMapper;
     private final UserMapper userMapper;
     private final ArtistRepository artistRepository;
-    private final UserRepository userRepository;
-    private final ReviewRepository reviewRepository;
-    private final ReactionRepository reactionRepository;
-    private final CommentRepository commentRepository;
-    private final AlbumReviewRepository albumReviewRepository;
-    private final SongReviewRepository songReviewRepository;
+    private final UserStatsService userStatsService;
+    private final TrendingService trendingService;
+    private final DashboardCounterService dashboardCounterService;
+    private final RatingAggregateService ratingAggregateService;
+    private final TopRatedService topRatedService;
+    private final ActivitySketchService activitySketchService;
 
     public StatisticService(AlbumRepository albumRepository, SongRepository songRepository, 
                            SongMapper songMapper, AlbumMapper albumMapper, ArtistMapper artistMapper, UserMapper userMapper,
-                           ArtistRepository artistRepository, UserRepository userRepository,
-                           ReviewRepository reviewRepository, ReactionRepository reactionRepository,
-                           CommentRepository commentRepository, AlbumReviewRepository albumReviewRepository,
-                           SongReviewRepository songReviewRepository) {
+                           ArtistRepository artistRepository, UserStatsService userStatsService,
+                           TrendingService trendingService, DashboardCounterService dashboardCounterService,
+                           RatingAggregateService ratingAggregateService, TopRatedService topRatedService,
+                           ActivitySketchService activitySketchService) {
         this.albumRepository = albumRepository;
         this.songRepository = songRepository;
         this.songMapper = songMapper;
@@ -46,109 +48,97 @@ public class StatisticService {
         this.artistMapper = artistMapper;
         this.userMapper = userMapper;
         this.artistRepository = artistRepository;
-        this.userRepository = userRepository;
-        this.reviewRepository = reviewRepository;
-        this.reactionRepository = reactionRepository;
-        this.commentRepository = commentRepository;
-        this.albumReviewRepository = albumReviewRepository;
-        this.songReviewRepository = songReviewRepository;
+        this.userStatsService = userStatsService;
+        this.trendingService = trendingService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.ratingAggregateService = ratingAggregateService;
+        this.topRatedService = topRatedService;
+        this.activitySketchService = activitySketchService;
     }
 
     public Page<SongResponse> getMostReviewedSongs(Pageable pageable) {
-        return songMapper.toResponsePage(songRepository.findTopReviewedSongs(pageable));
+        return ratingAggregateService.withSongRatings(songMapper.toResponsePage(
+                songRepository.findLeaderboard(LeaderboardSubject.SONG, LeaderboardMetric.REVIEWS, pageable)));
     }
 
     public Page<SongResponse> getTopSongsByReactionType(ReactionType reactionType, Pageable pageable) {
-        return songMapper.toResponsePage(songRepository.findMostReactedSongs(reactionType, pageable));
+        return ratingAggregateService.withSongRatings(songMapper.toResponsePage(
+                songRepository.findLeaderboard(LeaderboardSubject.SONG, LeaderboardMetric.of(reactionType), pageable)));
     }
 
     public Page<AlbumResponse> getMostReviewedAlbums(Pageable pageable) {
-        return albumMapper.toResponsePage(albumRepository.findTopReviewedAlbums(pageable));
+        return ratingAggregateService.withAlbumRatings(albumMapper.toResponsePage(
+                albumRepository.findLeaderboard(LeaderboardSubject.ALBUM, LeaderboardMetric.REVIEWS, pageable)));
     }
 
     public Page<AlbumResponse> getTopAlbumsByReactionType(ReactionType reactionType, Pageable pageable) {
-        return albumMapper.toResponsePage(albumRepository.findMostReactedAlbums(reactionType, pageable));
+        return ratingAggregateService.withAlbumRatings(albumMapper.toResponsePage(
+                albumRepository.findLeaderboard(LeaderboardSubject.ALBUM, LeaderboardMetric.of(reactionType), pageable)));
     }
 
     public Page<ArtistResponse> getTopArtistsByReactionType(ReactionType reactionType, Pageable pageable) {
-        return artistMapper.toResponsePage(artistRepository.findTopArtistsByReactionType(reactionType, pageable));
+        return ratingAggregateService.withArtistRatings(artistMapper.toResponsePage(
+                artistRepository.findLeaderboard(LeaderboardSubject.ARTIST, LeaderboardMetric.of(reactionType), pageable)));
     }
 
     public Page<ArtistResponse> getMostReviewedArtists(Pageable pageable){
-        return artistMapper.toResponsePage(artistRepository.findMostReviewedArtists(pageable));
+        return ratingAggregateService.withArtistRatings(artistMapper.toResponsePage(
+                artistRepository.findLeaderboard(LeaderboardSubject.ARTIST, LeaderboardMetric.REVIEWS, pageable)));
     }
     
+    public Page<SongResponse> getTopRatedSongs(Pageable pageable) {
+        return ratingAggregateService.withSongRatings(topRatedService.getTopRatedSongs(pageable));
+    }
+
+    public Page<AlbumResponse> getTopRatedAlbums(Pageable pageable) {
+        return ratingAggregateService.withAlbumRatings(topRatedService.getTopRatedAlbums(pageable));
+    }
+
+    public Page<ArtistResponse> getTopRatedArtists(Pageable pageable) {
+        return ratingAggregateService.withArtistRatings(topRatedService.getTopRatedArtists(pageable));
+    }
+
+    public RatingSeriesResponse getSongRatingSeries(Long songId, YearMonth from, YearMonth to) {
+        return ratingAggregateService.getSongRatingSeries(songId, from, to);
+    }
+
+    public RatingSeriesResponse getAlbumRatingSeries(Long albumId, YearMonth from, YearMonth to) {
+        return ratingAggregateService.getAlbumRatingSeries(albumId, from, to);
+    }
+
+    public List<TrendingEntryResponse<SongResponse>> getTrendingSongs(TrendingWindow window, int limit) {
+        return trendingService.getTrendingSongs(window, limit);
+    }
+
+    public List<TrendingEntryResponse<AlbumResponse>> getTrendingAlbums(TrendingWindow window, int limit) {
+        return trendingService.getTrendingAlbums(window, limit);
+    }
+
+    public List<TrendingEntryResponse<ArtistResponse>> getTrendingArtists(TrendingWindow window, int limit) {
+        return trendingService.getTrendingArtists(window, limit);
+    }
+
     public UserStatsResponse getUserStatistics(Long userId) {
-    
-        LocalDateTime startOfMonth = YearMonth.now().atDay(1).atStartOfDay();
-        
-        Long totalAlbumReviews = albumReviewRepository.countByUserUserId(userId);
-        Long totalSongReviews = songReviewRepository.countByUserUserId(userId);
-        Long totalReviews = reviewRepository.countTotalReviewsByUserId(userId);
-        Double averageRating = userRepository.calculateUserAverageRating(userId);
-        
-        Long totalComments = commentRepository.countByUserUserId(userId);
-        Long albumComments = commentRepository.countCommentsByUserAndType(userId, CommentType.ALBUM_REVIEW);
-        Long songComments = commentRepository.countCommentsByUserAndType(userId, CommentType.SONG_REVIEW);
-        
-        Long totalReactions = reactionRepository.countByUserUserId(userId);
-        Long likesGiven = reactionRepository.countReactionsByUserAndType(userId, ReactionType.LIKE);
-        Long lovesGiven = reactionRepository.countReactionsByUserAndType(userId, ReactionType.LOVE);
-        Long wowsGiven = reactionRepository.countReactionsByUserAndType(userId, ReactionType.WOW);
-        Long dislikesGiven = reactionRepository.countReactionsByUserAndType(userId, ReactionType.DISLIKE);
-        
-        Long likesReceived = reactionRepository.countReactionsReceivedOnReviews(userId, ReactionType.LIKE) +
-                            reactionRepository.countReactionsReceivedOnComments(userId, ReactionType.LIKE);
-        Long lovesReceived = reactionRepository.countReactionsReceivedOnReviews(userId, ReactionType.LOVE) +
-                            reactionRepository.countReactionsReceivedOnComments(userId, ReactionType.LOVE);
-        Long wowsReceived = reactionRepository.countReactionsReceivedOnReviews(userId, ReactionType.WOW) +
-                           reactionRepository.countReactionsReceivedOnComments(userId, ReactionType.WOW);
-        Long dislikesReceived = reactionRepository.countReactionsReceivedOnReviews(userId, ReactionType.DISLIKE) +
-                               reactionRepository.countReactionsReceivedOnComments(userId, ReactionType.DISLIKE);
-        
-        Long reviewsThisMonth = reviewRepository.countReviewsThisMonth(userId, startOfMonth);
-        Long commentsThisMonth = commentRepository.countCommentsThisMonth(userId, startOfMonth);
-        Long reactionsThisMonth = reactionRepository.countReactionsThisMonth(userId, startOfMonth);
-
-        return new UserStatsResponse(
-                totalAlbumReviews, totalSongReviews, totalReviews, averageRating,
-                totalComments, albumComments, songComments,
-                totalReactions, likesGiven, lovesGiven, wowsGiven, dislikesGiven,
-                likesReceived, lovesReceived, wowsReceived, dislikesReceived,
-                reviewsThisMonth, commentsThisMonth, reactionsThisMonth
-        );
+        return userStatsService.getUserStatistics(userId);
+    }
+
+    public ActivityHeatmapResponse getUserActivityHeatmap(Long userId, Integer year) {
+        return userStatsService.getActivityHeatmap(userId, year);
     }
 
     public AdminDashboardResponse getAdminDashboard() {
-        Long totalUsers = userRepository.count();
-        Long activeUsers = userRepository.countByActiveTrue();
-        Long bannedUsers = userRepository.countByIsBannedTrue();
-
-        Long totalReviews = reviewRepository.count();
-        Long totalComments = commentRepository.countByActiveTrue();
-        Long totalReactions = reactionRepository.count();
-
-        Long albumReviews = albumReviewRepository.count();
-        Long songReviews = songReviewRepository.count();
-
-        Long likes = reactionRepository.countByReactionType(ReactionType.LIKE);
-        Long loves = reactionRepository.countByReactionType(ReactionType.LOVE);
-        Long wows = reactionRepository.countByReactionType(ReactionType.WOW);
-        Long dislikes = reactionRepository.countByReactionType(ReactionType.DISLIKE);
-
-        return AdminDashboardResponse.builder()
-                .totalUsers(totalUsers)
-                .activeUsers(activeUsers)
-                .bannedUsers(bannedUsers)
-                .totalReviews(totalReviews)
-                .totalComments(totalComments)
-                .totalReactions(totalReactions)
-                .albumReviews(albumReviews)
-                .songReviews(songReviews)
-                .likesCount(likes)
-                .lovesCount(loves)
-                .wowsCount(wows)
-                .dislikesCount(dislikes)
-                .build();
-    }
-}
\ No newline at end of file
+        return dashboardCounterService.getDashboard();
+    }
+
+    public ActiveUsersResponse getActiveUsers(LocalDate date) {
+        return activitySketchService.getActiveUsers(date != null ? date : LocalDate.now());
+    }
+
+    public UniqueReviewersResponse getUniqueAlbumReviewers(Long albumId) {
+        return activitySketchService.getAlbumReviewers(albumId);
+    }
+
+    public UniqueReviewersResponse getUniqueArtistReviewers(Long artistId) {
+        return activitySketchService.getArtistReviewers(artistId);
+    }
+}
@@ -0,0 +1,238 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.AlbumResponse;
+import com.musicspring.app.music_app.model.dto.response.ArtistResponse;
+import com.musicspring.app.music_app.model.dto.response.SongResponse;
+import com.musicspring.app.music_app.model.entity.AlbumEntity;
+import com.musicspring.app.music_app.model.entity.ArtistEntity;
+import com.musicspring.app.music_app.model.entity.SongEntity;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import com.musicspring.app.music_app.model.mapper.AlbumMapper;
+import com.musicspring.app.music_app.model.mapper.ArtistMapper;
+import com.musicspring.app.music_app.model.mapper.SongMapper;
+import com.musicspring.app.music_app.repository.AlbumRepository;
+import com.musicspring.app.music_app.repository.ArtistRepository;
+import com.musicspring.app.music_app.repository.RatingAggregateRepository;
+import com.musicspring.app.music_app.repository.RatingAggregateRepository.RatingTally;
+import com.musicspring.app.music_app.repository.SongRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Top rated songs, albums and artists by Bayesian average: every item starts with
+ * {@code app.ratings.prior-weight} imaginary reviews at the mean rating of its kind, so a single
+ * 5.0 review cannot outrank hundreds of good ones. Scores live in memory in a {@link RankedIndex}
+ * per kind and are moved as soon as a review write commits; a page is read by rank in O(log n).
+ * The index is rebuilt from the rating aggregates at startup and every
+ * {@code app.ratings.reconcile-interval}, which also refreshes the prior means and picks up writes
+ * made by other instances. Every adjustment carries the revision its write gave the aggregate row,
+ * and a rebuilt board remembers the revision it read for each row: adjustments applied to the old
+ * boards while the rebuild ran are replayed onto the new ones, and any adjustment the read already
+ * included is skipped, however late it arrives.
+ */
+@Service
+public class TopRatedService {
+
+    private static final double DEFAULT_PRIOR_MEAN = 2.75;
+
+    private final RatingAggregateRepository ratingAggregateRepository;
+    private final SongRepository songRepository;
+    private final AlbumRepository albumRepository;
+    private final ArtistRepository artistRepository;
+    private final SongMapper songMapper;
+    private final AlbumMapper albumMapper;
+    private final ArtistMapper artistMapper;
+    private final double priorWeight;
+
+    private volatile Map<LeaderboardSubject, Board> boards = new EnumMap<>(LeaderboardSubject.class);
+
+    private final Object adjustmentLock = new Object();
+
+    // Adjustments applied since the running rebuild started reading; null when none runs.
+    private List<Adjustment> pendingAdjustments;
+
+    public TopRatedService(RatingAggregateRepository ratingAggregateRepository,
+                           SongRepository songRepository,
+                           AlbumRepository albumRepository,
+                           ArtistRepository artistRepository,
+                           SongMapper songMapper,
+                           AlbumMapper albumMapper,
+                           ArtistMapper artistMapper,
+                           @Value("${app.ratings.prior-weight:5}") double priorWeight) {
+        this.ratingAggregateRepository = ratingAggregateRepository;
+        this.songRepository = songRepository;
+        this.albumRepository = albumRepository;
+        this.artistRepository = artistRepository;
+        this.songMapper = songMapper;
+        this.albumMapper = albumMapper;
+        this.artistMapper = artistMapper;
+        this.priorWeight = priorWeight;
+        for (LeaderboardSubject subject : LeaderboardSubject.values()) {
+            boards.put(subject, new Board(DEFAULT_PRIOR_MEAN, priorWeight));
+        }
+    }
+
+    /**
+     * Applies a change to one item's ratings once the surrounding transaction commits.
+     * {@code revision} is the revision of the aggregate row after the write.
+     */
+    public void ratingsAdjusted(LeaderboardSubject subject, Long subjectId, double rating, int delta, long revision) {
+        AfterCommit.run(() -> apply(new Adjustment(subject, subjectId, delta, rating * delta, revision)));
+    }
+
+    public Page<SongResponse> getTopRatedSongs(Pageable pageable) {
+        return page(LeaderboardSubject.SONG, pageable,
+                ids -> songRepository.findBySongIdIn(ids).stream()
+                        .collect(Collectors.toMap(SongEntity::getSongId, songMapper::toResponse)));
+    }
+
+    public Page<AlbumResponse> getTopRatedAlbums(Pageable pageable) {
+        return page(LeaderboardSubject.ALBUM, pageable,
+                ids -> albumRepository.findByAlbumIdIn(ids).stream()
+                        .collect(Collectors.toMap(AlbumEntity::getAlbumId, albumMapper::toResponse)));
+    }
+
+    public Page<ArtistResponse> getTopRatedArtists(Pageable pageable) {
+        return page(LeaderboardSubject.ARTIST, pageable,
+                ids -> artistRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(ArtistEntity::getArtistId, artistMapper::toResponse)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratings.reconcile-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        synchronized (adjustmentLock) {
+            pendingAdjustments = new ArrayList<>();
+        }
+        try {
+            swapBoards(buildBoards());
+        } finally {
+            synchronized (adjustmentLock) {
+                pendingAdjustments = null;
+            }
+        }
+    }
+
+    private Map<LeaderboardSubject, Board> buildBoards() {
+        Map<LeaderboardSubject, List<RatingTally>> tallies = ratingAggregateRepository.findAllTallies().stream()
+                .collect(Collectors.groupingBy(RatingTally::getSubjectType));
+
+        Map<LeaderboardSubject, Board> rebuilt = new EnumMap<>(LeaderboardSubject.class);
+        for (LeaderboardSubject subject : LeaderboardSubject.values()) {
+            List<RatingTally> rows = tallies.getOrDefault(subject, List.of());
+            long count = rows.stream().mapToLong(RatingTally::getRatingCount).sum();
+            double sum = rows.stream().mapToDouble(RatingTally::getRatingSum).sum();
+            Board board = new Board(count > 0 ? sum / count : DEFAULT_PRIOR_MEAN, priorWeight);
+            rows.forEach(row -> board.load(row.getSubjectId(), row.getRatingCount(), row.getRatingSum(), row.getRevision()));
+            rebuilt.put(subject, board);
+        }
+        return rebuilt;
+    }
+
+    private void swapBoards(Map<LeaderboardSubject, Board> rebuilt) {
+        synchronized (adjustmentLock) {
+            pendingAdjustments.forEach(adjustment -> adjustment.applyTo(rebuilt));
+            boards = rebuilt;
+        }
+    }
+
+    private void apply(Adjustment adjustment) {
+        synchronized (adjustmentLock) {
+            if (pendingAdjustments != null) {
+                pendingAdjustments.add(adjustment);
+            }
+            adjustment.applyTo(boards);
+        }
+    }
+
+    private <T> Page<T> page(LeaderboardSubject subject, Pageable pageable, Function<List<Long>, Map<Long, T>> loader) {
+        Board board = boards.get(subject);
+        List<Long> ids;
+        long total;
+        synchronized (board) {
+            total = board.index.size();
+            ids = board.index.range(pageable.getOffset(), pageable.getPageSize());
+        }
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        Map<Long, T> responses = loader.apply(ids);
+        List<T> content = ids.stream().map(responses::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Count and sum of ratings per item of one kind, plus the index ordered by their Bayesian
+     * average. The prior mean is fixed for the life of a board so scores stay comparable.
+     */
+    static final class Board {
+
+        private final double priorMean;
+        private final double priorWeight;
+        private final Map<Long, Tally> tallies = new HashMap<>();
+        // Revision of each aggregate row when the board was built; adjustments up to it are counted.
+        private final Map<Long, Long> readRevisions = new HashMap<>();
+        final RankedIndex index = new RankedIndex();
+
+        Board(double priorMean, double priorWeight) {
+            this.priorMean = priorMean;
+            this.priorWeight = priorWeight;
+        }
+
+        synchronized void load(Long subjectId, long count, double sum, long revision) {
+            readRevisions.put(subjectId, revision);
+            adjust(subjectId, count, sum);
+        }
+
+        synchronized void adjustIfNewer(Long subjectId, long countDelta, double sumDelta, long revision) {
+            if (revision > readRevisions.getOrDefault(subjectId, 0L)) {
+                adjust(subjectId, countDelta, sumDelta);
+            }
+        }
+
+        synchronized void adjust(Long subjectId, long countDelta, double sumDelta) {
+            Tally previous = tallies.get(subjectId);
+            if (previous != null) {
+                index.remove(subjectId, score(previous));
+            }
+            Tally updated = previous == null
+                    ? new Tally(countDelta, sumDelta)
+                    : new Tally(previous.count() + countDelta, previous.sum() + sumDelta);
+            if (updated.count() > 0) {
+                tallies.put(subjectId, updated);
+                index.insert(subjectId, score(updated));
+            } else {
+                tallies.remove(subjectId);
+            }
+        }
+
+        private double score(Tally tally) {
+            return (priorWeight * priorMean + tally.sum()) / (priorWeight + tally.count());
+        }
+    }
+
+    private record Tally(long count, double sum) {
+    }
+
+    private record Adjustment(LeaderboardSubject subject, Long subjectId, long countDelta, double sumDelta,
+                              long revision) {
+
+        void applyTo(Map<LeaderboardSubject, Board> boards) {
+            boards.get(subject).adjustIfNewer(subjectId, countDelta, sumDelta, revision);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.AlbumResponse;
+import com.musicspring.app.music_app.model.dto.response.ArtistResponse;
+import com.musicspring.app.music_app.model.dto.response.SongResponse;
+import com.musicspring.app.music_app.model.dto.response.TrendingEntryResponse;
+import com.musicspring.app.music_app.model.entity.AlbumEntity;
+import com.musicspring.app.music_app.model.entity.AlbumReviewEntity;
+import com.musicspring.app.music_app.model.entity.ArtistEntity;
+import com.musicspring.app.music_app.model.entity.ReactionEntity;
+import com.musicspring.app.music_app.model.entity.ReviewEntity;
+import com.musicspring.app.music_app.model.entity.SongEntity;
+import com.musicspring.app.music_app.model.entity.SongReviewEntity;
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import com.musicspring.app.music_app.model.enums.TrendingWindow;
+import com.musicspring.app.music_app.model.mapper.AlbumMapper;
+import com.musicspring.app.music_app.model.mapper.ArtistMapper;
+import com.musicspring.app.music_app.model.mapper.SongMapper;
+import com.musicspring.app.music_app.repository.AlbumRepository;
+import com.musicspring.app.music_app.repository.ArtistRepository;
+import com.musicspring.app.music_app.repository.SongRepository;
+import org.hibernate.Hibernate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending songs, albums and artists over the last hour, day and week, counted in memory. Every
+ * review and review reaction adds one to the rings of time buckets kept for its song or album and
+ * that artist, once the writing transaction commits. A background job sums the rings for each
+ * window, keeps the top entries with a bounded heap and resolves them to responses, so reads only
+ * hand out the last computed lists. Rankings are per instance, at most
+ * {@code app.trending.refresh-interval} old, and start empty after a restart.
+ */
+@Service
+public class TrendingService {
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final Comparator<Ranked> BY_ACTIVITY =
+            Comparator.comparingLong(Ranked::activity).thenComparing(Ranked::id);
+
+    private final SongRepository songRepository;
+    private final AlbumRepository albumRepository;
+    private final ArtistRepository artistRepository;
+    private final SongMapper songMapper;
+    private final AlbumMapper albumMapper;
+    private final ArtistMapper artistMapper;
+
+    private final Map<LeaderboardSubject, ConcurrentHashMap<Long, ActivityCounter>> counters =
+            new EnumMap<>(LeaderboardSubject.class);
+
+    private volatile Rankings rankings = Rankings.EMPTY;
+
+    public TrendingService(SongRepository songRepository,
+                           AlbumRepository albumRepository,
+                           ArtistRepository artistRepository,
+                           SongMapper songMapper,
+                           AlbumMapper albumMapper,
+                           ArtistMapper artistMapper) {
+        this.songRepository = songRepository;
+        this.albumRepository = albumRepository;
+        this.artistRepository = artistRepository;
+        this.songMapper = songMapper;
+        this.albumMapper = albumMapper;
+        this.artistMapper = artistMapper;
+        for (LeaderboardSubject subject : LeaderboardSubject.values()) {
+            counters.put(subject, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void reviewCreated(ReviewEntity review) {
+        recordAfterCommit(targetsOf(review));
+    }
+
+    public void reactionCreated(ReactionEntity reaction) {
+        if (reaction.getReview() != null) {
+            recordAfterCommit(targetsOf((ReviewEntity) Hibernate.unproxy(reaction.getReview())));
+        }
+    }
+
+    public List<TrendingEntryResponse<SongResponse>> getTrendingSongs(TrendingWindow window, int limit) {
+        return firstEntries(rankings.songs().get(window), limit);
+    }
+
+    public List<TrendingEntryResponse<AlbumResponse>> getTrendingAlbums(TrendingWindow window, int limit) {
+        return firstEntries(rankings.albums().get(window), limit);
+    }
+
+    public List<TrendingEntryResponse<ArtistResponse>> getTrendingArtists(TrendingWindow window, int limit) {
+        return firstEntries(rankings.artists().get(window), limit);
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval:PT30S}")
+    @Transactional(readOnly = true)
+    public void refreshRankings() {
+        long now = System.currentTimeMillis();
+        evictIdleCounters(now);
+
+        Map<TrendingWindow, List<Ranked>> songRanks = topByWindow(LeaderboardSubject.SONG, now);
+        Map<TrendingWindow, List<Ranked>> albumRanks = topByWindow(LeaderboardSubject.ALBUM, now);
+        Map<TrendingWindow, List<Ranked>> artistRanks = topByWindow(LeaderboardSubject.ARTIST, now);
+
+        Map<Long, SongResponse> songs = songRepository.findBySongIdIn(idsOf(songRanks)).stream()
+                .collect(Collectors.toMap(SongEntity::getSongId, songMapper::toResponse));
+        Map<Long, AlbumResponse> albums = albumRepository.findByAlbumIdIn(idsOf(albumRanks)).stream()
+                .collect(Collectors.toMap(AlbumEntity::getAlbumId, albumMapper::toResponse));
+        Map<Long, ArtistResponse> artists = artistRepository.findAllById(idsOf(artistRanks)).stream()
+                .collect(Collectors.toMap(ArtistEntity::getArtistId, artistMapper::toResponse));
+
+        rankings = new Rankings(resolve(songRanks, songs::get), resolve(albumRanks, albums::get),
+                resolve(artistRanks, artists::get));
+    }
+
+    private List<Target> targetsOf(ReviewEntity review) {
+        if (review instanceof SongReviewEntity songReview) {
+            Long songId = songReview.getSong().getSongId();
+            return withArtist(new Target(LeaderboardSubject.SONG, songId), songRepository.findArtistIdBySongId(songId));
+        }
+        if (review instanceof AlbumReviewEntity albumReview) {
+            Long albumId = albumReview.getAlbum().getAlbumId();
+            return withArtist(new Target(LeaderboardSubject.ALBUM, albumId), albumRepository.findArtistIdByAlbumId(albumId));
+        }
+        return List.of();
+    }
+
+    private static List<Target> withArtist(Target target, Optional<Long> artistId) {
+        return artistId
+                .map(id -> List.of(target, new Target(LeaderboardSubject.ARTIST, id)))
+                .orElseGet(() -> List.of(target));
+    }
+
+    private void recordAfterCommit(List<Target> targets) {
+        if (!targets.isEmpty()) {
+            AfterCommit.run(() -> record(targets));
+        }
+    }
+
+    private void record(List<Target> targets) {
+        long now = System.currentTimeMillis();
+        for (Target target : targets) {
+            counters.get(target.subject()).compute(target.id(), (id, counter) -> {
+                ActivityCounter updated = counter != null ? counter : new ActivityCounter();
+                updated.add(now);
+                return updated;
+            });
+        }
+    }
+
+    private void evictIdleCounters(long now) {
+        for (ConcurrentHashMap<Long, ActivityCounter> subjectCounters : counters.values()) {
+            for (Long id : subjectCounters.keySet()) {
+                subjectCounters.computeIfPresent(id, (key, counter) -> counter.isIdle(now) ? null : counter);
+            }
+        }
+    }
+
+    private Map<TrendingWindow, List<Ranked>> topByWindow(LeaderboardSubject subject, long now) {
+        Map<TrendingWindow, List<Ranked>> ranks = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            ranks.put(window, top(counters.get(subject), window, now));
+        }
+        return ranks;
+    }
+
+    private static List<Ranked> top(Map<Long, ActivityCounter> subjectCounters, TrendingWindow window, long now) {
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(MAX_RESULTS + 1, BY_ACTIVITY);
+        subjectCounters.forEach((id, counter) -> {
+            long activity = counter.total(window, now);
+            if (activity > 0) {
+                heap.offer(new Ranked(id, activity));
+                if (heap.size() > MAX_RESULTS) {
+                    heap.poll();
+                }
+            }
+        });
+        List<Ranked> top = new ArrayList<>(heap);
+        top.sort(BY_ACTIVITY.reversed());
+        return top;
+    }
+
+    private static Set<Long> idsOf(Map<TrendingWindow, List<Ranked>> ranks) {
+        return ranks.values().stream()
+                .flatMap(List::stream)
+                .map(Ranked::id)
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<TrendingWindow, List<TrendingEntryResponse<T>>> resolve(Map<TrendingWindow, List<Ranked>> ranks,
+                                                                                 Function<Long, T> responses) {
+        Map<TrendingWindow, List<TrendingEntryResponse<T>>> resolved = new EnumMap<>(TrendingWindow.class);
+        ranks.forEach((window, ranked) -> resolved.put(window, ranked.stream()
+                .filter(entry -> responses.apply(entry.id()) != null)
+                .map(entry -> new TrendingEntryResponse<>(responses.apply(entry.id()), entry.activity()))
+                .toList()));
+        return resolved;
+    }
+
+    private static <T> List<TrendingEntryResponse<T>> firstEntries(List<TrendingEntryResponse<T>> entries, int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        if (entries == null) {
+            return List.of();
+        }
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    private record Target(LeaderboardSubject subject, Long id) {
+    }
+
+    private record Ranked(Long id, long activity) {
+    }
+
+    private record Rankings(Map<TrendingWindow, List<TrendingEntryResponse<SongResponse>>> songs,
+                            Map<TrendingWindow, List<TrendingEntryResponse<AlbumResponse>>> albums,
+                            Map<TrendingWindow, List<TrendingEntryResponse<ArtistResponse>>> artists) {
+
+        static final Rankings EMPTY = new Rankings(Map.of(), Map.of(), Map.of());
+    }
+
+    /**
+     * One ring of buckets per window. A slot remembers which bucket it holds, so a slot left over
+     * from an earlier lap of the ring is reset on write and ignored on read.
+     */
+    static final class ActivityCounter {
+
+        private static final TrendingWindow[] WINDOWS = TrendingWindow.values();
+
+        private final long[][] counts = new long[WINDOWS.length][];
+        private final long[][] buckets = new long[WINDOWS.length][];
+
+        ActivityCounter() {
+            for (TrendingWindow window : WINDOWS) {
+                counts[window.ordinal()] = new long[window.getBucketCount()];
+                buckets[window.ordinal()] = new long[window.getBucketCount()];
+                Arrays.fill(buckets[window.ordinal()], -1);
+            }
+        }
+
+        synchronized void add(long now) {
+            for (TrendingWindow window : WINDOWS) {
+                int ring = window.ordinal();
+                long bucket = now / window.getBucketMillis();
+                int slot = (int) (bucket % window.getBucketCount());
+                if (buckets[ring][slot] != bucket) {
+                    buckets[ring][slot] = bucket;
+                    counts[ring][slot] = 0;
+                }
+                counts[ring][slot]++;
+            }
+        }
+
+        synchronized long total(TrendingWindow window, long now) {
+            int ring = window.ordinal();
+            long oldest = now / window.getBucketMillis() - window.getBucketCount();
+            long total = 0;
+            for (int slot = 0; slot < window.getBucketCount(); slot++) {
+                if (buckets[ring][slot] > oldest) {
+                    total += counts[ring][slot];
+                }
+            }
+            return total;
+        }
+
+        boolean isIdle(long now) {
+            return total(TrendingWindow.WEEK, now) == 0;
+        }
+    }
+}
@@ -53,6 +53,9 @@ public class UserService {
     private final AuthMapper authMapper;
     private final RoleRepository roleRepository;
     private final EmailVerificatorService emailVerificatorService;
+    private final EngagementCounterService engagementCounterService;
+    private final UserStatsService userStatsService;
+    private final DashboardCounterService dashboardCounterService;
 
     @Autowired
     public UserService(UserRepository userRepository,
@@ -68,7 +71,10 @@ public class UserService {
                        StatisticService statisticService,
                        JwtService jwtService,
                        AuthMapper authMapper,
-                       RoleRepository roleRepository, EmailVerificatorService emailVerificatorService) {
+                       RoleRepository roleRepository, EmailVerificatorService emailVerificatorService,
+                       EngagementCounterService engagementCounterService,
+                       UserStatsService userStatsService,
+                       DashboardCounterService dashboardCounterService) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.credentialRepository = credentialRepository;
@@ -84,6 +90,9 @@ public class UserService {
         this.authMapper = authMapper;
         this.roleRepository = roleRepository;
         this.emailVerificatorService = emailVerificatorService;
+        this.engagementCounterService = engagementCounterService;
+        this.userStatsService = userStatsService;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
 
@@ -194,10 +203,12 @@ public class UserService {
         CredentialEntity credential = existingUser.getCredential();
 
 
+        boolean wasActive = existingUser.getActive();
         if (updateRequest.getActive() != null)
             existingUser.setActive(updateRequest.getActive());
 
         UserEntity savedUser = userRepository.save(existingUser);
+        dashboardCounterService.userActiveChanged(wasActive, savedUser.getActive());
         return userMapper.toUserProfileResponse(savedUser);
     }
 
@@ -284,6 +295,7 @@ public class UserService {
         if (request.getUsername() != null) {
             user.setUsername(request.getUsername());
         }
+        boolean wasActive = user.getActive();
         if (request.getActive() != null) {
             user.setActive(request.getActive());
         }
@@ -295,6 +307,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        dashboardCounterService.userActiveChanged(wasActive, user.getActive());
 
         UserStatsResponse stats = statisticService.getUserStatistics(user.getUserId());
 
@@ -341,23 +354,35 @@ public class UserService {
     }
     private void deactivateUserAccountLogic(UserEntity user) {
         Long userId = user.getUserId();
-        commentRepository.deactivateCommentsOnUserReviews(userId);
+        List<Long> touchedUsers = userStatsService.usersTouchedByAccount(userId);
+        engagementCounterService.userDeactivating(userId);
+        int deactivatedComments = commentRepository.deactivateCommentsOnUserReviews(userId);
         albumReviewRepository.deactivateByUserId(userId);
         songReviewRepository.deactivateByUserId(userId);
-        commentRepository.deactivateByUserId(userId);
+        deactivatedComments += commentRepository.deactivateByUserId(userId);
+        dashboardCounterService.commentsDeactivated(deactivatedComments);
+        dashboardCounterService.reactionsDeleted(reactionRepository.countGroupedByTypeForUser(userId));
         reactionRepository.deleteByUserId(userId);
+        boolean wasActive = user.getActive();
         user.setActive(false);
         userRepository.save(user);
+        dashboardCounterService.userActiveChanged(wasActive, false);
+        userStatsService.refresh(touchedUsers);
     }
 
     private void reactivateUserAccountLogic(UserEntity user) {
         Long userId = user.getUserId();
+        boolean wasActive = user.getActive();
         user.setActive(true);
         userRepository.save(user);
+        dashboardCounterService.userActiveChanged(wasActive, true);
         albumReviewRepository.reactivateByUserId(userId);
         songReviewRepository.reactivateByUserId(userId);
-        commentRepository.reactivateByUserId(userId);
-        commentRepository.reactivateCommentsOnUserReviews(userId);
+        int reactivatedComments = commentRepository.reactivateByUserId(userId);
+        reactivatedComments += commentRepository.reactivateCommentsOnUserReviews(userId);
+        dashboardCounterService.commentsActivated(reactivatedComments);
+        engagementCounterService.userReactivated(userId);
+        userStatsService.refresh(userStatsService.usersTouchedByAccount(userId));
     }
 
     @Transactional
@@ -372,6 +397,7 @@ public class UserService {
             throw new IllegalStateException("User with ID: " + id + " is already banned.");
         }
         user.setIsBanned(true);
+        dashboardCounterService.userBannedChanged(false, true);
         deactivateUserAccountLogic(user);
     }
 
@@ -383,6 +409,7 @@ public class UserService {
             throw new IllegalStateException("User with ID: " + id + " is not currently banned.");
         }
         user.setIsBanned(false);
+        dashboardCounterService.userBannedChanged(true, false);
         reactivateUserAccountLogic(user);
     }
 }
\ No newline at end of file
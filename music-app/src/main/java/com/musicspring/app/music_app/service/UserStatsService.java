@@ -0,0 +1,230 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.ActivityDayResponse;
+import com.musicspring.app.music_app.model.dto.response.ActivityHeatmapResponse;
+import com.musicspring.app.music_app.model.dto.response.UserStatsResponse;
+import com.musicspring.app.music_app.model.entity.AlbumReviewEntity;
+import com.musicspring.app.music_app.model.entity.CommentEntity;
+import com.musicspring.app.music_app.model.entity.ReactionEntity;
+import com.musicspring.app.music_app.model.entity.ReviewEntity;
+import com.musicspring.app.music_app.model.entity.UserStatsEntity;
+import com.musicspring.app.music_app.model.enums.CommentType;
+import com.musicspring.app.music_app.model.enums.ReactionType;
+import com.musicspring.app.music_app.repository.UserDailyActivityRepository;
+import com.musicspring.app.music_app.repository.UserDailyActivityRepository.ActivityTotals;
+import com.musicspring.app.music_app.repository.UserRepository;
+import com.musicspring.app.music_app.repository.UserStatsRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.Hibernate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Serves profile statistics from the {@code user_stats} snapshot and the per-day activity rollup.
+ * Single reviews, comments and reactions adjust both with atomic writes, so callers must run
+ * inside the transaction making the change. Changes that cascade to other users' content
+ * (deleting or reactivating a review, deactivating or reactivating an account) recompute the
+ * figures of every user involved instead. A user's figures are built on first read and all of
+ * them are rebuilt nightly.
+ */
+@Service
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final UserDailyActivityRepository userDailyActivityRepository;
+    private final UserRepository userRepository;
+
+    public UserStatsService(UserStatsRepository userStatsRepository,
+                            UserDailyActivityRepository userDailyActivityRepository,
+                            UserRepository userRepository) {
+        this.userStatsRepository = userStatsRepository;
+        this.userDailyActivityRepository = userDailyActivityRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Transactional
+    public UserStatsResponse getUserStatistics(Long userId) {
+        UserStatsEntity stats = userStatsRepository.findById(userId).orElseGet(() -> {
+            refresh(List.of(userId));
+            return userStatsRepository.findById(userId).orElse(null);
+        });
+        if (stats == null) {
+            return emptyResponse();
+        }
+        LocalDate today = LocalDate.now();
+        ActivityTotals thisMonth = userDailyActivityRepository.sumBetween(userId, today.withDayOfMonth(1), today);
+        return toResponse(stats, thisMonth);
+    }
+
+    /**
+     * Daily activity for the calendar year, or for the 365 days up to today when no year is given.
+     * Only days with activity are listed. Like the profile figures, the days are built on first read.
+     */
+    @Transactional
+    public ActivityHeatmapResponse getActivityHeatmap(Long userId, Integer year) {
+        if (year != null && (year < 1970 || year > Year.now().getValue())) {
+            throw new IllegalArgumentException("Year must be between 1970 and the current year");
+        }
+        if (!userRepository.existsActiveById(userId)) {
+            throw new EntityNotFoundException("User with ID: " + userId + " was not found.");
+        }
+        if (!userStatsRepository.existsById(userId)) {
+            refresh(List.of(userId));
+        }
+        LocalDate to = year != null ? Year.of(year).atMonth(12).atEndOfMonth() : LocalDate.now();
+        LocalDate from = year != null ? Year.of(year).atDay(1) : to.minusDays(364);
+
+        List<ActivityDayResponse> days = userDailyActivityRepository.findDays(userId, from, to).stream()
+                .filter(day -> day.getReviews() + day.getComments() + day.getReactions() > 0)
+                .map(day -> new ActivityDayResponse(day.getId().getActivityDate(),
+                        day.getReviews(), day.getComments(), day.getReactions()))
+                .toList();
+        return new ActivityHeatmapResponse(userId, from, to, days);
+    }
+
+    public void reviewCreated(ReviewEntity review) {
+        adjustReviews(review, 1, review.getRating());
+    }
+
+    public void reviewRatingChanged(ReviewEntity review, Double previousRating) {
+        if (!Boolean.TRUE.equals(review.getActive()) || Objects.equals(previousRating, review.getRating())) {
+            return;
+        }
+        userStatsRepository.adjustReviews(review.getUser().getUserId(), 0, 0,
+                review.getRating() - previousRating);
+    }
+
+    public void commentCreated(CommentEntity comment) {
+        adjustComments(comment, 1);
+    }
+
+    public void commentDeactivated(CommentEntity comment) {
+        adjustComments(comment, -1);
+    }
+
+    public void reactionCreated(ReactionEntity reaction) {
+        adjustReaction(reaction, reaction.getReactionType(), 1);
+        adjustActivity(reaction.getUser().getUserId(), reaction.getCreatedAt(), 0, 0, 1);
+    }
+
+    public void reactionTypeChanged(ReactionEntity reaction, ReactionType previousType) {
+        if (previousType == reaction.getReactionType()) {
+            return;
+        }
+        adjustReaction(reaction, previousType, -1);
+        adjustReaction(reaction, reaction.getReactionType(), 1);
+    }
+
+    public void reactionDeleted(ReactionEntity reaction) {
+        adjustReaction(reaction, reaction.getReactionType(), -1);
+        adjustActivity(reaction.getUser().getUserId(), reaction.getCreatedAt(), 0, 0, -1);
+    }
+
+    /**
+     * Users whose figures change when the review is deleted or reactivated. Collect them before
+     * deleting, since the deletion removes the reactions that identify some of them.
+     */
+    public List<Long> usersTouchedByReview(Long reviewId) {
+        return userStatsRepository.findUserIdsTouchedByReview(reviewId);
+    }
+
+    public List<Long> usersTouchedByAccount(Long userId) {
+        return userStatsRepository.findUserIdsTouchedByAccount(userId);
+    }
+
+    public void refresh(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            userStatsRepository.refreshSnapshots(userIds);
+            userDailyActivityRepository.deleteByUserIds(userIds);
+            userDailyActivityRepository.recountUsers(userIds);
+        }
+    }
+
+    @Scheduled(cron = "0 45 3 * * ?")
+    @Transactional
+    public void rebuildAllSnapshots() {
+        userStatsRepository.refreshAllSnapshots();
+        userDailyActivityRepository.deleteAllDays();
+        userDailyActivityRepository.recountAll();
+    }
+
+    private void adjustReviews(ReviewEntity review, int delta, Double rating) {
+        boolean album = review instanceof AlbumReviewEntity;
+        userStatsRepository.adjustReviews(review.getUser().getUserId(),
+                album ? delta : 0,
+                album ? 0 : delta,
+                rating != null ? delta * rating : 0);
+        adjustActivity(review.getUser().getUserId(), review.getDate(), delta, 0, 0);
+    }
+
+    private void adjustComments(CommentEntity comment, int delta) {
+        boolean album = comment.getCommentType() == CommentType.ALBUM_REVIEW;
+        userStatsRepository.adjustComments(comment.getUser().getUserId(),
+                album ? delta : 0,
+                album ? 0 : delta);
+        adjustActivity(comment.getUser().getUserId(), comment.getCreatedAt(), 0, delta, 0);
+    }
+
+    private void adjustReaction(ReactionEntity reaction, ReactionType reactionType, long delta) {
+        userStatsRepository.adjustReactionsGiven(reaction.getUser().getUserId(), reactionType.name(), delta);
+
+        Long recipientId = recipientOf(reaction);
+        if (recipientId != null) {
+            userStatsRepository.adjustReactionsReceived(recipientId, reactionType.name(), delta);
+        }
+    }
+
+    private static Long recipientOf(ReactionEntity reaction) {
+        if (reaction.getReview() != null) {
+            return ((ReviewEntity) Hibernate.unproxy(reaction.getReview())).getUser().getUserId();
+        }
+        if (reaction.getComment() != null) {
+            return ((CommentEntity) Hibernate.unproxy(reaction.getComment())).getUser().getUserId();
+        }
+        return null;
+    }
+
+    // Rows written in this request may not have their creation timestamp yet.
+    private void adjustActivity(Long userId, LocalDateTime createdAt, int reviews, int comments, int reactions) {
+        LocalDate day = createdAt != null ? createdAt.toLocalDate() : LocalDate.now();
+        userDailyActivityRepository.adjust(userId, day, reviews, comments, reactions);
+    }
+
+    private static UserStatsResponse toResponse(UserStatsEntity stats, ActivityTotals thisMonth) {
+        long totalReviews = stats.getAlbumReviews() + stats.getSongReviews();
+        return UserStatsResponse.builder()
+                .totalAlbumReviews(stats.getAlbumReviews())
+                .totalSongReviews(stats.getSongReviews())
+                .totalReviews(totalReviews)
+                .averageRating(totalReviews > 0 ? stats.getRatingSum() / totalReviews : null)
+                .totalComments(stats.getAlbumComments() + stats.getSongComments())
+                .albumComments(stats.getAlbumComments())
+                .songComments(stats.getSongComments())
+                .totalReactions(stats.getLikesGiven() + stats.getLovesGiven() + stats.getWowsGiven() + stats.getDislikesGiven())
+                .likesGiven(stats.getLikesGiven())
+                .lovesGiven(stats.getLovesGiven())
+                .wowsGiven(stats.getWowsGiven())
+                .dislikesGiven(stats.getDislikesGiven())
+                .likesReceived(stats.getLikesReceived())
+                .lovesReceived(stats.getLovesReceived())
+                .wowsReceived(stats.getWowsReceived())
+                .dislikesReceived(stats.getDislikesReceived())
+                .reviewsThisMonth(thisMonth.getReviews())
+                .commentsThisMonth(thisMonth.getComments())
+                .reactionsThisMonth(thisMonth.getReactions())
+                .build();
+    }
+
+    private static UserStatsResponse emptyResponse() {
+        return new UserStatsResponse(0L, 0L, 0L, null, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L,
+                0L, 0L, 0L, 0L, 0L, 0L, 0L);
+    }
+}
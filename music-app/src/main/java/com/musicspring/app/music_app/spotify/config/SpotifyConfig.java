@@ -1,17 +1,12 @@
 package com.musicspring.app.music_app.spotify.config;
 
-import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import se.michaelthelin.spotify.SpotifyApi;
-import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
-import se.michaelthelin.spotify.model_objects.credentials.ClientCredentials;
-import se.michaelthelin.spotify.requests.authorization.client_credentials.ClientCredentialsRequest;
-import org.apache.hc.core5.http.ParseException;
 
-import java.io.IOException;
-import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class SpotifyConfig {
@@ -22,33 +17,21 @@ public class SpotifyConfig {
     @Value("${spotify.client.secret}")
     private String clientSecret;
 
-    @Getter
-    private LocalDateTime tokenExpiration;
-
     @Bean
     public SpotifyApi spotifyApi() {
-        SpotifyApi spotifyApi = new SpotifyApi.Builder()
+        // The access token is obtained and renewed by SpotifyTokenManager.
+        return new SpotifyApi.Builder()
                 .setClientId(clientId)
                 .setClientSecret(clientSecret)
                 .build();
-
-        refreshToken(spotifyApi);
-
-        return spotifyApi;
     }
 
-
-    public void refreshToken(SpotifyApi spotifyApi) {
-        try {
-            ClientCredentialsRequest request = spotifyApi.clientCredentials().build();
-            ClientCredentials credentials = request.execute();
-
-            spotifyApi.setAccessToken(credentials.getAccessToken());
-
-            tokenExpiration = LocalDateTime.now().plusSeconds(credentials.getExpiresIn() - 60);
-
-        } catch (IOException | SpotifyWebApiException | ParseException e) {
-            throw new RuntimeException("Error while obtaining Spotify Token", e);
-        }
+    /**
+     * Runs Spotify calls made off the request thread, such as background cache refreshes. The
+     * calls block on HTTP, so each one gets a virtual thread.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService spotifyExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
     }
 }
\ No newline at end of file
@@ -276,7 +276,9 @@ public class SpotifyController {
     @Operation(
             summary = "Unified search in Spotify",
             description = "Searches for songs, artists, and albums in Spotify with a single query, " +
-                    "returning grouped results from all three categories."
+                    "returning grouped results from all three categories. The three searches run concurrently; " +
+                    "categories that fail or time out are null, listed in incompleteTypes and flagged as partial. " +
+                    "When no category completes in time the request fails with 504."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -302,6 +304,14 @@ public class SpotifyController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = ErrorDetails.class)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "504",
+                    description = "No category completed within the search timeout",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
             )
     })
     @GetMapping("/unified-search")
@@ -6,6 +6,8 @@ import com.musicspring.app.music_app.model.dto.response.SongResponse;
 import lombok.*;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 
 @Getter
 @Setter
@@ -18,4 +20,10 @@ public class UnifiedSearchResponse {
     private Page<AlbumResponse> albums;
     private String query;
 
+    /**
+     * True when some types are missing because their search failed or timed out.
+     */
+    private boolean partial;
+
+    private List<String> incompleteTypes;
 }
@@ -0,0 +1,25 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import java.util.Map;
+
+/**
+ * Outcome of a bulk Spotify lookup: the values it resolved and, per key, the failure that kept a
+ * key from resolving. A key in neither map is one Spotify returned nothing for.
+ */
+record SpotifyBulkResult<K, V>(Map<K, V> values, Map<K, RuntimeException> failures) {
+
+    static <K, V> SpotifyBulkResult<K, V> of(Map<K, V> values) {
+        return new SpotifyBulkResult<>(values, Map.of());
+    }
+
+    /**
+     * The resolved values, leaving failed keys out; the first failure is rethrown only when
+     * nothing resolved.
+     */
+    Map<K, V> valuesOrThrow() {
+        if (values.isEmpty() && !failures.isEmpty()) {
+            throw failures.values().iterator().next();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,37 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority of the Spotify calls made by the current thread. Calls default to
+ * {@link #INTERACTIVE}; sync, import and warmup jobs run their work with {@link #runAs} in
+ * {@link #BACKGROUND} so it only uses request budget no user is waiting for.
+ */
+public enum SpotifyLane {
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<SpotifyLane> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static SpotifyLane current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T runAs(SpotifyLane lane, Supplier<T> work) {
+        SpotifyLane previous = CURRENT.get();
+        CURRENT.set(lane);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps work handed to another thread so it runs in the lane of the thread creating it.
+     */
+    static <T> Supplier<T> inheriting(Supplier<T> work) {
+        SpotifyLane lane = current();
+        return () -> runAs(lane, work);
+    }
+}
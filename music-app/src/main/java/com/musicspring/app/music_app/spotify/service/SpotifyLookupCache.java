@@ -0,0 +1,150 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.musicspring.app.music_app.model.dto.response.CacheRegionStatsResponse;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of Spotify responses. An entry older than {@code refreshAfter} is still served
+ * while a background reload replaces it, and a failed reload keeps the old value; an entry older
+ * than {@code ttl} is dropped, so the next read waits for Spotify. Loads run on the executor in
+ * the caller's lane and concurrent misses for the same key share Caffeine's future for it, which
+ * callers wait on outside the map, so a slow Spotify call never holds up other keys. Callers that
+ * missed but did not start the load are counted as coalesced. Reloads run in the
+ * {@link SpotifyLane#BACKGROUND} lane.
+ */
+final class SpotifyLookupCache<K, V> {
+
+    private final String name;
+    private final Function<K, V> loader;
+    private final AsyncLoadingCache<K, V> cache;
+    private final LongAdder coalesced = new LongAdder();
+
+    SpotifyLookupCache(String name,
+                       long maxSize,
+                       Duration ttl,
+                       Duration refreshAfter,
+                       Executor executor,
+                       Function<K, V> loader) {
+        this(name, maxSize, ttl, refreshAfter, executor, loader, null);
+    }
+
+    /**
+     * With a {@code bulkLoader}, {@link #getAll} loads every missing key with one call to it;
+     * keys absent from the map it returns are treated as not found.
+     */
+    SpotifyLookupCache(String name,
+                       long maxSize,
+                       Duration ttl,
+                       Duration refreshAfter,
+                       Executor executor,
+                       Function<K, V> loader,
+                       Function<Set<? extends K>, Map<K, V>> bulkLoader) {
+        this.name = name;
+        this.loader = loader;
+        Function<Set<? extends K>, Map<K, V>> loadAll = bulkLoader != null ? bulkLoader : this::loadEach;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<K, V>() {
+                    @Override
+                    public CompletableFuture<V> asyncLoad(K key, Executor executor) {
+                        return load(key, executor);
+                    }
+
+                    // Refreshes serve a value that is still valid, so they never delay a user's call.
+                    @Override
+                    public CompletableFuture<V> asyncReload(K key, V oldValue, Executor executor) {
+                        return CompletableFuture.supplyAsync(
+                                () -> SpotifyLane.runAs(SpotifyLane.BACKGROUND, () -> loader.apply(key)), executor);
+                    }
+
+                    @Override
+                    public CompletableFuture<Map<K, V>> asyncLoadAll(Set<? extends K> keys, Executor executor) {
+                        return CompletableFuture.supplyAsync(SpotifyLane.inheriting(() -> loadAll.apply(keys)), executor);
+                    }
+                });
+    }
+
+    V get(K key) {
+        // Caffeine counts a caller that waited on another's load as a hit, so tell them apart here.
+        CompletableFuture<V> present = cache.asMap().get(key);
+        if (present != null && present.isCompletedExceptionally()) {
+            // Caffeine drops a failed load only after its callers see the failure; retry instead.
+            cache.asMap().remove(key, present);
+            present = null;
+        }
+        boolean[] loaded = new boolean[1];
+        CompletableFuture<V> value = cache.get(key, (k, executor) -> {
+            loaded[0] = true;
+            return load(k, executor);
+        });
+        if (!loaded[0] && (present == null || !present.isDone())) {
+            coalesced.increment();
+        }
+        return join(value);
+    }
+
+    Map<K, V> getAll(Collection<K> keys) {
+        return join(cache.getAll(keys));
+    }
+
+    CacheRegionStatsResponse statistics() {
+        CacheStats stats = cache.synchronous().stats();
+        return CacheRegionStatsResponse.builder()
+                .region(name)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .putCount(stats.loadSuccessCount())
+                .hitRatio(stats.requestCount() == 0 ? 0.0 : stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .coalescedCount(coalesced.sum())
+                .build();
+    }
+
+    private CompletableFuture<V> load(K key, Executor executor) {
+        return CompletableFuture.supplyAsync(SpotifyLane.inheriting(() -> loader.apply(key)), executor);
+    }
+
+    private Map<K, V> loadEach(Set<? extends K> keys) {
+        Map<K, V> values = new HashMap<>();
+        for (K key : keys) {
+            V value = loader.apply(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    // Rethrows what the load threw, so a rate-limit rejection keeps its own type.
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Merges single-id lookups arriving within {@code window} of each other into one multi-get. The
+ * first caller of a batch waits out the window and then loads everything queued meanwhile; a
+ * batch that reaches {@code maxBatchSize} is loaded at once by the caller that filled it, which
+ * also releases the first caller. A batch
+ * runs in the interactive lane as soon as one of its callers is interactive.
+ */
+final class SpotifyMicroBatcher<K, V> {
+
+    private final int maxBatchSize;
+    private final Duration window;
+    private final Function<List<K>, SpotifyBulkResult<K, V>> bulkLoader;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private SpotifyLane pendingLane = SpotifyLane.BACKGROUND;
+
+    private record Batch<K, V>(Map<K, CompletableFuture<V>> futures, SpotifyLane lane) {
+    }
+
+    SpotifyMicroBatcher(int maxBatchSize, Duration window, Function<List<K>, SpotifyBulkResult<K, V>> bulkLoader) {
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.bulkLoader = bulkLoader;
+    }
+
+    /**
+     * Returns the value loaded for {@code key}, or null when the multi-get did not return it.
+     * A failure the bulk load reports for the key is rethrown.
+     */
+    V load(K key) {
+        CompletableFuture<V> result;
+        Map<K, CompletableFuture<V>> ownBatch = null;
+        Batch<K, V> fullBatch = null;
+
+        synchronized (lock) {
+            if (SpotifyLane.current() == SpotifyLane.INTERACTIVE) {
+                pendingLane = SpotifyLane.INTERACTIVE;
+            }
+            result = pending.get(key);
+            if (result == null) {
+                if (pending.isEmpty()) {
+                    ownBatch = pending;
+                }
+                result = new CompletableFuture<>();
+                pending.put(key, result);
+                if (pending.size() >= maxBatchSize) {
+                    fullBatch = takePending();
+                }
+            }
+        }
+
+        if (fullBatch != null) {
+            run(fullBatch);
+        } else if (ownBatch != null) {
+            // Returns early when the batch fills up and another caller loads it.
+            try {
+                result.get(window.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // Timed out: load what is queued. Failed: rethrown below.
+            }
+            Batch<K, V> batch = null;
+            synchronized (lock) {
+                // Otherwise the batch filled up and was taken by the caller that filled it.
+                if (pending == ownBatch) {
+                    batch = takePending();
+                }
+            }
+            if (batch != null) {
+                run(batch);
+            }
+        }
+        return await(result);
+    }
+
+    private Batch<K, V> takePending() {
+        Batch<K, V> batch = new Batch<>(pending, pendingLane);
+        pending = new LinkedHashMap<>();
+        pendingLane = SpotifyLane.BACKGROUND;
+        return batch;
+    }
+
+    private void run(Batch<K, V> batch) {
+        Map<K, CompletableFuture<V>> futures = batch.futures();
+        if (futures.isEmpty()) {
+            return;
+        }
+        try {
+            SpotifyBulkResult<K, V> result = SpotifyLane.runAs(batch.lane(),
+                    () -> bulkLoader.apply(List.copyOf(futures.keySet())));
+            futures.forEach((key, future) -> {
+                RuntimeException failure = result.failures().get(key);
+                if (failure != null) {
+                    future.completeExceptionally(failure);
+                } else {
+                    future.complete(result.values().get(key));
+                }
+            });
+        } catch (Throwable e) {
+            // Errors too, or every caller of the batch would wait forever.
+            futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
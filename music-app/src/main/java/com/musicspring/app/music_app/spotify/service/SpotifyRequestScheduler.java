@@ -0,0 +1,185 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import com.musicspring.app.music_app.exception.SpotifyRateLimitedException;
+import com.musicspring.app.music_app.exception.SpotifyServiceException;
+import com.musicspring.app.music_app.model.dto.response.SpotifyRateLimitStatsResponse;
+import org.apache.hc.core5.http.ParseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
+import se.michaelthelin.spotify.exceptions.detailed.TooManyRequestsException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Gate for every Spotify Web API call. Calls take a permit from a token bucket sized to our quota,
+ * and after a 429 nobody calls again before its {@code Retry-After} has passed. Interactive calls
+ * get free permits before background ones; a call that cannot get a permit within its lane's
+ * maximum wait fails with {@link SpotifyRateLimitedException} instead of queueing indefinitely.
+ */
+@Service
+public class SpotifyRequestScheduler {
+
+    @FunctionalInterface
+    public interface SpotifyCall<T> {
+        T execute() throws IOException, SpotifyWebApiException, ParseException;
+    }
+
+    // Used when a 429 arrives without a usable Retry-After header.
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitsChanged = lock.newCondition();
+
+    private final LongAdder executedRequests = new LongAdder();
+    private final LongAdder throttledResponses = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final Duration interactiveMaxWait;
+    private final Duration backgroundMaxWait;
+    private final LongSupplier nanoClock;
+
+    // Guarded by lock.
+    private double permits;
+    private long refilledAt;
+    private long blockedUntil;
+    private int interactiveWaiting;
+    private int backgroundWaiting;
+
+    @Autowired
+    public SpotifyRequestScheduler(@Value("${app.spotify.rate-limit.requests-per-second:10}") double permitsPerSecond,
+                                   @Value("${app.spotify.rate-limit.burst:20}") int burst,
+                                   @Value("${app.spotify.rate-limit.interactive-max-wait:PT2S}") Duration interactiveMaxWait,
+                                   @Value("${app.spotify.rate-limit.background-max-wait:PT1M}") Duration backgroundMaxWait) {
+        this(permitsPerSecond, burst, interactiveMaxWait, backgroundMaxWait, System::nanoTime);
+    }
+
+    // Tests pass their own clock; a waiting call still sleeps in real time before reading it again.
+    SpotifyRequestScheduler(double permitsPerSecond, int burst, Duration interactiveMaxWait,
+                            Duration backgroundMaxWait, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Spotify rate limit must allow at least one request");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.interactiveMaxWait = interactiveMaxWait;
+        this.backgroundMaxWait = backgroundMaxWait;
+        this.nanoClock = nanoClock;
+        this.permits = burst;
+        this.refilledAt = nanoClock.getAsLong();
+        this.blockedUntil = refilledAt;
+    }
+
+    /**
+     * Runs the call once a permit is free, in the lane of the current thread. A 429 blocks all
+     * callers for its {@code Retry-After} and the call is retried if that still fits its wait.
+     */
+    public <T> T execute(SpotifyCall<T> call) throws IOException, SpotifyWebApiException, ParseException {
+        SpotifyLane lane = SpotifyLane.current();
+        long deadline = nanoClock.getAsLong()
+                + (lane == SpotifyLane.INTERACTIVE ? interactiveMaxWait : backgroundMaxWait).toNanos();
+        while (true) {
+            acquire(lane, deadline);
+            executedRequests.increment();
+            try {
+                return call.execute();
+            } catch (TooManyRequestsException e) {
+                throttledResponses.increment();
+                long retryAfter = e.getRetryAfter() > 0 ? e.getRetryAfter() : DEFAULT_RETRY_AFTER_SECONDS;
+                blockFor(TimeUnit.SECONDS.toNanos(retryAfter));
+            }
+        }
+    }
+
+    public SpotifyRateLimitStatsResponse getStatistics() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            refill(now);
+            return SpotifyRateLimitStatsResponse.builder()
+                    .availablePermits(Math.floor(permits * 100) / 100)
+                    .interactiveQueueDepth(interactiveWaiting)
+                    .backgroundQueueDepth(backgroundWaiting)
+                    .blockedForMillis(TimeUnit.NANOSECONDS.toMillis(Math.max(blockedUntil - now, 0)))
+                    .executedRequests(executedRequests.sum())
+                    .throttledResponses(throttledResponses.sum())
+                    .rejectedRequests(rejectedRequests.sum())
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(SpotifyLane lane, long deadline) {
+        lock.lock();
+        try {
+            changeWaiting(lane, 1);
+            try {
+                while (true) {
+                    long now = nanoClock.getAsLong();
+                    refill(now);
+
+                    long readyAt;
+                    if (now < blockedUntil) {
+                        readyAt = blockedUntil;
+                    } else if (permits < 1) {
+                        readyAt = now + (long) ((1 - permits) / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+                    } else if (lane == SpotifyLane.BACKGROUND && interactiveWaiting > 0) {
+                        // Background waits for a signal once the interactive lane has drained.
+                        readyAt = now;
+                    } else {
+                        permits -= 1;
+                        return;
+                    }
+
+                    if (readyAt > deadline || now >= deadline) {
+                        rejectedRequests.increment();
+                        long retryAfter = TimeUnit.NANOSECONDS.toSeconds(Math.max(readyAt - now, 0)) + 1;
+                        throw new SpotifyRateLimitedException(retryAfter);
+                    }
+                    long waitUntil = readyAt > now ? readyAt : deadline;
+                    permitsChanged.awaitNanos(waitUntil - now);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SpotifyServiceException("Interrupted while waiting to call Spotify", e);
+            } finally {
+                changeWaiting(lane, -1);
+                permitsChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void blockFor(long nanos) {
+        lock.lock();
+        try {
+            blockedUntil = Math.max(blockedUntil, nanoClock.getAsLong() + nanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        permits = Math.min(burst, permits + (now - refilledAt) / (double) TimeUnit.SECONDS.toNanos(1) * permitsPerSecond);
+        refilledAt = now;
+    }
+
+    private void changeWaiting(SpotifyLane lane, int delta) {
+        if (lane == SpotifyLane.INTERACTIVE) {
+            interactiveWaiting += delta;
+        } else {
+            backgroundWaiting += delta;
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package com.musicspring.app.music_app.spotify.service;
 
 import com.musicspring.app.music_app.exception.SpotifyServiceException;
+import com.musicspring.app.music_app.exception.SpotifyTimeoutException;
 import com.musicspring.app.music_app.model.dto.response.*;
 import com.musicspring.app.music_app.model.mapper.ArtistMapper;
-import com.musicspring.app.music_app.spotify.config.SpotifyConfig;
 import com.musicspring.app.music_app.spotify.mapper.SpotifyMapper;
 import com.musicspring.app.music_app.spotify.model.UnifiedSearchResponse;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
@@ -15,59 +16,188 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import se.michaelthelin.spotify.SpotifyApi;
 import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
+import se.michaelthelin.spotify.exceptions.detailed.BadRequestException;
+import se.michaelthelin.spotify.exceptions.detailed.NotFoundException;
 import se.michaelthelin.spotify.model_objects.specification.*;
 import se.michaelthelin.spotify.requests.data.albums.GetAlbumRequest;
-import se.michaelthelin.spotify.requests.data.albums.GetAlbumsTracksRequest;
+import se.michaelthelin.spotify.requests.data.albums.GetSeveralAlbumsRequest;
 import se.michaelthelin.spotify.requests.data.artists.GetArtistRequest;
 import se.michaelthelin.spotify.requests.data.artists.GetArtistsAlbumsRequest;
+import se.michaelthelin.spotify.requests.data.artists.GetSeveralArtistsRequest;
 import se.michaelthelin.spotify.requests.data.search.simplified.SearchAlbumsRequest;
 import se.michaelthelin.spotify.requests.data.search.simplified.SearchArtistsRequest;
 import se.michaelthelin.spotify.requests.data.search.simplified.SearchTracksRequest;
+import se.michaelthelin.spotify.requests.data.tracks.GetSeveralTracksRequest;
 import se.michaelthelin.spotify.requests.data.tracks.GetTrackRequest;
 import org.apache.hc.core5.http.ParseException;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SpotifyService {
 
+    /**
+     * Searches are fetched from Spotify in blocks of this many results, the most one request
+     * returns, and pages are cut from the cached blocks.
+     */
+    private static final int SEARCH_BLOCK_SIZE = 50;
+
+    // Most ids Spotify accepts in one "get several" request.
+    private static final int SEVERAL_TRACKS_LIMIT = 50;
+    private static final int SEVERAL_ALBUMS_LIMIT = 20;
+    private static final int SEVERAL_ARTISTS_LIMIT = 50;
+
+    private record SearchBlockKey(String query, int offset) {
+    }
+
+    private record SearchBlock<T>(List<T> items, long total) {
+    }
+
     private final SpotifyApi spotifyApi;
-    private final SpotifyConfig spotifyConfig;
+    private final SpotifyTokenManager spotifyTokenManager;
     private final SpotifyMapper spotifyMapper;
     private final ArtistMapper artistMapper;
+    private final ExecutorService spotifyExecutor;
+    private final SpotifyRequestScheduler spotifyRequestScheduler;
 
     @Value("${spotify.default.limit:20}")
     private int defaultLimit;
 
+    @Value("${app.spotify.search-timeout:PT3S}")
+    private Duration searchTimeout;
+
+    @Value("${app.spotify.batch-window:5ms}")
+    private Duration batchWindow;
+
+    @Value("${app.spotify.bulk-concurrency:4}")
+    private int bulkConcurrency;
+
+    @Value("${app.cache.spotify.songs.max-size:20000}")
+    private long songsMaxSize;
+
+    @Value("${app.cache.spotify.songs.ttl:PT24H}")
+    private Duration songsTtl;
+
+    @Value("${app.cache.spotify.songs.refresh-after:PT6H}")
+    private Duration songsRefreshAfter;
+
+    @Value("${app.cache.spotify.albums.max-size:10000}")
+    private long albumsMaxSize;
+
+    @Value("${app.cache.spotify.albums.ttl:PT24H}")
+    private Duration albumsTtl;
+
+    @Value("${app.cache.spotify.albums.refresh-after:PT6H}")
+    private Duration albumsRefreshAfter;
+
+    @Value("${app.cache.spotify.artists.max-size:5000}")
+    private long artistsMaxSize;
+
+    @Value("${app.cache.spotify.artists.ttl:PT12H}")
+    private Duration artistsTtl;
+
+    @Value("${app.cache.spotify.artists.refresh-after:PT3H}")
+    private Duration artistsRefreshAfter;
+
+    @Value("${app.cache.spotify.search.max-size:5000}")
+    private long searchMaxSize;
+
+    @Value("${app.cache.spotify.search.ttl:PT10M}")
+    private Duration searchTtl;
+
+    @Value("${app.cache.spotify.search.refresh-after:PT5M}")
+    private Duration searchRefreshAfter;
+
+    private SpotifyMicroBatcher<String, SongResponse> songBatcher;
+    private SpotifyMicroBatcher<String, AlbumWithTracksResponse> albumBatcher;
+    private SpotifyMicroBatcher<String, ArtistWithAlbumsResponse> artistBatcher;
+
+    private SpotifyLookupCache<String, SongResponse> songCache;
+    private SpotifyLookupCache<String, AlbumWithTracksResponse> albumCache;
+    private SpotifyLookupCache<String, ArtistWithAlbumsResponse> artistCache;
+    private SpotifyLookupCache<SearchBlockKey, SearchBlock<SongResponse>> songSearchCache;
+    private SpotifyLookupCache<SearchBlockKey, SearchBlock<AlbumResponse>> albumSearchCache;
+    private SpotifyLookupCache<SearchBlockKey, SearchBlock<ArtistResponse>> artistSearchCache;
+
+    @PostConstruct
+    void initCaches() {
+        songBatcher = new SpotifyMicroBatcher<>(SEVERAL_TRACKS_LIMIT, batchWindow, this::fetchSongs);
+        albumBatcher = new SpotifyMicroBatcher<>(SEVERAL_ALBUMS_LIMIT, batchWindow, this::fetchAlbums);
+        artistBatcher = new SpotifyMicroBatcher<>(SEVERAL_ARTISTS_LIMIT, batchWindow, this::fetchArtists);
+
+        songCache = new SpotifyLookupCache<String, SongResponse>("spotify.songs",
+                songsMaxSize, songsTtl, songsRefreshAfter, spotifyExecutor,
+                id -> found(songBatcher.load(id), "song"), ids -> fetchSongs(ids).valuesOrThrow());
+        albumCache = new SpotifyLookupCache<String, AlbumWithTracksResponse>("spotify.albums",
+                albumsMaxSize, albumsTtl, albumsRefreshAfter, spotifyExecutor,
+                id -> found(albumBatcher.load(id), "album"), ids -> fetchAlbums(ids).valuesOrThrow());
+        artistCache = new SpotifyLookupCache<String, ArtistWithAlbumsResponse>("spotify.artists",
+                artistsMaxSize, artistsTtl, artistsRefreshAfter, spotifyExecutor,
+                id -> found(artistBatcher.load(id), "artist"), ids -> fetchArtists(ids).valuesOrThrow());
+        songSearchCache = new SpotifyLookupCache<>("spotify.search.songs",
+                searchMaxSize, searchTtl, searchRefreshAfter, spotifyExecutor, this::fetchSongBlock);
+        albumSearchCache = new SpotifyLookupCache<>("spotify.search.albums",
+                searchMaxSize, searchTtl, searchRefreshAfter, spotifyExecutor, this::fetchAlbumBlock);
+        artistSearchCache = new SpotifyLookupCache<>("spotify.search.artists",
+                searchMaxSize, searchTtl, searchRefreshAfter, spotifyExecutor, this::fetchArtistBlock);
+    }
+
+    public SpotifyRateLimitStatsResponse getRateLimitStatistics() {
+        return spotifyRequestScheduler.getStatistics();
+    }
+
+    public List<CacheRegionStatsResponse> getCacheStatistics() {
+        return List.of(songCache.statistics(), albumCache.statistics(), artistCache.statistics(),
+                songSearchCache.statistics(), albumSearchCache.statistics(), artistSearchCache.statistics());
+    }
+
     private void checkTokenExpiration() {
-        if (LocalDateTime.now().isAfter(spotifyConfig.getTokenExpiration())) {
-            spotifyConfig.refreshToken(spotifyApi);
-        }
+        spotifyTokenManager.ensureValidToken();
     }
 
     public Page<AlbumResponse> searchAlbums(String query, Pageable pageable) {
+        return searchCached(albumSearchCache, query, pageable);
+    }
+
+    private SearchBlock<AlbumResponse> fetchAlbumBlock(SearchBlockKey key) {
         checkTokenExpiration();
 
         try {
-            SearchAlbumsRequest request = spotifyApi.searchAlbums(query)
-                    .limit(pageable.getPageSize())
-                    .offset((int) pageable.getOffset())
+            SearchAlbumsRequest request = spotifyApi.searchAlbums(key.query())
+                    .limit(SEARCH_BLOCK_SIZE)
+                    .offset(key.offset())
                     .build();
 
-            Paging<AlbumSimplified> results = request.execute();
+            Paging<AlbumSimplified> results = spotifyRequestScheduler.execute(request::execute);
 
             List<AlbumResponse> albumResponses = Arrays.stream(results.getItems())
                     .map(spotifyMapper::toAlbumResponse)
                     .collect(Collectors.toList());
 
-            return new PageImpl<>(albumResponses, pageable, results.getTotal());
+            return new SearchBlock<>(albumResponses, results.getTotal());
 
         } catch (IOException | SpotifyWebApiException | ParseException e) {
             throw new SpotifyServiceException("Error searching albums", e);
@@ -77,21 +207,25 @@ public class SpotifyService {
 
 
     public Page<ArtistResponse> searchArtists(String query, Pageable pageable) {
+        return searchCached(artistSearchCache, query, pageable);
+    }
+
+    private SearchBlock<ArtistResponse> fetchArtistBlock(SearchBlockKey key) {
         checkTokenExpiration();
 
         try {
-            SearchArtistsRequest request = spotifyApi.searchArtists(query)
-                    .limit(pageable.getPageSize())
-                    .offset((int) pageable.getOffset())
+            SearchArtistsRequest request = spotifyApi.searchArtists(key.query())
+                    .limit(SEARCH_BLOCK_SIZE)
+                    .offset(key.offset())
                     .build();
 
-            Paging<Artist> results = request.execute();
+            Paging<Artist> results = spotifyRequestScheduler.execute(request::execute);
 
             List<ArtistResponse> artistResponses = Arrays.stream(results.getItems())
                     .map(spotifyMapper::toArtistResponse)
                     .collect(Collectors.toList());
 
-            return new PageImpl<>(artistResponses, pageable, results.getTotal());
+            return new SearchBlock<>(artistResponses, results.getTotal());
 
         } catch (IOException | SpotifyWebApiException | ParseException e) {
             throw new SpotifyServiceException("Error searching artists", e);
@@ -101,21 +235,25 @@ public class SpotifyService {
 
 
     public Page<SongResponse> searchSongs(String query, Pageable pageable) {
+        return searchCached(songSearchCache, query, pageable);
+    }
+
+    private SearchBlock<SongResponse> fetchSongBlock(SearchBlockKey key) {
         checkTokenExpiration();
 
         try {
-            SearchTracksRequest request = spotifyApi.searchTracks(query)
-                    .limit(pageable.getPageSize())
-                    .offset((int) pageable.getOffset())
+            SearchTracksRequest request = spotifyApi.searchTracks(key.query())
+                    .limit(SEARCH_BLOCK_SIZE)
+                    .offset(key.offset())
                     .build();
 
-            Paging<Track> results = request.execute();
+            Paging<Track> results = spotifyRequestScheduler.execute(request::execute);
 
             List<SongResponse> songResponses = Arrays.stream(results.getItems())
                     .map(spotifyMapper::toSongResponse)
                     .collect(Collectors.toList());
 
-            return new PageImpl<>(songResponses, pageable, results.getTotal());
+            return new SearchBlock<>(songResponses, results.getTotal());
 
         } catch (IOException | SpotifyWebApiException | ParseException e) {
             throw new SpotifyServiceException("Error searching songs", e);
@@ -123,57 +261,300 @@ public class SpotifyService {
     }
 
     public AlbumWithTracksResponse getAlbum(String albumId) {
+        return albumCache.get(albumId);
+    }
+
+    public ArtistWithAlbumsResponse getArtist(String artistId) {
+        return artistCache.get(artistId);
+    }
+
+    public SongResponse getSong(String trackId) {
+        return songCache.get(trackId);
+    }
+
+    /**
+     * Resolves many ids at once, in input order. Ids Spotify does not know, or could not return
+     * right now, are left out; ids already cached are not requested again.
+     */
+    public List<SongResponse> getSongs(List<String> trackIds) {
+        return resolveAll(songCache, trackIds);
+    }
+
+    public List<AlbumWithTracksResponse> getAlbums(List<String> albumIds) {
+        return resolveAll(albumCache, albumIds);
+    }
+
+    public List<ArtistWithAlbumsResponse> getArtists(List<String> artistIds) {
+        return resolveAll(artistCache, artistIds);
+    }
+
+    private SpotifyBulkResult<String, SongResponse> fetchSongs(Collection<? extends String> trackIds) {
+        return fetchInChunks(trackIds, SEVERAL_TRACKS_LIMIT,
+                chunk -> SpotifyBulkResult.of(fetchSongChunk(chunk)), this::fetchSong);
+    }
+
+    private SpotifyBulkResult<String, AlbumWithTracksResponse> fetchAlbums(Collection<? extends String> albumIds) {
+        return fetchInChunks(albumIds, SEVERAL_ALBUMS_LIMIT,
+                chunk -> SpotifyBulkResult.of(fetchAlbumChunk(chunk)), this::fetchAlbum);
+    }
+
+    private SpotifyBulkResult<String, ArtistWithAlbumsResponse> fetchArtists(Collection<? extends String> artistIds) {
+        return fetchInChunks(artistIds, SEVERAL_ARTISTS_LIMIT, this::fetchArtistChunk, this::fetchArtist);
+    }
+
+    /**
+     * Splits the ids into multi-get chunks and requests them, {@link #bulkConcurrency} at a time.
+     * When Spotify rejects a chunk, for example because one id in it is malformed, its ids are
+     * retried one by one so the rest still resolve. A chunk that fails for another reason reports
+     * its failure for each of its ids.
+     */
+    private <V> SpotifyBulkResult<String, V> fetchInChunks(Collection<? extends String> ids,
+                                                           int chunkSize,
+                                                           Function<List<String>, SpotifyBulkResult<String, V>> chunkFetcher,
+                                                           Function<String, V> singleFetcher) {
+        List<String> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        Map<List<String>, Supplier<SpotifyBulkResult<String, V>>> chunks = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            chunks.put(chunk, () -> fetchChunk(chunk, chunkFetcher, singleFetcher));
+        }
+
+        SpotifyBulkResult<List<String>, SpotifyBulkResult<String, V>> fetched =
+                runBounded(chunks, spotifyExecutor, bulkConcurrency);
+        Map<String, V> values = new HashMap<>();
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        fetched.values().values().forEach(chunk -> {
+            values.putAll(chunk.values());
+            failures.putAll(chunk.failures());
+        });
+        fetched.failures().forEach((chunk, failure) -> chunk.forEach(id -> failures.put(id, failure)));
+        return new SpotifyBulkResult<>(values, failures);
+    }
+
+    /**
+     * Runs the tasks on the executor, at most {@code concurrency} at once, and returns the
+     * result or failure of each; a single task runs on the calling thread.
+     */
+    static <K, T> SpotifyBulkResult<K, T> runBounded(Map<K, Supplier<T>> tasks, ExecutorService executor, int concurrency) {
+        Map<K, T> results = new HashMap<>();
+        Map<K, RuntimeException> failures = new LinkedHashMap<>();
+        if (tasks.size() == 1) {
+            tasks.forEach((key, task) -> {
+                try {
+                    results.put(key, task.get());
+                } catch (RuntimeException e) {
+                    failures.put(key, e);
+                }
+            });
+            return new SpotifyBulkResult<>(results, failures);
+        }
+
+        Semaphore permits = new Semaphore(concurrency);
+        Map<K, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        tasks.forEach((key, task) -> {
+            permits.acquireUninterruptibly();
+            futures.put(key, CompletableFuture.supplyAsync(SpotifyLane.inheriting(task), executor)
+                    .whenComplete((result, failure) -> permits.release()));
+        });
+
+        for (Map.Entry<K, CompletableFuture<T>> future : futures.entrySet()) {
+            try {
+                results.put(future.getKey(), joinUnwrapped(future.getValue()));
+            } catch (RuntimeException e) {
+                failures.put(future.getKey(), e);
+            }
+        }
+        return new SpotifyBulkResult<>(results, failures);
+    }
+
+    // Rethrows what the async task threw, so a rate-limit rejection keeps its own type.
+    private static <T> T joinUnwrapped(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Only a 400 says something is wrong with the ids themselves; any other failure would fail
+     * the single requests too, so it is rethrown rather than multiplied into one call per id.
+     * During the retry, an id failing for another reason than being unknown reports its failure.
+     */
+    static <V> SpotifyBulkResult<String, V> fetchChunk(List<String> ids,
+                                                       Function<List<String>, SpotifyBulkResult<String, V>> chunkFetcher,
+                                                       Function<String, V> singleFetcher) {
+        try {
+            return chunkFetcher.apply(ids);
+        } catch (SpotifyServiceException e) {
+            if (!isRejectedId(e)) {
+                throw e;
+            }
+            if (ids.size() == 1) {
+                return SpotifyBulkResult.of(Map.of());
+            }
+            Map<String, V> values = new HashMap<>();
+            Map<String, RuntimeException> failures = new LinkedHashMap<>();
+            for (String id : ids) {
+                try {
+                    V value = singleFetcher.apply(id);
+                    if (value != null) {
+                        values.put(id, value);
+                    }
+                } catch (SpotifyServiceException singleFailure) {
+                    // Unknown or malformed ids are left out like a missing multi-get entry.
+                    if (!isUnknownId(singleFailure)) {
+                        failures.put(id, singleFailure);
+                    }
+                }
+            }
+            return new SpotifyBulkResult<>(values, failures);
+        }
+    }
+
+    private static boolean isRejectedId(SpotifyServiceException e) {
+        return e.getCause() instanceof BadRequestException;
+    }
+
+    // Without a cause Spotify answered but returned nothing for the id.
+    private static boolean isUnknownId(SpotifyServiceException e) {
+        return e.getCause() == null || isRejectedId(e) || e.getCause() instanceof NotFoundException;
+    }
+
+    // Multi-get responses list one entry per requested id, in request order, null when unknown.
+    private Map<String, SongResponse> fetchSongChunk(List<String> trackIds) {
+        checkTokenExpiration();
+
+        try {
+            GetSeveralTracksRequest request = spotifyApi.getSeveralTracks(trackIds.toArray(String[]::new)).build();
+            Track[] tracks = spotifyRequestScheduler.execute(request::execute);
+            Map<String, SongResponse> songs = new HashMap<>();
+            for (int i = 0; i < tracks.length && i < trackIds.size(); i++) {
+                if (tracks[i] != null) {
+                    songs.put(trackIds.get(i), spotifyMapper.toSongResponse(tracks[i]));
+                }
+            }
+            return songs;
+        } catch (IOException | SpotifyWebApiException | ParseException e) {
+            throw new SpotifyServiceException("Error obtaining songs", e);
+        }
+    }
+
+    private Map<String, AlbumWithTracksResponse> fetchAlbumChunk(List<String> albumIds) {
+        checkTokenExpiration();
+
+        try {
+            GetSeveralAlbumsRequest request = spotifyApi.getSeveralAlbums(albumIds.toArray(String[]::new)).build();
+            Album[] albums = spotifyRequestScheduler.execute(request::execute);
+            Map<String, AlbumWithTracksResponse> albumResponses = new HashMap<>();
+            for (int i = 0; i < albums.length && i < albumIds.size(); i++) {
+                if (albums[i] != null) {
+                    albumResponses.put(albumIds.get(i), toAlbumWithTracksResponse(albums[i]));
+                }
+            }
+            return albumResponses;
+        } catch (IOException | SpotifyWebApiException | ParseException e) {
+            throw new SpotifyServiceException("Error obtaining albums", e);
+        }
+    }
+
+    /**
+     * Artist albums have no multi-get, so they are requested per artist through
+     * {@link #runBounded}. An artist whose albums could not be fetched reports that failure.
+     */
+    private SpotifyBulkResult<String, ArtistWithAlbumsResponse> fetchArtistChunk(List<String> artistIds) {
+        checkTokenExpiration();
+
+        Artist[] artists;
+        try {
+            GetSeveralArtistsRequest request = spotifyApi.getSeveralArtists(artistIds.toArray(String[]::new)).build();
+            artists = spotifyRequestScheduler.execute(request::execute);
+        } catch (IOException | SpotifyWebApiException | ParseException e) {
+            throw new SpotifyServiceException("Error obtaining artists", e);
+        }
+
+        Map<String, Artist> found = new LinkedHashMap<>();
+        for (int i = 0; i < artists.length && i < artistIds.size(); i++) {
+            if (artists[i] != null) {
+                found.put(artistIds.get(i), artists[i]);
+            }
+        }
+
+        Map<String, Supplier<List<AlbumResponse>>> albumFetches = new LinkedHashMap<>();
+        found.keySet().forEach(artistId -> albumFetches.put(artistId, () -> fetchArtistAlbums(artistId)));
+
+        SpotifyBulkResult<String, List<AlbumResponse>> albums = runBounded(albumFetches, spotifyExecutor, bulkConcurrency);
+        Map<String, ArtistWithAlbumsResponse> artistResponses = new HashMap<>();
+        albums.values().forEach((artistId, artistAlbums) ->
+                artistResponses.put(artistId, artistMapper.spotifyArtistToArtistWithAlbumesResponse(found.get(artistId), artistAlbums)));
+        return new SpotifyBulkResult<>(artistResponses, albums.failures());
+    }
+
+    private AlbumWithTracksResponse fetchAlbum(String albumId) {
         checkTokenExpiration();
         try {
             GetAlbumRequest request = spotifyApi.getAlbum(albumId).build();
-            Album spotifyAlbum = request.execute();
+            Album spotifyAlbum = spotifyRequestScheduler.execute(request::execute);
 
             if (spotifyAlbum == null){
                 throw new SpotifyServiceException("Error obtaining album");
             }
 
-            GetAlbumsTracksRequest tracksRequest = spotifyApi.getAlbumsTracks(albumId)
-                    .limit(50)
-                    .offset(0)
-                    .build();
-            Paging<TrackSimplified> tracksPaging = tracksRequest.execute();
-            List<SongResponse> trackResponses = Collections.emptyList();
-
-            if (tracksPaging != null && tracksPaging.getItems() != null) {
-                String albumName = spotifyAlbum.getName();
-                String albumSpotifyId = spotifyAlbum.getId();
-                String imageUrl = (spotifyAlbum.getImages() != null && spotifyAlbum.getImages().length > 0) ? spotifyAlbum.getImages()[0].getUrl() : null;
-                LocalDate releaseDate = spotifyMapper.parseReleaseDate(spotifyAlbum.getReleaseDate());
-                String artistName = (spotifyAlbum.getArtists() != null && spotifyAlbum.getArtists().length > 0) ? spotifyAlbum.getArtists()[0].getName() : "Unknown Artist";
-                String artistSpotifyId = (spotifyAlbum.getArtists() != null && spotifyAlbum.getArtists().length > 0) ? spotifyAlbum.getArtists()[0].getId() : null;
-
-                trackResponses = Arrays.stream(tracksPaging.getItems())
-                        .map(trackSimplified -> spotifyMapper.toSongResponse(trackSimplified, albumName, albumSpotifyId, imageUrl, releaseDate, artistName, artistSpotifyId))
-                        .collect(Collectors.toList());
-            }
-
-            return spotifyMapper.toAlbumWithTracksResponse(spotifyAlbum, trackResponses);
+            return toAlbumWithTracksResponse(spotifyAlbum);
         } catch (IOException | SpotifyWebApiException | ParseException e) {
             throw new SpotifyServiceException("Error obtaining album", e);
         }
     }
 
-    public ArtistWithAlbumsResponse getArtist(String artistId) {
+    // The album object already carries its first 50 tracks, as many as a separate tracks request returned.
+    private AlbumWithTracksResponse toAlbumWithTracksResponse(Album spotifyAlbum) {
+        Paging<TrackSimplified> tracksPaging = spotifyAlbum.getTracks();
+        List<SongResponse> trackResponses = Collections.emptyList();
+
+        if (tracksPaging != null && tracksPaging.getItems() != null) {
+            String albumName = spotifyAlbum.getName();
+            String albumSpotifyId = spotifyAlbum.getId();
+            String imageUrl = (spotifyAlbum.getImages() != null && spotifyAlbum.getImages().length > 0) ? spotifyAlbum.getImages()[0].getUrl() : null;
+            LocalDate releaseDate = spotifyMapper.parseReleaseDate(spotifyAlbum.getReleaseDate());
+            String artistName = (spotifyAlbum.getArtists() != null && spotifyAlbum.getArtists().length > 0) ? spotifyAlbum.getArtists()[0].getName() : "Unknown Artist";
+            String artistSpotifyId = (spotifyAlbum.getArtists() != null && spotifyAlbum.getArtists().length > 0) ? spotifyAlbum.getArtists()[0].getId() : null;
+
+            trackResponses = Arrays.stream(tracksPaging.getItems())
+                    .map(trackSimplified -> spotifyMapper.toSongResponse(trackSimplified, albumName, albumSpotifyId, imageUrl, releaseDate, artistName, artistSpotifyId))
+                    .collect(Collectors.toList());
+        }
+
+        return spotifyMapper.toAlbumWithTracksResponse(spotifyAlbum, trackResponses);
+    }
+
+    private ArtistWithAlbumsResponse fetchArtist(String artistId) {
         checkTokenExpiration();
 
         try {
             GetArtistRequest request = spotifyApi.getArtist(artistId).build();
-            se.michaelthelin.spotify.model_objects.specification.Artist spotifyArtist = request.execute();
-            Artist spotifyArt = request.execute();
-            if(spotifyArt==null){
+            Artist spotifyArtist = spotifyRequestScheduler.execute(request::execute);
+            if(spotifyArtist==null){
                 throw new SpotifyServiceException("Error obtaining artist");
             }
 
+            return artistMapper.spotifyArtistToArtistWithAlbumesResponse(spotifyArtist, fetchArtistAlbums(artistId));
+        } catch (IOException | SpotifyWebApiException | ParseException e) {
+            throw new SpotifyServiceException("Error obtaining artist", e);
+        }
+    }
+
+    private List<AlbumResponse> fetchArtistAlbums(String artistId) {
+        checkTokenExpiration();
+
+        try {
             GetArtistsAlbumsRequest albumsRequest = spotifyApi.getArtistsAlbums(artistId)
                     .limit(40)
                     .offset(0)
                     .build();
-            Paging<AlbumSimplified> albumSimplifiedPaging = albumsRequest.execute();
+            Paging<AlbumSimplified> albumSimplifiedPaging = spotifyRequestScheduler.execute(albumsRequest::execute);
 
             List<AlbumResponse> albumResponses = Collections.emptyList();
 
@@ -182,19 +563,18 @@ public class SpotifyService {
                         .map(spotifyMapper::toAlbumResponse)
                         .collect(Collectors.toList());
             }
-
-            return artistMapper.spotifyArtistToArtistWithAlbumesResponse(spotifyArtist,albumResponses);
+            return albumResponses;
         } catch (IOException | SpotifyWebApiException | ParseException e) {
             throw new SpotifyServiceException("Error obtaining artist", e);
         }
     }
 
-    public SongResponse getSong(String trackId) {
+    private SongResponse fetchSong(String trackId) {
         checkTokenExpiration();
 
         try {
             GetTrackRequest request = spotifyApi.getTrack(trackId).build();
-            Track spotifyTrack = request.execute();
+            Track spotifyTrack = spotifyRequestScheduler.execute(request::execute);
 
             return spotifyMapper.toSongResponse(spotifyTrack);
 
@@ -203,18 +583,107 @@ public class SpotifyService {
         }
     }
 
-    public UnifiedSearchResponse searchAll(String query, Pageable pageable) {
-        UnifiedSearchResponse response = new UnifiedSearchResponse();
-        response.setQuery(query);
+    private static <V> List<V> resolveAll(SpotifyLookupCache<String, V> cache, List<String> ids) {
+        List<String> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, V> values = cache.getAll(distinctIds);
+        return distinctIds.stream().map(values::get).filter(Objects::nonNull).toList();
+    }
 
-        Page<SongResponse> songResults = searchSongs(query, pageable);
-        Page<ArtistResponse> artistResults = searchArtists(query, pageable);
-        Page<AlbumResponse> albumResults = searchAlbums(query, pageable);
+    // A batched single lookup Spotify returned nothing for reports it the way a failed single request does.
+    private static <V> V found(V value, String type) {
+        if (value == null) {
+            throw new SpotifyServiceException("Error obtaining " + type);
+        }
+        return value;
+    }
+
+    /**
+     * Cuts the requested page out of the cached blocks covering it, fetching only the blocks that
+     * are missing. Queries differing only in case or whitespace share their blocks.
+     */
+    private <T> Page<T> searchCached(SpotifyLookupCache<SearchBlockKey, SearchBlock<T>> cache,
+                                     String query,
+                                     Pageable pageable) {
+        String normalizedQuery = normalizeQuery(query);
+        long start = pageable.getOffset();
+        long end = start + pageable.getPageSize();
+
+        List<T> content = new ArrayList<>();
+        long total = 0;
+        for (long blockOffset = start - start % SEARCH_BLOCK_SIZE; blockOffset < end; blockOffset += SEARCH_BLOCK_SIZE) {
+            SearchBlock<T> block = cache.get(new SearchBlockKey(normalizedQuery, (int) blockOffset));
+            total = block.total();
+            int from = (int) Math.max(start - blockOffset, 0);
+            int to = (int) Math.min(end - blockOffset, block.items().size());
+            if (from < to) {
+                content.addAll(block.items().subList(from, to));
+            }
+            if (block.items().size() < SEARCH_BLOCK_SIZE) {
+                break;
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
 
-        response.setSongs(songResults);
-        response.setArtists(artistResults);
-        response.setAlbums(albumResults);
+    private static String normalizeQuery(String query) {
+        return query.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
 
+    /**
+     * Runs the three searches concurrently and waits at most {@code app.spotify.search-timeout}
+     * for them. Types that fail or are still running by then are null and listed in
+     * {@code incompleteTypes}; a search still running keeps going and fills the cache. Only when
+     * no type completes does the call fail.
+     */
+    public UnifiedSearchResponse searchAll(String query, Pageable pageable) {
+        CompletableFuture<Page<SongResponse>> songSearch =
+                CompletableFuture.supplyAsync(SpotifyLane.inheriting(() -> searchSongs(query, pageable)), spotifyExecutor);
+        CompletableFuture<Page<ArtistResponse>> artistSearch =
+                CompletableFuture.supplyAsync(SpotifyLane.inheriting(() -> searchArtists(query, pageable)), spotifyExecutor);
+        CompletableFuture<Page<AlbumResponse>> albumSearch =
+                CompletableFuture.supplyAsync(SpotifyLane.inheriting(() -> searchAlbums(query, pageable)), spotifyExecutor);
+
+        long deadline = System.nanoTime() + searchTimeout.toNanos();
+        List<String> incompleteTypes = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        UnifiedSearchResponse response = UnifiedSearchResponse.builder()
+                .query(query)
+                .songs(awaitSearch(songSearch, "songs", deadline, incompleteTypes, failures))
+                .artists(awaitSearch(artistSearch, "artists", deadline, incompleteTypes, failures))
+                .albums(awaitSearch(albumSearch, "albums", deadline, incompleteTypes, failures))
+                .partial(!incompleteTypes.isEmpty())
+                .incompleteTypes(incompleteTypes)
+                .build();
+
+        if (incompleteTypes.size() == 3) {
+            if (!failures.isEmpty() && failures.get(0) instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new SpotifyTimeoutException("Spotify search did not complete in time");
+        }
         return response;
     }
-}
\ No newline at end of file
+
+    private <T> Page<T> awaitSearch(CompletableFuture<Page<T>> search,
+                                    String type,
+                                    long deadline,
+                                    List<String> incompleteTypes,
+                                    List<Throwable> failures) {
+        try {
+            return search.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            incompleteTypes.add(type);
+        } catch (ExecutionException e) {
+            incompleteTypes.add(type);
+            failures.add(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            incompleteTypes.add(type);
+        }
+        return null;
+    }
+}
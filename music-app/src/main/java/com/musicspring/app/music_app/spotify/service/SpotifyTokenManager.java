@@ -0,0 +1,123 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import com.musicspring.app.music_app.exception.SpotifyServiceException;
+import jakarta.annotation.PostConstruct;
+import org.apache.hc.core5.http.ParseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import se.michaelthelin.spotify.SpotifyApi;
+import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
+import se.michaelthelin.spotify.model_objects.credentials.ClientCredentials;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the client credentials token of the shared {@link SpotifyApi} valid. The token is renewed
+ * in the background before it expires, so request threads normally only read a volatile field.
+ * When a request does find it expired, concurrent callers wait for one shared refresh.
+ */
+@Service
+public class SpotifyTokenManager {
+
+    // Tokens are treated as expired this long before Spotify says they are.
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(60);
+
+    private record AccessToken(String value, Instant expiresAt) {
+
+        boolean expiresBefore(Instant instant) {
+            return !instant.isBefore(expiresAt);
+        }
+    }
+
+    private final SpotifyApi spotifyApi;
+    private final AtomicReference<CompletableFuture<AccessToken>> inFlight = new AtomicReference<>();
+
+    // Written after the token is set on spotifyApi, so reading it makes that token visible.
+    private volatile AccessToken current;
+
+    @Value("${app.spotify.token.renew-before:PT5M}")
+    private Duration renewBefore;
+
+    public SpotifyTokenManager(SpotifyApi spotifyApi) {
+        this.spotifyApi = spotifyApi;
+    }
+
+    @PostConstruct
+    void acquireInitialToken() {
+        refreshIf(token -> token == null);
+    }
+
+    /**
+     * Called before every Spotify request. Only blocks when the token has actually expired,
+     * which means the background renewal has been failing.
+     */
+    public void ensureValidToken() {
+        AccessToken token = current;
+        if (token == null || token.expiresBefore(Instant.now())) {
+            refreshIf(stale -> stale == null || stale.expiresBefore(Instant.now()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.spotify.token.check-interval:PT30S}")
+    public void renewIfExpiring() {
+        refreshIf(token -> token == null || token.expiresBefore(Instant.now().plus(renewBefore)));
+    }
+
+    /**
+     * Requests a new token when {@code needsRefresh} holds for the current one. A caller arriving
+     * while a refresh is running waits for that refresh instead of starting another.
+     */
+    private void refreshIf(Predicate<AccessToken> needsRefresh) {
+        CompletableFuture<AccessToken> refresh = new CompletableFuture<>();
+        CompletableFuture<AccessToken> running = inFlight.compareAndExchange(null, refresh);
+        if (running != null) {
+            await(running);
+            return;
+        }
+
+        try {
+            // Another caller may have refreshed between our check and winning the slot.
+            if (needsRefresh.test(current)) {
+                AccessToken token = requestToken();
+                spotifyApi.setAccessToken(token.value());
+                current = token;
+            }
+            refresh.complete(current);
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private AccessToken requestToken() {
+        try {
+            ClientCredentials credentials = spotifyApi.clientCredentials().build().execute();
+            Instant expiresAt = Instant.now()
+                    .plusSeconds(credentials.getExpiresIn())
+                    .minus(EXPIRY_MARGIN);
+            return new AccessToken(credentials.getAccessToken(), expiresAt);
+        } catch (IOException | SpotifyWebApiException | ParseException e) {
+            throw new SpotifyServiceException("Error while obtaining Spotify Token", e);
+        }
+    }
+
+    private static void await(CompletableFuture<AccessToken> refresh) {
+        try {
+            refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new SpotifyServiceException("Error while obtaining Spotify Token", e.getCause());
+        }
+    }
+}
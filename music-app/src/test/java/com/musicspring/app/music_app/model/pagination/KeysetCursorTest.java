@@ -0,0 +1,82 @@
+package com.musicspring.app.music_app.model.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodeReturnsTheEncodedPosition() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 9, 17, 45, 12, 123456000), 42L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripKeepsWholeSecondsAndLargeIds() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 0, 0), Long.MAX_VALUE);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String token = new KeysetCursor(LocalDateTime.of(2024, 3, 9, 17, 45, 12), 7L).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor!", "%%%", "bm8tc2VwYXJhdG9y"})
+    void decodeRejectsMalformedTokens(String token) {
+        assertThatThrownBy(() -> KeysetCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+
+    @Test
+    void decodeRejectsTamperedTimestamp() {
+        assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw("yesterday|42")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+
+    @Test
+    void decodeRejectsTamperedId() {
+        assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw("2024-03-09T17:45:12|4x2")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+
+    @Test
+    void limitForFetchesOneExtraRow() {
+        Pageable limit = KeysetCursor.limitFor(10);
+
+        assertThat(limit.getPageNumber()).isZero();
+        assertThat(limit.getPageSize()).isEqualTo(11);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, KeysetCursor.MAX_PAGE_SIZE + 1})
+    void limitForRejectsSizesOutOfRange(int size) {
+        assertThatThrownBy(() -> KeysetCursor.limitFor(size)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void limitForAcceptsTheMaximumSize() {
+        assertThat(KeysetCursor.limitFor(KeysetCursor.MAX_PAGE_SIZE).getPageSize()).isEqualTo(KeysetCursor.MAX_PAGE_SIZE + 1);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,189 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.entity.ActivitySketchEntity;
+import com.musicspring.app.music_app.model.entity.ActivitySketchId;
+import com.musicspring.app.music_app.model.entity.CommentEntity;
+import com.musicspring.app.music_app.model.entity.UserEntity;
+import com.musicspring.app.music_app.model.enums.SketchType;
+import com.musicspring.app.music_app.repository.ActivitySketchRepository;
+import com.musicspring.app.music_app.repository.AlbumRepository;
+import com.musicspring.app.music_app.repository.SongRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActivitySketchServiceTest {
+
+    private final ActivitySketchRepository activitySketchRepository = mock(ActivitySketchRepository.class);
+    private final Map<ActivitySketchId, ActivitySketchEntity> stored = new ConcurrentHashMap<>();
+    private final ActivitySketchId today = new ActivitySketchId(SketchType.ACTIVE_USERS_DAY, LocalDate.now().toEpochDay());
+
+    private ActivitySketchService activitySketchService;
+
+    @BeforeEach
+    void setUp() {
+        activitySketchService = new ActivitySketchService(activitySketchRepository,
+                mock(SongRepository.class), mock(AlbumRepository.class), 400);
+
+        // Stands in for the activity_sketches table.
+        when(activitySketchRepository.insertIfAbsent(anyString(), anyLong(), any())).thenAnswer(invocation -> {
+            ActivitySketchId id = new ActivitySketchId(SketchType.valueOf(invocation.getArgument(0)), invocation.getArgument(1));
+            ActivitySketchEntity row = new ActivitySketchEntity(id, invocation.getArgument(2));
+            return stored.putIfAbsent(id, row) == null ? 1 : 0;
+        });
+        when(activitySketchRepository.findForUpdate(any())).thenAnswer(invocation ->
+                Optional.ofNullable(stored.get(invocation.<ActivitySketchId>getArgument(0))));
+        when(activitySketchRepository.findRange(eq(SketchType.ACTIVE_USERS_DAY), anyLong(), anyLong())).thenAnswer(invocation ->
+                stored.values().stream()
+                        .filter(row -> row.getId().getSketchType() == SketchType.ACTIVE_USERS_DAY)
+                        .filter(row -> row.getId().getSketchKey() >= invocation.<Long>getArgument(1)
+                                && row.getId().getSketchKey() <= invocation.<Long>getArgument(2))
+                        .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flushStoresThePendingSketch() {
+        for (long userId = 1; userId <= 100; userId++) {
+            activitySketchService.commentCreated(comment(userId));
+        }
+
+        flush(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(stored).containsKey(today);
+        assertThat(activitySketchService.getActiveUsers(LocalDate.now()).dailyActiveUsers()).isEqualTo(100);
+    }
+
+    @Test
+    void rolledBackFlushKeepsTheSketchPending() {
+        for (long userId = 1; userId <= 100; userId++) {
+            activitySketchService.commentCreated(comment(userId));
+        }
+
+        flush(TransactionSynchronization.STATUS_ROLLED_BACK);
+        stored.clear();
+
+        assertThat(activitySketchService.getActiveUsers(LocalDate.now()).dailyActiveUsers()).isEqualTo(100);
+    }
+
+    @Test
+    void noAddIsLostToConcurrentFlushes() throws Exception {
+        int writers = 8;
+        int usersPerWriter = 5000;
+        List<CommentEntity> comments = new ArrayList<>();
+        for (long userId = 1; userId <= (long) writers * usersPerWriter; userId++) {
+            comments.add(comment(userId));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> adds = new ArrayList<>();
+        for (int writer = 0; writer < writers; writer++) {
+            List<CommentEntity> slice = comments.subList(writer * usersPerWriter, (writer + 1) * usersPerWriter);
+            adds.add(executor.submit(() -> {
+                start.await();
+                slice.forEach(activitySketchService::commentCreated);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        int flushes = 0;
+        while (adds.stream().anyMatch(add -> !add.isDone())) {
+            flush(TransactionSynchronization.STATUS_COMMITTED);
+            flushes++;
+        }
+        for (Future<?> add : adds) {
+            add.get();
+        }
+        flush(TransactionSynchronization.STATUS_COMMITTED);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        HyperLogLog expected = new HyperLogLog(SketchType.ACTIVE_USERS_DAY.getPrecision());
+        for (long userId = 1; userId <= (long) writers * usersPerWriter; userId++) {
+            expected.add(userId);
+        }
+        assertThat(flushes).isPositive();
+        assertThat(stored.get(today).getRegisters()).isEqualTo(expected.toBytes());
+    }
+
+    @Test
+    void readsDuringAFlushIncludeTheSketchesBeingWritten() throws Exception {
+        for (long userId = 1; userId <= 1000; userId++) {
+            activitySketchService.commentCreated(comment(userId));
+        }
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean blocked = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (blocked.compareAndSet(false, true)) {
+                writing.countDown();
+                release.await();
+            }
+            return 1;
+        }).when(activitySketchRepository).insertIfAbsent(anyString(), anyLong(), any());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> flush = executor.submit(() -> flush(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        long duringFlush = activitySketchService.getActiveUsers(LocalDate.now()).dailyActiveUsers();
+
+        release.countDown();
+        flush.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        HyperLogLog expected = new HyperLogLog(SketchType.ACTIVE_USERS_DAY.getPrecision());
+        for (long userId = 1; userId <= 1000; userId++) {
+            expected.add(userId);
+        }
+        assertThat(duringFlush).isEqualTo(expected.estimate());
+    }
+
+    // Runs flush() as the transaction manager would, ending with the given completion status.
+    private void flush(int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            activitySketchService.flush();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static CommentEntity comment(long userId) {
+        return CommentEntity.builder().user(UserEntity.builder().userId(userId).build()).build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.musicspring.app.music_app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog(10).estimate()).isZero();
+        assertThat(new HyperLogLog(14).estimate()).isZero();
+    }
+
+    @Test
+    void addingTheSameValueAgainChangesNothing() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add(42);
+        }
+
+        assertThat(sketch.estimate()).isEqualTo(1);
+    }
+
+    // Four standard errors (1.04 / sqrt(2^precision)) leave room for an unlucky hash without hiding a real bias.
+    @ParameterizedTest
+    @CsvSource({
+            "10, 100",
+            "10, 1000",
+            "10, 10000",
+            "10, 200000",
+            "14, 100",
+            "14, 10000",
+            "14, 100000",
+            "14, 1000000"
+    })
+    void estimateStaysWithinTheStandardError(int precision, int cardinality) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        for (long id = 1; id <= cardinality; id++) {
+            sketch.add(id);
+        }
+
+        double tolerance = 4 * 1.04 / Math.sqrt(1 << precision);
+        assertThat((double) sketch.estimate()).isCloseTo(cardinality, offset(cardinality * tolerance));
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog first = new HyperLogLog(14);
+        HyperLogLog second = new HyperLogLog(14);
+        HyperLogLog union = new HyperLogLog(14);
+        for (long id = 1; id <= 60000; id++) {
+            first.add(id);
+            union.add(id);
+        }
+        for (long id = 40001; id <= 100000; id++) {
+            second.add(id);
+            union.add(id);
+        }
+
+        first.merge(second);
+
+        assertThat(first.toBytes()).isEqualTo(union.toBytes());
+        assertThat(first.estimate()).isEqualTo(union.estimate());
+    }
+
+    @Test
+    void mergeIsIdempotent() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (long id = 1; id <= 5000; id++) {
+            sketch.add(id);
+        }
+        byte[] registers = sketch.toBytes();
+
+        sketch.merge(registers);
+        sketch.merge(new HyperLogLog(registers));
+
+        assertThat(sketch.toBytes()).isEqualTo(registers);
+    }
+
+    @Test
+    void mergeRejectsAnotherPrecision() {
+        HyperLogLog sketch = new HyperLogLog(10);
+
+        assertThatThrownBy(() -> sketch.merge(new HyperLogLog(14))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void registersRoundTripThroughBytes() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        for (long id = 1; id <= 25000; id++) {
+            sketch.add(id * 7919);
+        }
+
+        HyperLogLog restored = new HyperLogLog(sketch.toBytes());
+
+        assertThat(restored.toBytes()).isEqualTo(sketch.toBytes());
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+        restored.add(-1);
+        sketch.add(-1);
+        assertThat(restored.toBytes()).isEqualTo(sketch.toBytes());
+    }
+
+    @Test
+    void toBytesReturnsACopy() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        byte[] registers = sketch.toBytes();
+        registers[0] = 30;
+
+        assertThat(sketch.toBytes()[0]).isZero();
+    }
+
+    @Test
+    void constructorsRejectInvalidSizes() {
+        assertThatThrownBy(() -> new HyperLogLog(3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(19)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(new byte[8])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(new byte[1000])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.musicspring.app.music_app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedIndexTest {
+
+    private final RankedIndex index = new RankedIndex();
+
+    @Test
+    void emptyIndexHasNoEntries() {
+        assertThat(index.size()).isZero();
+        assertThat(index.range(0, 10)).isEmpty();
+    }
+
+    @Test
+    void insertOrdersByScoreHighestFirst() {
+        index.insert(1, 3.0);
+        index.insert(2, 4.5);
+        index.insert(3, 1.0);
+        index.insert(4, 4.0);
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.range(0, 10)).containsExactly(2L, 4L, 1L, 3L);
+    }
+
+    @Test
+    void equalScoresRankTheHigherIdFirst() {
+        index.insert(5, 4.0);
+        index.insert(9, 4.0);
+        index.insert(7, 4.0);
+
+        assertThat(index.range(0, 10)).containsExactly(9L, 7L, 5L);
+    }
+
+    @Test
+    void removeDropsOnlyTheMatchingEntry() {
+        index.insert(1, 3.0);
+        index.insert(2, 4.0);
+        index.insert(3, 5.0);
+
+        index.remove(2, 4.0);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.range(0, 10)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void removeWithAnotherScoreOrUnknownIdChangesNothing() {
+        index.insert(1, 3.0);
+        index.insert(2, 4.0);
+
+        index.remove(2, 3.5);
+        index.remove(8, 4.0);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.range(0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void removingTheLastEntryEmptiesTheIndex() {
+        index.insert(1, 3.0);
+
+        index.remove(1, 3.0);
+
+        assertThat(index.size()).isZero();
+        assertThat(index.range(0, 1)).isEmpty();
+    }
+
+    @Test
+    void reScoringMovesAnEntryToItsNewRank() {
+        index.insert(1, 2.0);
+        index.insert(2, 3.0);
+        index.insert(3, 4.0);
+
+        index.remove(1, 2.0);
+        index.insert(1, 4.5);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.range(0, 10)).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void rangeReturnsThePageAtTheOffset() {
+        for (long id = 1; id <= 10; id++) {
+            index.insert(id, id);
+        }
+
+        assertThat(index.range(0, 3)).containsExactly(10L, 9L, 8L);
+        assertThat(index.range(3, 3)).containsExactly(7L, 6L, 5L);
+        assertThat(index.range(9, 3)).containsExactly(1L);
+    }
+
+    @Test
+    void rangeStopsAtTheEndOfTheIndex() {
+        for (long id = 1; id <= 4; id++) {
+            index.insert(id, id);
+        }
+
+        assertThat(index.range(2, 10)).containsExactly(2L, 1L);
+        assertThat(index.range(4, 10)).isEmpty();
+        assertThat(index.range(100, 10)).isEmpty();
+        assertThat(index.range(0, 0)).isEmpty();
+    }
+
+    @Test
+    void matchesASortedListUnderRandomInsertsRemovesAndReScores() {
+        Random random = new Random(42);
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            long id = random.nextInt(500);
+            Double previous = scores.get(id);
+            if (previous != null) {
+                index.remove(id, previous);
+                scores.remove(id);
+            }
+            if (previous == null || random.nextBoolean()) {
+                double score = random.nextInt(50) / 10.0;
+                index.insert(id, score);
+                scores.put(id, score);
+            }
+        }
+
+        List<Long> expected = new ArrayList<>(scores.keySet());
+        expected.sort(Comparator.<Long>comparingDouble(scores::get).reversed().thenComparing(Comparator.reverseOrder()));
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(index.range(0, expected.size())).isEqualTo(expected);
+        for (int offset = 0; offset < expected.size(); offset += 37) {
+            assertThat(index.range(offset, 20))
+                    .isEqualTo(expected.subList(offset, Math.min(offset + 20, expected.size())));
+        }
+    }
+}
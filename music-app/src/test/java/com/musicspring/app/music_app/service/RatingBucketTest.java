@@ -0,0 +1,45 @@
+package com.musicspring.app.music_app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatingBucketTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.01, 1",
+            "0.5, 1",
+            "0.51, 2",
+            "1.0, 2",
+            "1.01, 3",
+            "2.5, 5",
+            "2.75, 6",
+            "4.5, 9",
+            "4.51, 10",
+            "5.0, 10"
+    })
+    void bucketsAreClosedAtTheirUpperEdge(double rating, int bucket) {
+        assertThat(RatingAggregateService.bucketOf(rating)).isEqualTo(bucket);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.0, 1",
+            "-1.0, 1",
+            "5.01, 10",
+            "10.0, 10"
+    })
+    void ratingsOutsideTheScaleAreClampedToTheEndBuckets(double rating, int bucket) {
+        assertThat(RatingAggregateService.bucketOf(rating)).isEqualTo(bucket);
+    }
+
+    @Test
+    void everyHalfStepHasItsOwnBucket() {
+        for (int bucket = 1; bucket <= RatingAggregateService.BUCKETS; bucket++) {
+            assertThat(RatingAggregateService.bucketOf(bucket * 0.5)).isEqualTo(bucket);
+        }
+    }
+}
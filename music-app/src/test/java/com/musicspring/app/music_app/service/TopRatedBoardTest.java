@@ -0,0 +1,77 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.service.TopRatedService.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopRatedBoardTest {
+
+    private static final double PRIOR_MEAN = 3.0;
+    private static final double PRIOR_WEIGHT = 5;
+
+    private final Board board = new Board(PRIOR_MEAN, PRIOR_WEIGHT);
+
+    @Test
+    void singlePerfectReviewRanksBelowManyGoodOnes() {
+        board.adjust(1L, 1, 5.0);
+        board.adjust(2L, 100, 450.0);
+
+        assertThat(board.index.range(0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void moreReviewsAtTheSameAveragePullFurtherFromThePrior() {
+        board.adjust(1L, 2, 9.0);
+        board.adjust(2L, 20, 90.0);
+        board.adjust(3L, 20, 30.0);
+        board.adjust(4L, 2, 3.0);
+
+        // 4.5 averages rank above the prior, 1.5 averages below it, with more reviews further out.
+        assertThat(board.index.range(0, 10)).containsExactly(2L, 1L, 4L, 3L);
+    }
+
+    @Test
+    void itemsAtThePriorMeanTieAndRankByHigherId() {
+        board.adjust(1L, 1, 3.0);
+        board.adjust(2L, 10, 30.0);
+
+        assertThat(board.index.range(0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void adjustmentsReScoreAnItem() {
+        board.adjust(1L, 10, 40.0);
+        board.adjust(2L, 10, 35.0);
+
+        board.adjust(2L, 10, 50.0);
+
+        assertThat(board.index.size()).isEqualTo(2);
+        assertThat(board.index.range(0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void itemWithoutRatingsLeavesTheBoard() {
+        board.adjust(1L, 1, 4.0);
+        board.adjust(2L, 2, 8.0);
+
+        board.adjust(1L, -1, -4.0);
+
+        assertThat(board.index.size()).isEqualTo(1);
+        assertThat(board.index.range(0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void removedRatingsRestoreThePreviousRank() {
+        board.adjust(1L, 3, 12.0);
+        board.adjust(2L, 3, 13.5);
+
+        board.adjust(1L, 1, 5.0);
+        board.adjust(1L, 1, 5.0);
+        assertThat(board.index.range(0, 10)).containsExactly(1L, 2L);
+
+        board.adjust(1L, -1, -5.0);
+        board.adjust(1L, -1, -5.0);
+        assertThat(board.index.range(0, 10)).containsExactly(2L, 1L);
+    }
+}
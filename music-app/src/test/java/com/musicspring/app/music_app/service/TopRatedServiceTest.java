@@ -0,0 +1,103 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.enums.LeaderboardSubject;
+import com.musicspring.app.music_app.model.mapper.AlbumMapper;
+import com.musicspring.app.music_app.model.mapper.ArtistMapper;
+import com.musicspring.app.music_app.model.mapper.SongMapper;
+import com.musicspring.app.music_app.repository.AlbumRepository;
+import com.musicspring.app.music_app.repository.ArtistRepository;
+import com.musicspring.app.music_app.repository.RatingAggregateRepository;
+import com.musicspring.app.music_app.repository.RatingAggregateRepository.RatingTally;
+import com.musicspring.app.music_app.repository.SongRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TopRatedServiceTest {
+
+    private final RatingAggregateRepository ratingAggregateRepository = mock(RatingAggregateRepository.class);
+    private final SongRepository songRepository = mock(SongRepository.class);
+
+    private TopRatedService topRatedService;
+
+    @BeforeEach
+    void setUp() {
+        topRatedService = new TopRatedService(ratingAggregateRepository, songRepository,
+                mock(AlbumRepository.class), mock(ArtistRepository.class),
+                mock(SongMapper.class), mock(AlbumMapper.class), mock(ArtistMapper.class), 5);
+        when(songRepository.findBySongIdIn(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void rebuildLoadsEveryItemFromTheAggregates() {
+        List<RatingTally> tallies = List.of(tally(1L, 10, 40.0, 10), tally(2L, 3, 12.0, 3));
+        when(ratingAggregateRepository.findAllTallies()).thenReturn(tallies);
+
+        topRatedService.rebuild();
+
+        assertThat(rankedSongs()).isEqualTo(2);
+    }
+
+    @Test
+    void adjustmentsDuringTheReadAreReplayedOntoTheNewBoards() {
+        List<RatingTally> tallies = List.of(tally(1L, 10, 40.0, 10));
+        when(ratingAggregateRepository.findAllTallies()).thenAnswer(invocation -> {
+            // Outside a transaction the adjustment is applied at once, as if it committed mid-read.
+            topRatedService.ratingsAdjusted(LeaderboardSubject.SONG, 2L, 5.0, 1, 1);
+            return tallies;
+        });
+
+        topRatedService.rebuild();
+
+        assertThat(rankedSongs()).isEqualTo(2);
+    }
+
+    @Test
+    void adjustmentsTheReadAlreadyIncludesAreNotReplayed() {
+        // The read sees revision 2, which already counts the removal applied while it ran.
+        List<RatingTally> tallies = List.of(tally(1L, 1, 4.0, 2));
+        when(ratingAggregateRepository.findAllTallies()).thenAnswer(invocation -> {
+            topRatedService.ratingsAdjusted(LeaderboardSubject.SONG, 1L, 4.0, -1, 2);
+            return tallies;
+        });
+
+        topRatedService.rebuild();
+
+        assertThat(rankedSongs()).isEqualTo(1);
+    }
+
+    @Test
+    void adjustmentsArrivingAfterTheSwapSkipWhatTheReadIncluded() {
+        List<RatingTally> tallies = List.of(tally(1L, 1, 4.0, 2));
+        when(ratingAggregateRepository.findAllTallies()).thenReturn(tallies);
+        topRatedService.rebuild();
+
+        topRatedService.ratingsAdjusted(LeaderboardSubject.SONG, 1L, 4.0, -1, 2);
+        assertThat(rankedSongs()).isEqualTo(1);
+
+        topRatedService.ratingsAdjusted(LeaderboardSubject.SONG, 1L, 4.0, -1, 3);
+        topRatedService.ratingsAdjusted(LeaderboardSubject.SONG, 2L, 4.0, 1, 1);
+        assertThat(rankedSongs()).isEqualTo(1);
+    }
+
+    private long rankedSongs() {
+        return topRatedService.getTopRatedSongs(PageRequest.of(0, 10)).getTotalElements();
+    }
+
+    private static RatingTally tally(Long songId, long count, double sum, long revision) {
+        RatingTally tally = mock(RatingTally.class);
+        when(tally.getSubjectType()).thenReturn(LeaderboardSubject.SONG);
+        when(tally.getSubjectId()).thenReturn(songId);
+        when(tally.getRatingCount()).thenReturn(count);
+        when(tally.getRatingSum()).thenReturn(sum);
+        when(tally.getRevision()).thenReturn(revision);
+        return tally;
+    }
+}
@@ -0,0 +1,110 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.enums.TrendingWindow;
+import com.musicspring.app.music_app.service.TrendingService.ActivityCounter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingActivityCounterTest {
+
+    // Aligned to a WEEK bucket (6 hours), so every window starts a fresh bucket here.
+    private static final long START = Duration.ofHours(6).toMillis() * 80_000;
+
+    private final ActivityCounter counter = new ActivityCounter();
+
+    @Test
+    void newCounterIsEmptyAndIdle() {
+        for (TrendingWindow window : TrendingWindow.values()) {
+            assertThat(counter.total(window, START)).isZero();
+        }
+        assertThat(counter.isIdle(START)).isTrue();
+    }
+
+    @Test
+    void activityCountsInEveryWindow() {
+        counter.add(START);
+        counter.add(START + minutes(1));
+
+        for (TrendingWindow window : TrendingWindow.values()) {
+            assertThat(counter.total(window, START + minutes(1))).isEqualTo(2);
+        }
+        assertThat(counter.isIdle(START + minutes(1))).isFalse();
+    }
+
+    @Test
+    void totalSumsAcrossBuckets() {
+        counter.add(START);
+        counter.add(START + minutes(5));
+        counter.add(START + minutes(10));
+
+        assertThat(counter.total(TrendingWindow.HOUR, START + minutes(10))).isEqualTo(3);
+    }
+
+    @Test
+    void hourBucketExpiresAfterTwelveFiveMinuteBuckets() {
+        counter.add(START);
+
+        assertThat(counter.total(TrendingWindow.HOUR, START + minutes(59))).isEqualTo(1);
+        assertThat(counter.total(TrendingWindow.HOUR, START + minutes(60))).isZero();
+        assertThat(counter.total(TrendingWindow.DAY, START + minutes(60))).isEqualTo(1);
+    }
+
+    @Test
+    void dayBucketExpiresAfterTwentyFourHourBuckets() {
+        counter.add(START);
+
+        assertThat(counter.total(TrendingWindow.DAY, START + hours(24) - 1)).isEqualTo(1);
+        assertThat(counter.total(TrendingWindow.DAY, START + hours(24))).isZero();
+        assertThat(counter.total(TrendingWindow.WEEK, START + hours(24))).isEqualTo(1);
+    }
+
+    @Test
+    void weekBucketExpiresAfterTwentyEightSixHourBuckets() {
+        counter.add(START);
+
+        assertThat(counter.total(TrendingWindow.WEEK, START + hours(6 * 28) - 1)).isEqualTo(1);
+        assertThat(counter.isIdle(START + hours(6 * 28) - 1)).isFalse();
+        assertThat(counter.total(TrendingWindow.WEEK, START + hours(6 * 28))).isZero();
+        assertThat(counter.isIdle(START + hours(6 * 28))).isTrue();
+    }
+
+    @Test
+    void writeAfterAFullLapResetsTheReusedSlot() {
+        counter.add(START);
+        counter.add(START);
+        // Same HOUR slot one lap later; the DAY ring has moved to the next slot.
+        counter.add(START + minutes(60));
+
+        assertThat(counter.total(TrendingWindow.HOUR, START + minutes(60))).isEqualTo(1);
+        assertThat(counter.total(TrendingWindow.DAY, START + minutes(60))).isEqualTo(3);
+    }
+
+    @Test
+    void readIgnoresStaleSlotsAfterSeveralLaps() {
+        counter.add(START + minutes(5));
+
+        long threeLapsLater = START + minutes(5) + hours(3);
+        assertThat(counter.total(TrendingWindow.HOUR, threeLapsLater)).isZero();
+        assertThat(counter.total(TrendingWindow.DAY, threeLapsLater)).isEqualTo(1);
+    }
+
+    @Test
+    void olderBucketsDropOutWhileNewerOnesRemain() {
+        counter.add(START);
+        counter.add(START + minutes(30));
+
+        assertThat(counter.total(TrendingWindow.HOUR, START + minutes(60))).isEqualTo(1);
+        assertThat(counter.total(TrendingWindow.HOUR, START + minutes(90))).isZero();
+    }
+
+    private static long minutes(long minutes) {
+        return Duration.ofMinutes(minutes).toMillis();
+    }
+
+    private static long hours(long hours) {
+        return Duration.ofHours(hours).toMillis();
+    }
+}
@@ -0,0 +1,63 @@
+package com.musicspring.app.music_app.service;
+
+import com.musicspring.app.music_app.model.dto.response.ActivityHeatmapResponse;
+import com.musicspring.app.music_app.repository.UserDailyActivityRepository;
+import com.musicspring.app.music_app.repository.UserRepository;
+import com.musicspring.app.music_app.repository.UserStatsRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatsServiceTest {
+
+    private final UserStatsRepository userStatsRepository = mock(UserStatsRepository.class);
+    private final UserDailyActivityRepository userDailyActivityRepository = mock(UserDailyActivityRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final UserStatsService userStatsService =
+            new UserStatsService(userStatsRepository, userDailyActivityRepository, userRepository);
+
+    @Test
+    void heatmapOfAnUnknownUserIsNotFoundAndBuildsNothing() {
+        when(userRepository.existsActiveById(7L)).thenReturn(false);
+
+        assertThatThrownBy(() -> userStatsService.getActivityHeatmap(7L, null))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(userStatsRepository, never()).refreshSnapshots(anyCollection());
+        verify(userDailyActivityRepository, never()).recountUsers(anyCollection());
+    }
+
+    @Test
+    void heatmapBuildsTheFiguresOfAUserWithoutASnapshot() {
+        when(userRepository.existsActiveById(7L)).thenReturn(true);
+        when(userStatsRepository.existsById(7L)).thenReturn(false);
+        when(userDailyActivityRepository.findDays(any(), any(), any())).thenReturn(List.of());
+
+        ActivityHeatmapResponse heatmap = userStatsService.getActivityHeatmap(7L, null);
+
+        assertThat(heatmap.days()).isEmpty();
+        verify(userStatsRepository).refreshSnapshots(List.of(7L));
+        verify(userDailyActivityRepository).recountUsers(List.of(7L));
+    }
+
+    @Test
+    void heatmapReadsAnExistingSnapshotWithoutRebuilding() {
+        when(userRepository.existsActiveById(7L)).thenReturn(true);
+        when(userStatsRepository.existsById(7L)).thenReturn(true);
+        when(userDailyActivityRepository.findDays(any(), any(), any())).thenReturn(List.of());
+
+        userStatsService.getActivityHeatmap(7L, 2024);
+
+        verify(userStatsRepository, never()).refreshSnapshots(anyCollection());
+    }
+}
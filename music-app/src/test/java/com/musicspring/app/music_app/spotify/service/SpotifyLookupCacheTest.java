@@ -0,0 +1,153 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import com.musicspring.app.music_app.model.dto.response.CacheRegionStatsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpotifyLookupCacheTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hitsDoNotCountAsCoalesced() {
+        SpotifyLookupCache<String, String> cache = cache(String::toUpperCase);
+
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.get("a")).isEqualTo("A");
+
+        CacheRegionStatsResponse stats = cache.statistics();
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.coalescedCount()).isZero();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SpotifyLookupCache<String, String> cache = cache(key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return key.toUpperCase();
+        });
+
+        Future<String> leader = executor.submit(() -> cache.get("a"));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 1; i < callers; i++) {
+            followers.add(executor.submit(() -> cache.get("a")));
+        }
+        // Give the followers time to block on the running load before it completes.
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(leader.get(10, TimeUnit.SECONDS)).isEqualTo("A");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(10, TimeUnit.SECONDS)).isEqualTo("A");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.statistics().coalescedCount()).isEqualTo(callers - 1);
+    }
+
+    @Test
+    void failedLoadPropagatesAndIsRetried() {
+        AtomicInteger loads = new AtomicInteger();
+        SpotifyLookupCache<String, String> cache = cache(key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("Spotify unavailable");
+            }
+            return key.toUpperCase();
+        });
+
+        assertThatThrownBy(() -> cache.get("a")).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.statistics().coalescedCount()).isZero();
+    }
+
+    @Test
+    void aSlowLoadDoesNotHoldUpOtherKeys() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SpotifyLookupCache<String, String> cache = cache(key -> {
+            if (key.equals("slow")) {
+                await(release);
+            }
+            return key.toUpperCase();
+        });
+
+        Future<String> slow = executor.submit(() -> cache.get("slow"));
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertThat(cache.get("key" + i)).isEqualTo("KEY" + i);
+            }
+            assertThat(slow).isNotDone();
+        } finally {
+            release.countDown();
+        }
+        assertThat(slow.get(10, TimeUnit.SECONDS)).isEqualTo("SLOW");
+    }
+
+    @Test
+    void loadsRunInTheCallersLane() {
+        SpotifyLookupCache<String, SpotifyLane> cache = new SpotifyLookupCache<>("test", 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(5), executor, key -> SpotifyLane.current());
+
+        assertThat(SpotifyLane.runAs(SpotifyLane.BACKGROUND, () -> cache.get("a"))).isEqualTo(SpotifyLane.BACKGROUND);
+        assertThat(cache.get("b")).isEqualTo(SpotifyLane.INTERACTIVE);
+    }
+
+    @Test
+    void getAllLoadsTheMissingKeysInOneBulkCallAndLeavesOutUnknownOnes() {
+        List<Set<? extends String>> bulkCalls = new ArrayList<>();
+        SpotifyLookupCache<String, String> cache = new SpotifyLookupCache<>("test", 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(5), executor, String::toUpperCase, keys -> {
+                    bulkCalls.add(Set.copyOf(keys));
+                    Map<String, String> values = new HashMap<>();
+                    keys.stream().filter(key -> !key.equals("unknown"))
+                            .forEach(key -> values.put(key, key.toUpperCase()));
+                    return values;
+                });
+        cache.get("a");
+
+        Map<String, String> values = cache.getAll(List.of("a", "b", "unknown"));
+
+        assertThat(values).containsOnly(Map.entry("a", "A"), Map.entry("b", "B"));
+        assertThat(bulkCalls).containsExactly(Set.of("b", "unknown"));
+    }
+
+    private SpotifyLookupCache<String, String> cache(Function<String, String> loader) {
+        return new SpotifyLookupCache<>("test", 100, Duration.ofMinutes(10), Duration.ofMinutes(5), executor, loader);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import com.musicspring.app.music_app.exception.SpotifyRateLimitedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpotifyMicroBatcherTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(300);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final List<SpotifyLane> lanes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void lookupsWithinTheWindowShareOneMultiGet() throws Exception {
+        SpotifyMicroBatcher<String, String> batcher = batcher(10, WINDOW, this::upperCase);
+
+        Future<String> first = executor.submit(() -> batcher.load("a"));
+        Thread.sleep(50);
+        Future<String> second = executor.submit(() -> batcher.load("b"));
+        Future<String> duplicate = executor.submit(() -> batcher.load("a"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("B");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThat(batches).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    void lookupAfterABatchRanStartsANewOne() {
+        SpotifyMicroBatcher<String, String> batcher = batcher(10, Duration.ofMillis(10), this::upperCase);
+
+        assertThat(batcher.load("a")).isEqualTo("A");
+        assertThat(batcher.load("b")).isEqualTo("B");
+
+        assertThat(batches).containsExactly(List.of("a"), List.of("b"));
+    }
+
+    @Test
+    void fullBatchLoadsWithoutWaitingOutTheWindow() throws Exception {
+        SpotifyMicroBatcher<String, String> batcher = batcher(2, Duration.ofSeconds(30), this::upperCase);
+
+        long start = System.nanoTime();
+        Future<String> first = executor.submit(() -> batcher.load("a"));
+        Thread.sleep(50);
+        Future<String> second = executor.submit(() -> batcher.load("b"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("B");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(batches).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    void keyMissingFromTheMultiGetLoadsAsNull() {
+        SpotifyMicroBatcher<String, String> batcher = batcher(10, Duration.ofMillis(10), ids -> Map.of());
+
+        assertThat(batcher.load("a")).isNull();
+    }
+
+    @Test
+    void batchOfBackgroundCallersRunsInTheBackgroundLane() throws Exception {
+        SpotifyMicroBatcher<String, String> batcher = batcher(10, WINDOW, this::upperCase);
+
+        Future<String> first = executor.submit(() -> SpotifyLane.runAs(SpotifyLane.BACKGROUND, () -> batcher.load("a")));
+        Thread.sleep(50);
+        Future<String> second = executor.submit(() -> SpotifyLane.runAs(SpotifyLane.BACKGROUND, () -> batcher.load("b")));
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(lanes).containsExactly(SpotifyLane.BACKGROUND);
+    }
+
+    @Test
+    void oneInteractiveCallerPromotesTheBatch() throws Exception {
+        SpotifyMicroBatcher<String, String> batcher = batcher(10, WINDOW, this::upperCase);
+
+        Future<String> background = executor.submit(() -> SpotifyLane.runAs(SpotifyLane.BACKGROUND, () -> batcher.load("a")));
+        Thread.sleep(50);
+        Future<String> interactive = executor.submit(() -> batcher.load("b"));
+
+        background.get(5, TimeUnit.SECONDS);
+        interactive.get(5, TimeUnit.SECONDS);
+        assertThat(lanes).containsExactly(SpotifyLane.INTERACTIVE);
+
+        // The promotion does not carry over to the next batch.
+        SpotifyLane.runAs(SpotifyLane.BACKGROUND, () -> batcher.load("c"));
+        assertThat(lanes).containsExactly(SpotifyLane.INTERACTIVE, SpotifyLane.BACKGROUND);
+    }
+
+    @Test
+    void loaderFailureReachesEveryCallerOfTheBatch() throws Exception {
+        SpotifyMicroBatcher<String, String> batcher = batcher(10, WINDOW, ids -> {
+            throw new IllegalStateException("Spotify unavailable");
+        });
+
+        Future<String> first = executor.submit(() -> batcher.load("a"));
+        Thread.sleep(50);
+        Future<String> second = executor.submit(() -> batcher.load("b"));
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void loaderErrorDoesNotLeaveCallersWaiting() throws Exception {
+        SpotifyMicroBatcher<String, String> batcher = batcher(10, WINDOW, ids -> {
+            throw new StackOverflowError();
+        });
+
+        Future<String> first = executor.submit(() -> batcher.load("a"));
+        Thread.sleep(50);
+        Future<String> second = executor.submit(() -> batcher.load("b"));
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+    }
+
+    @Test
+    void aFailureForOneKeyReachesOnlyItsCaller() throws Exception {
+        SpotifyRateLimitedException rateLimited = new SpotifyRateLimitedException(2);
+        SpotifyMicroBatcher<String, String> batcher = new SpotifyMicroBatcher<>(10, WINDOW,
+                ids -> new SpotifyBulkResult<>(Map.of("a", "A"), Map.of("b", rateLimited)));
+
+        Future<String> found = executor.submit(() -> batcher.load("a"));
+        Thread.sleep(50);
+        Future<String> failed = executor.submit(() -> batcher.load("b"));
+        Future<String> unknown = executor.submit(() -> batcher.load("c"));
+
+        assertThat(found.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).hasCause(rateLimited);
+        assertThat(unknown.get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    private SpotifyMicroBatcher<String, String> batcher(int maxBatchSize,
+                                                      Duration window,
+                                                      Function<List<String>, Map<String, String>> loader) {
+        return new SpotifyMicroBatcher<>(maxBatchSize, window, ids -> {
+            batches.add(ids);
+            lanes.add(SpotifyLane.current());
+            return SpotifyBulkResult.of(loader.apply(ids));
+        });
+    }
+
+    private Map<String, String> upperCase(List<String> ids) {
+        return ids.stream().collect(Collectors.toMap(Function.identity(), String::toUpperCase));
+    }
+}
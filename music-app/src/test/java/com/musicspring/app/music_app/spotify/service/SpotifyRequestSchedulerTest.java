@@ -0,0 +1,156 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import com.musicspring.app.music_app.exception.SpotifyRateLimitedException;
+import com.musicspring.app.music_app.model.dto.response.SpotifyRateLimitStatsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import se.michaelthelin.spotify.exceptions.detailed.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpotifyRequestSchedulerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void spendsTheBurstThenRefillsAtTheConfiguredRate() throws Exception {
+        SpotifyRequestScheduler scheduler = scheduler(10, 3, Duration.ZERO, Duration.ZERO);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(scheduler.execute(() -> "ok")).isEqualTo("ok");
+        }
+        assertThatThrownBy(() -> scheduler.execute(() -> "ok"))
+                .isInstanceOf(SpotifyRateLimitedException.class);
+
+        advance(Duration.ofMillis(100));
+        assertThat(scheduler.execute(() -> "ok")).isEqualTo("ok");
+
+        advance(Duration.ofMinutes(1));
+        SpotifyRateLimitStatsResponse stats = scheduler.getStatistics();
+        assertThat(stats.availablePermits()).isEqualTo(3.0);
+        assertThat(stats.executedRequests()).isEqualTo(4);
+        assertThat(stats.rejectedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsACallThatCannotGetAPermitBeforeItsDeadline() {
+        SpotifyRequestScheduler scheduler = scheduler(0.1, 1, Duration.ofSeconds(2), Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> {
+            scheduler.execute(calls::incrementAndGet);
+            scheduler.execute(calls::incrementAndGet);
+        })
+                .isInstanceOfSatisfying(SpotifyRateLimitedException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(11));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void interactiveCallsGetAFreedPermitBeforeBackgroundOnes() throws Exception {
+        SpotifyRequestScheduler scheduler = scheduler(10, 1, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        scheduler.execute(() -> "drain");
+        List<SpotifyLane> order = new CopyOnWriteArrayList<>();
+
+        Future<?> background = executor.submit(() -> SpotifyLane.runAs(SpotifyLane.BACKGROUND,
+                () -> call(scheduler, () -> order.add(SpotifyLane.current()))));
+        awaitStats(scheduler, stats -> stats.backgroundQueueDepth() == 1);
+        Future<?> interactive = executor.submit(
+                () -> call(scheduler, () -> order.add(SpotifyLane.current())));
+        awaitStats(scheduler, stats -> stats.interactiveQueueDepth() == 1);
+
+        advance(Duration.ofMillis(100));
+        interactive.get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly(SpotifyLane.INTERACTIVE);
+        assertThat(background).isNotDone();
+
+        advance(Duration.ofMillis(100));
+        background.get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly(SpotifyLane.INTERACTIVE, SpotifyLane.BACKGROUND);
+    }
+
+    @Test
+    void retriesAfterTheRetryAfterBlockWhenItFitsTheWait() throws Exception {
+        SpotifyRequestScheduler scheduler = scheduler(10, 5, Duration.ofSeconds(2), Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        // No Retry-After on the 429 blocks everyone for one second.
+        Future<String> result = executor.submit(() -> scheduler.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new TooManyRequestsException("slow down", 0);
+            }
+            return "ok";
+        }));
+        awaitStats(scheduler, stats -> stats.throttledResponses() == 1);
+        assertThat(scheduler.getStatistics().blockedForMillis()).isEqualTo(1000);
+        assertThat(result).isNotDone();
+
+        advance(Duration.ofSeconds(1));
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+        assertThat(scheduler.getStatistics().executedRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenTheRetryAfterBlockOutlastsTheWait() {
+        SpotifyRequestScheduler scheduler = scheduler(10, 5, Duration.ofSeconds(2), Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> scheduler.execute(() -> {
+            throw new TooManyRequestsException("slow down", 5);
+        }))
+                .isInstanceOfSatisfying(SpotifyRateLimitedException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(6));
+
+        SpotifyRateLimitStatsResponse stats = scheduler.getStatistics();
+        assertThat(stats.throttledResponses()).isEqualTo(1);
+        assertThat(stats.rejectedRequests()).isEqualTo(1);
+        assertThat(stats.blockedForMillis()).isEqualTo(5000);
+    }
+
+    private SpotifyRequestScheduler scheduler(double permitsPerSecond, int burst,
+                                              Duration interactiveMaxWait, Duration backgroundMaxWait) {
+        return new SpotifyRequestScheduler(permitsPerSecond, burst, interactiveMaxWait, backgroundMaxWait, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static Void call(SpotifyRequestScheduler scheduler, Runnable work) {
+        try {
+            return scheduler.execute(() -> {
+                work.run();
+                return null;
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitStats(SpotifyRequestScheduler scheduler,
+                                   Predicate<SpotifyRateLimitStatsResponse> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.test(scheduler.getStatistics())) {
+            assertThat(System.nanoTime()).as("scheduler state reached in time").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import com.musicspring.app.music_app.exception.SpotifyServiceException;
+import org.junit.jupiter.api.Test;
+import se.michaelthelin.spotify.exceptions.detailed.BadRequestException;
+import se.michaelthelin.spotify.exceptions.detailed.NotFoundException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpotifyServiceFetchChunkTest {
+
+    private static final List<String> IDS = List.of("a", "b", "c");
+
+    @Test
+    void returnsTheChunkWhenTheMultiGetSucceeds() {
+        SpotifyBulkResult<String, String> result = SpotifyService.fetchChunk(IDS,
+                ids -> SpotifyBulkResult.of(Map.of("a", "A", "c", "C")),
+                id -> { throw new AssertionError("no single lookups expected"); });
+
+        assertThat(result.values()).containsOnlyKeys("a", "c");
+    }
+
+    @Test
+    void fallsBackToSingleLookupsWhenSpotifyRejectsTheIds() {
+        AtomicInteger singleCalls = new AtomicInteger();
+        Function<String, String> single = id -> {
+            singleCalls.incrementAndGet();
+            return switch (id) {
+                case "a" -> "A";
+                case "b" -> throw failure(new BadRequestException("invalid id"));
+                default -> throw failure(new NotFoundException("unknown"));
+            };
+        };
+
+        SpotifyBulkResult<String, String> result = SpotifyService.fetchChunk(IDS,
+                ids -> { throw failure(new BadRequestException("invalid id")); }, single);
+
+        assertThat(result.values()).containsExactly(Map.entry("a", "A"));
+        assertThat(result.failures()).isEmpty();
+        assertThat(singleCalls).hasValue(3);
+    }
+
+    @Test
+    void rethrowsTransientChunkFailuresWithoutSingleLookups() {
+        AtomicInteger singleCalls = new AtomicInteger();
+        SpotifyServiceException transientFailure = failure(new IOException("connection reset"));
+
+        assertThatThrownBy(() -> SpotifyService.fetchChunk(IDS,
+                ids -> { throw transientFailure; },
+                id -> { singleCalls.incrementAndGet(); return id; }))
+                .isSameAs(transientFailure);
+        assertThat(singleCalls).hasValue(0);
+    }
+
+    @Test
+    void reportsTransientFailuresDuringTheFallbackPerId() {
+        SpotifyServiceException transientFailure = failure(new IOException("connection reset"));
+
+        SpotifyBulkResult<String, String> result = SpotifyService.fetchChunk(IDS,
+                ids -> { throw failure(new BadRequestException("invalid id")); },
+                id -> {
+                    if (id.equals("b")) {
+                        throw transientFailure;
+                    }
+                    return id.toUpperCase();
+                });
+
+        assertThat(result.values()).containsOnlyKeys("a", "c");
+        assertThat(result.failures()).containsExactly(Map.entry("b", transientFailure));
+    }
+
+    private static SpotifyServiceException failure(Exception cause) {
+        return new SpotifyServiceException("Spotify call failed", cause);
+    }
+}
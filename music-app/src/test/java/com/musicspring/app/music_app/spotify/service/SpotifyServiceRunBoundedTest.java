@@ -0,0 +1,111 @@
+package com.musicspring.app.music_app.spotify.service;
+
+import com.musicspring.app.music_app.exception.SpotifyRateLimitedException;
+import com.musicspring.app.music_app.exception.SpotifyServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpotifyServiceRunBoundedTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void neverRunsMoreTasksAtOnceThanAllowed() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Map<Integer, Supplier<Integer>> tasks = new LinkedHashMap<>();
+        for (int i = 0; i < 12; i++) {
+            int value = i;
+            tasks.put(i, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(20);
+                running.decrementAndGet();
+                return value;
+            });
+        }
+
+        Map<Integer, Integer> results = SpotifyService.runBounded(tasks, executor, 3).values();
+
+        assertThat(results).hasSize(12);
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void reportsEachFailureAgainstItsTask() {
+        SpotifyServiceException failure = new SpotifyServiceException("Error obtaining b");
+        Map<String, Supplier<String>> tasks = new LinkedHashMap<>();
+        tasks.put("a", () -> "A");
+        tasks.put("b", () -> { throw failure; });
+        tasks.put("c", () -> "C");
+
+        SpotifyBulkResult<String, String> result = SpotifyService.runBounded(tasks, executor, 2);
+
+        assertThat(result.values()).containsOnlyKeys("a", "c");
+        assertThat(result.failures()).containsExactly(Map.entry("b", failure));
+        assertThat(result.valuesOrThrow()).containsOnlyKeys("a", "c");
+    }
+
+    @Test
+    void valuesOrThrowRethrowsTheFirstFailureWhenNothingSucceeded() {
+        SpotifyRateLimitedException rateLimited = new SpotifyRateLimitedException(3);
+        Map<String, Supplier<String>> tasks = new LinkedHashMap<>();
+        tasks.put("a", () -> { throw rateLimited; });
+        tasks.put("b", () -> { sleep(20); throw new SpotifyServiceException("Error obtaining b"); });
+
+        SpotifyBulkResult<String, String> result = SpotifyService.runBounded(tasks, executor, 2);
+
+        assertThatThrownBy(result::valuesOrThrow).isSameAs(rateLimited);
+    }
+
+    @Test
+    void aSingleFailingTaskIsReportedToo() {
+        SpotifyRateLimitedException rateLimited = new SpotifyRateLimitedException(3);
+        Map<String, Supplier<String>> tasks = Map.of("a", () -> { throw rateLimited; });
+
+        assertThat(SpotifyService.runBounded(tasks, executor, 2).failures()).containsExactly(Map.entry("a", rateLimited));
+    }
+
+    @Test
+    void runsASingleTaskOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+        Map<String, Supplier<Thread>> tasks = Map.of("a", Thread::currentThread);
+
+        assertThat(SpotifyService.runBounded(tasks, executor, 2).values()).containsEntry("a", caller);
+    }
+
+    @Test
+    void tasksRunInTheCallersLane() {
+        Map<String, Supplier<SpotifyLane>> tasks = new LinkedHashMap<>();
+        tasks.put("a", SpotifyLane::current);
+        tasks.put("b", SpotifyLane::current);
+
+        Map<String, SpotifyLane> lanes = SpotifyLane.runAs(SpotifyLane.BACKGROUND,
+                () -> SpotifyService.runBounded(tasks, executor, 2).values());
+
+        assertThat(lanes.values()).containsOnly(SpotifyLane.BACKGROUND);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}